@@ -0,0 +1,111 @@
+package darak.study.spring_study.benchmark;
+
+import darak.study.spring_study.SpringStudyApplication;
+import darak.study.spring_study.domain.Comment;
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostCategory;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.fixture.BoardFixtures;
+import darak.study.spring_study.service.CommentService;
+import darak.study.spring_study.service.PostService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크 공용 상태: 내장 H2로 애플리케이션 컨텍스트를 띄우고 측정용 데이터를 채움
+// 포크마다 한 번만 구성되며, 각 벤치마크는 여기서 빈과 시드 데이터 ID를 꺼내 사용
+@State(Scope.Benchmark)
+public class BoardState {
+    static final int POST_COUNT = 5_000;            // 깊은 페이지(offset 1000)까지 채워지도록
+    static final int MEMBER_COUNT = 64;             // 동시 좋아요 스레드마다 다른 회원을 쓰도록
+    static final int THREAD_ROOT_COUNT = 500;       // 큰 댓글 스레드: 루트 500개 x 답글 3단계
+    static final int THREAD_REPLY_DEPTH = 3;
+    private static final int CONTENT_LENGTH = 2_000;
+    private static final int SEED_BATCH_SIZE = 500;
+
+    ConfigurableApplicationContext context;
+    TransactionTemplate transaction;
+    List<Long> memberIds;
+    Long largeThreadPostId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // application.properties보다 우선하도록 명령행 인자로 지정
+        context = new SpringApplicationBuilder(SpringStudyApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        EntityManager em = bean(EntityManager.class);
+        PostService postService = bean(PostService.class);
+
+        Long categoryId = transaction.execute(status -> BoardFixtures.category(em).getId());
+        memberIds = transaction.execute(status -> BoardFixtures.members(em, "seed", MEMBER_COUNT).stream()
+                .map(Member::getId)
+                .toList());
+
+        String content = "벤치마크 본문 keyword ".repeat(CONTENT_LENGTH / 18);
+        List<Long> postIds = new ArrayList<>();
+        for (int start = 0; start < POST_COUNT; start += SEED_BATCH_SIZE) {
+            int from = start;
+            transaction.executeWithoutResult(status -> {
+                PostCategory category = em.find(PostCategory.class, categoryId);
+                List<Post> posts = new ArrayList<>();
+                for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, POST_COUNT); i++) {
+                    posts.add(Post.builder()
+                            .name("게시글 " + i)
+                            .content(content)
+                            .member(em.getReference(Member.class, memberIds.get(i % MEMBER_COUNT)))
+                            .postCategory(category)
+                            .status(PostStatus.PUBLIC)
+                            .build());
+                }
+                postIds.addAll(postService.createPosts(posts));
+            });
+        }
+
+        largeThreadPostId = transaction.execute(status -> {
+            Post post = em.find(Post.class, postIds.get(0));
+            List<Comment> comments = new ArrayList<>();
+            for (int i = 0; i < THREAD_ROOT_COUNT; i++) {
+                Member member = em.getReference(Member.class, memberIds.get(i % MEMBER_COUNT));
+                Comment parent = Comment.builder().post(post).member(member).content("댓글 " + i).build();
+                comments.add(parent);
+                for (int depth = 0; depth < THREAD_REPLY_DEPTH; depth++) {
+                    Comment reply = Comment.builder().post(post).member(member).content("답글 " + i + "-" + depth).build();
+                    parent.addChildComment(reply);
+                    comments.add(reply);
+                    parent = reply;
+                }
+            }
+            bean(CommentService.class).addComments(comments);
+            return post.getId();
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package darak.study.spring_study.benchmark;
+
+import darak.study.spring_study.service.PostLikeService;
+import darak.study.spring_study.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 한 게시글에 몰리는 카운터 갱신 (조회수 버퍼, 좋아요 샤드 카운터)
+// 모든 스레드가 같은 게시글을 갱신해 경합 상황의 처리량을 측정
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class CounterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Target {
+        private final AtomicInteger nextMember = new AtomicInteger();
+
+        PostService postService;
+        PostLikeService postLikeService;
+        BoardState board;
+        Long postId;
+
+        @Setup
+        public void setUp(BoardState board) {
+            this.board = board;
+            postService = board.bean(PostService.class);
+            postLikeService = board.bean(PostLikeService.class);
+            postId = board.largeThreadPostId;
+            // 일괄 생성된 게시글은 샤드가 없으므로 미리 준비 (첫 좋아요의 샤드 생성이 측정에 섞이지 않도록)
+            postLikeService.initCounter(postId);
+        }
+    }
+
+    // 스레드마다 다른 회원으로 좋아요를 눌러 유니크 제약에 걸리지 않도록 함
+    @State(Scope.Thread)
+    public static class Liker {
+        Long memberId;
+
+        @Setup
+        public void setUp(Target target) {
+            int index = target.nextMember.getAndIncrement() % BoardState.MEMBER_COUNT;
+            memberId = target.board.memberIds.get(index);
+        }
+    }
+
+    @Benchmark
+    public void incrementViewCount(Target target) {
+        target.postService.incrementViewCount(target.postId);
+    }
+
+    // 좋아요 후 취소 (샤드 카운터에 +1, -1 두 번 반영)
+    @Benchmark
+    public boolean likeAndUnlike(Target target, Liker liker) {
+        target.postLikeService.like(target.postId, liker.memberId);
+        return target.postLikeService.unlike(target.postId, liker.memberId);
+    }
+}
@@ -0,0 +1,49 @@
+package darak.study.spring_study.benchmark;
+
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.service.MemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 회원 가입 (중복 확인 + 비밀번호 해시 + 저장)
+// 해시 비용이 대부분이므로 설정된 bcrypt cost 그대로 측정하고, 동시 가입 시 해시 스레드 풀의 처리량을 봄
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(4)
+public class MemberJoinBenchmark {
+    private final AtomicLong sequence = new AtomicLong();
+
+    private MemberService memberService;
+
+    @Setup
+    public void setUp(BoardState board) {
+        memberService = board.bean(MemberService.class);
+    }
+
+    @Benchmark
+    public Long join() {
+        long n = sequence.incrementAndGet();
+        return memberService.join(Member.builder()
+                .email("join" + n + "@benchmark.com")
+                .password("password" + n)
+                .username("join" + n)
+                .age(20)
+                .build());
+    }
+}
@@ -0,0 +1,59 @@
+package darak.study.spring_study.benchmark;
+
+import darak.study.spring_study.dto.PostCursorPageResponse;
+import darak.study.spring_study.dto.PostPageResponse;
+import darak.study.spring_study.dto.PostSummary;
+import darak.study.spring_study.dto.SeekCursor;
+import darak.study.spring_study.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 게시글 목록 조회 (얕은 페이지 / 깊은 페이지, 페이지 번호 방식과 커서 방식 비교)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostListBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    // 1: 첫 페이지, 51: 페이지 번호 방식으로 허용되는 가장 깊은 페이지 (offset 1000)
+    @Param({"1", "51"})
+    public int page;
+
+    private PostService postService;
+    private String cursor;                  // 같은 위치를 커서 방식으로 읽기 위한 커서 (첫 페이지는 null)
+
+    @Setup
+    public void setUp(BoardState board) {
+        postService = board.bean(PostService.class);
+        if (page > 1) {
+            List<PostSummary> previous = postService.findPostsWithPaging(page - 1, PAGE_SIZE).getPosts();
+            PostSummary last = previous.get(previous.size() - 1);
+            cursor = SeekCursor.next(last.getCreateDate(), last.getId()).encode();
+        }
+    }
+
+    @Benchmark
+    public PostPageResponse findPostsWithPaging() {
+        return postService.findPostsWithPaging(page, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PostCursorPageResponse findPostsByCursor() {
+        return postService.findPostsByCursor(cursor, PAGE_SIZE);
+    }
+}
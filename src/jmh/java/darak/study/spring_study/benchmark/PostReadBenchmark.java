@@ -0,0 +1,66 @@
+package darak.study.spring_study.benchmark;
+
+import darak.study.spring_study.cache.PostDetailCache;
+import darak.study.spring_study.domain.Comment;
+import darak.study.spring_study.dto.PostDetailResponse;
+import darak.study.spring_study.dto.PostSummary;
+import darak.study.spring_study.repository.CommentRepository;
+import darak.study.spring_study.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// 게시글/댓글 조회 경로 (LIKE 검색, 큰 댓글 스레드의 상세 조회, 댓글 목록)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostReadBenchmark {
+    private PostService postService;
+    private PostDetailCache postDetailCache;
+    private CommentRepository commentRepository;
+    private Long largeThreadPostId;
+
+    @Setup
+    public void setUp(BoardState board) {
+        postService = board.bean(PostService.class);
+        postDetailCache = board.bean(PostDetailCache.class);
+        commentRepository = board.bean(CommentRepository.class);
+        largeThreadPostId = board.largeThreadPostId;
+    }
+
+    @Benchmark
+    public List<PostSummary> findByNameOrContentContaining() {
+        return postService.findByNameOrContentContaining("게시글 49");
+    }
+
+    // 캐시 미스: 매번 게시글 + 작성자 + 댓글 2000개 + 첨부파일을 DB에서 읽어 스냅샷 구성
+    @Benchmark
+    public Optional<PostDetailResponse> findPostWithCommentsUncached() {
+        postDetailCache.invalidate(largeThreadPostId);
+        return postService.findPostWithComments(largeThreadPostId);
+    }
+
+    @Benchmark
+    public Optional<PostDetailResponse> findPostWithCommentsCached() {
+        return postService.findPostWithComments(largeThreadPostId);
+    }
+
+    @Benchmark
+    public List<Comment> findCommentsByPostId() {
+        return commentRepository.findByPostId(largeThreadPostId);
+    }
+}
@@ -0,0 +1,29 @@
+package darak.study.spring_study.loadtest;
+
+import java.nio.file.Path;
+
+// 부하 테스트 설정 (시스템 프로퍼티 loadtest.* 로 변경)
+public record LoadTestConfig(
+        int threads,                // 동시에 요청을 보내는 스레드 수
+        int warmupSeconds,          // 측정에서 제외하는 워밍업 시간
+        int durationSeconds,        // 측정 시간
+        int postCount,              // 시드 게시글 수
+        int hotPostCount,           // 요청이 몰리는 인기 게시글 수 (경합 유발)
+        double hotRatio,            // 인기 게시글로 가는 요청 비율
+        int maxRetries,             // 낙관적 락 충돌 시 재시도 횟수
+        String label,               // 결과 파일 이름과 리포트에 남길 구분자 (예: 커밋 해시)
+        Path outputDir) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.threads", 16),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 30),
+                Integer.getInteger("loadtest.posts", 2_000),
+                Integer.getInteger("loadtest.hot-posts", 10),
+                Double.parseDouble(System.getProperty("loadtest.hot-ratio", "0.8")),
+                Integer.getInteger("loadtest.max-retries", 3),
+                System.getProperty("loadtest.label", "local"),
+                Path.of(System.getProperty("loadtest.output-dir", "build/reports/loadtest")));
+    }
+}
@@ -0,0 +1,57 @@
+package darak.study.spring_study.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+// 부하 테스트 결과 (커밋 간 비교를 위해 JSON 파일로 저장)
+// 지연 시간 단위는 마이크로초
+public record LoadTestReport(
+        String label,
+        String startedAt,
+        LoadTestConfig config,
+        double elapsedSeconds,
+        List<OperationResult> operations) {
+
+    public record OperationResult(
+            String name,
+            long count,
+            long successes,
+            long failures,
+            double failureRate,
+            long retries,
+            double throughputPerSecond,
+            Latency latencyMicros,
+            Map<String, Long> failuresByType,
+            String histogram) {           // Base64로 인코딩한 압축 HdrHistogram
+    }
+
+    public record Latency(double mean, long p50, long p90, long p99, long p999, long max) {
+    }
+
+    Path write() throws IOException {
+        Files.createDirectories(config.outputDir());
+        Path file = config.outputDir().resolve("loadtest-" + label + "-" + startedAt.replace(':', '-') + ".json");
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+        return file;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-20s %10s %10s %8s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "ops/s", "fail%", "retries", "p50(us)", "p90(us)", "p99(us)", "p99.9(us)", "max(us)");
+        for (OperationResult op : operations) {
+            out.printf("%-20s %10d %10.1f %8.2f %8d %10d %10d %10d %10d %10d%n",
+                    op.name(), op.count(), op.throughputPerSecond(), op.failureRate() * 100, op.retries(),
+                    op.latencyMicros().p50(), op.latencyMicros().p90(), op.latencyMicros().p99(),
+                    op.latencyMicros().p999(), op.latencyMicros().max());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package darak.study.spring_study.loadtest;
+
+import darak.study.spring_study.SpringStudyApplication;
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostCategory;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.fixture.BoardFixtures;
+import darak.study.spring_study.service.PostLikeService;
+import darak.study.spring_study.service.PostService;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 동시 부하 테스트 실행기
+// 실제 DB(기본은 내장 H2, --spring.datasource.url 로 변경 가능)에 데이터를 채운 뒤 N개 스레드가 쉬지 않고
+// 작업을 보내는 closed-loop 방식으로 측정하고, 작업별 지연 시간 분포/처리량/재시도/실패율을 JSON으로 저장
+public class LoadTestRunner {
+    private static final int SEED_BATCH_SIZE = 500;
+
+    private final LoadTestConfig config;
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transaction;
+
+    LoadTestRunner(LoadTestConfig config, ConfigurableApplicationContext context) {
+        this.config = config;
+        this.context = context;
+        this.transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        // application.properties보다 우선하도록 시스템 프로퍼티로 지정 (명령행 인자로 다시 변경 가능)
+        setDefault("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        setDefault("spring.jpa.show-sql", "false");
+        setDefault("logging.level.root", "WARN");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringStudyApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        try {
+            LoadTestReport report = new LoadTestRunner(config, context).run();
+            report.print(System.out);
+            Path file = report.write();
+            System.out.println("결과 저장: " + file.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        List<Long> memberIds = seedMembers();
+        Workload workload = new Workload(context, config, seedPosts(memberIds));
+
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        workload.operations().forEach(operation -> stats.put(operation.name(), new OperationStats(operation.name())));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(config.threads());
+        for (int i = 0; i < config.threads(); i++) {
+            Workload.Worker worker = new Workload.Worker(memberIds.get(i));
+            executor.submit(() -> {
+                while (running.get()) {
+                    Workload.Operation operation = workload.next();
+                    execute(operation, worker, stats.get(operation.name()));
+                }
+            });
+        }
+
+        TimeUnit.SECONDS.sleep(config.warmupSeconds());
+        stats.values().forEach(OperationStats::reset);
+        Instant startedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(config.durationSeconds());
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        running.set(false);
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+        }
+
+        return new LoadTestReport(
+                config.label(),
+                startedAt.toString(),
+                config,
+                elapsedSeconds,
+                stats.values().stream().map(s -> s.toResult(elapsedSeconds)).toList());
+    }
+
+    // 낙관적 락 충돌은 클라이언트가 다시 요청하는 것처럼 재시도하고, 그 외 예외는 실패로 기록
+    private void execute(Workload.Operation operation, Workload.Worker worker, OperationStats stats) {
+        long start = System.nanoTime();
+        int retries = 0;
+        while (true) {
+            try {
+                operation.action().run(worker);
+                stats.recordSuccess(System.nanoTime() - start, retries);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (retries >= config.maxRetries()) {
+                    stats.recordFailure(System.nanoTime() - start, retries, e);
+                    return;
+                }
+                retries++;
+            } catch (RuntimeException e) {
+                stats.recordFailure(System.nanoTime() - start, retries, e);
+                return;
+            }
+        }
+    }
+
+    // 스레드마다 다른 회원을 쓰도록 스레드 수만큼 회원 생성
+    private List<Long> seedMembers() {
+        EntityManager em = context.getBean(EntityManager.class);
+        return transaction.execute(status -> BoardFixtures.members(em, "load", config.threads()).stream()
+                .map(Member::getId)
+                .toList());
+    }
+
+    // 게시글을 배치로 저장하고, createPost와 같은 상태가 되도록 좋아요 수 샤드도 준비
+    private List<Long> seedPosts(List<Long> memberIds) {
+        EntityManager em = context.getBean(EntityManager.class);
+        PostService postService = context.getBean(PostService.class);
+        PostLikeService postLikeService = context.getBean(PostLikeService.class);
+
+        Long categoryId = transaction.execute(status -> BoardFixtures.category(em).getId());
+
+        String content = "부하 테스트 본문 ".repeat(100);
+        List<Long> postIds = new ArrayList<>();
+        for (int start = 0; start < config.postCount(); start += SEED_BATCH_SIZE) {
+            int from = start;
+            transaction.executeWithoutResult(status -> {
+                PostCategory category = em.find(PostCategory.class, categoryId);
+                List<Post> posts = new ArrayList<>();
+                for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, config.postCount()); i++) {
+                    posts.add(Post.builder()
+                            .name("게시글 " + i)
+                            .content(content)
+                            .member(em.getReference(Member.class, memberIds.get(i % memberIds.size())))
+                            .postCategory(category)
+                            .status(PostStatus.PUBLIC)
+                            .build());
+                }
+                List<Long> ids = postService.createPosts(posts);
+                ids.forEach(postLikeService::initCounter);
+                postIds.addAll(ids);
+            });
+        }
+        return postIds;
+    }
+}
@@ -0,0 +1,93 @@
+package darak.study.spring_study.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 작업 하나의 측정값 (지연 시간 히스토그램, 성공/실패/재시도 수)
+// 여러 스레드가 동시에 기록하므로 HdrHistogram Recorder와 LongAdder 사용
+class OperationStats {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final Map<String, LongAdder> failuresByType = new ConcurrentHashMap<>();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    // 재시도를 포함한 전체 소요 시간을 기록 (호출자가 체감하는 지연 시간)
+    void recordSuccess(long elapsedNanos, int retryCount) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+        successes.increment();
+        retries.add(retryCount);
+    }
+
+    void recordFailure(long elapsedNanos, int retryCount, Throwable cause) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+        failures.increment();
+        retries.add(retryCount);
+        failuresByType.computeIfAbsent(cause.getClass().getSimpleName(), type -> new LongAdder()).increment();
+    }
+
+    // 워밍업 구간의 기록을 버림
+    void reset() {
+        latency.reset();
+        successes.reset();
+        failures.reset();
+        retries.reset();
+        failuresByType.clear();
+    }
+
+    LoadTestReport.OperationResult toResult(double elapsedSeconds) {
+        Histogram histogram = latency.getIntervalHistogram();
+        long success = successes.sum();
+        long failure = failures.sum();
+        long total = success + failure;
+
+        Map<String, Long> failureTypes = new TreeMap<>();
+        failuresByType.forEach((type, count) -> failureTypes.put(type, count.sum()));
+
+        return new LoadTestReport.OperationResult(
+                name,
+                total,
+                success,
+                failure,
+                total == 0 ? 0.0 : (double) failure / total,
+                retries.sum(),
+                total / elapsedSeconds,
+                new LoadTestReport.Latency(
+                        histogram.getMean(),
+                        histogram.getValueAtPercentile(50),
+                        histogram.getValueAtPercentile(90),
+                        histogram.getValueAtPercentile(99),
+                        histogram.getValueAtPercentile(99.9),
+                        histogram.getMaxValue()),
+                failureTypes,
+                encode(histogram));
+    }
+
+    // 다른 실행과 히스토그램을 합치거나 다시 분석할 수 있도록 압축 인코딩해서 남김
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
@@ -0,0 +1,102 @@
+package darak.study.spring_study.loadtest;
+
+import darak.study.spring_study.domain.Comment;
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.dto.PostUpdateRequest;
+import darak.study.spring_study.service.CommentService;
+import darak.study.spring_study.service.PostLikeService;
+import darak.study.spring_study.service.PostService;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 읽기/쓰기가 섞인 게시판 작업 구성 (가중치 비율로 무작위 선택)
+// 대상 게시글은 hotRatio 비율로 소수의 인기 게시글에 몰리도록 골라 조회수/좋아요/수정 경합을 만듦
+class Workload {
+    private static final int PAGE_SIZE = 20;
+
+    private final List<Operation> operations;
+    private final int totalWeight;
+    private final List<Long> postIds;
+    private final LoadTestConfig config;
+
+    Workload(ApplicationContext context, LoadTestConfig config, List<Long> postIds) {
+        this.config = config;
+        this.postIds = postIds;
+
+        PostService postService = context.getBean(PostService.class);
+        PostLikeService postLikeService = context.getBean(PostLikeService.class);
+        CommentService commentService = context.getBean(CommentService.class);
+        EntityManager em = context.getBean(EntityManager.class);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        this.operations = List.of(
+                new Operation("listPosts", 25, worker ->
+                        postService.findPostsByCursor(null, PAGE_SIZE)),
+                new Operation("postDetail", 25, worker ->
+                        postService.findPostWithComments(pickPost())),
+                new Operation("rootComments", 10, worker ->
+                        commentService.findRootComments(pickPost(), null, PAGE_SIZE)),
+                new Operation("incrementView", 15, worker ->
+                        postService.incrementViewCount(pickPost())),
+                // 좋아요가 이미 있으면 취소해서 샤드 카운터에 +1/-1이 번갈아 반영되도록 함
+                new Operation("toggleLike", 10, worker -> {
+                    Long postId = pickPost();
+                    if (!postLikeService.like(postId, worker.memberId())) {
+                        postLikeService.unlike(postId, worker.memberId());
+                    }
+                }),
+                new Operation("addComment", 8, worker -> transaction.executeWithoutResult(status ->
+                        commentService.addComment(Comment.builder()
+                                .post(em.getReference(Post.class, pickPost()))
+                                .member(em.getReference(Member.class, worker.memberId()))
+                                .content("부하 테스트 댓글")
+                                .build()))),
+                // 같은 게시글을 동시에 수정하면 @Version 충돌이 나므로 재시도 수가 경합 지표가 됨
+                new Operation("updatePost", 7, worker ->
+                        postService.updatePost(pickPost(), new PostUpdateRequest(
+                                "수정된 게시글 " + ThreadLocalRandom.current().nextInt(1_000),
+                                "부하 테스트로 수정된 내용"))));
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Operation next() {
+        int point = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            point -= operation.weight();
+            if (point < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("가중치 합계가 올바르지 않습니다.");
+    }
+
+    private Long pickPost() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hot = Math.min(config.hotPostCount(), postIds.size());
+        if (hot > 0 && random.nextDouble() < config.hotRatio()) {
+            return postIds.get(random.nextInt(hot));
+        }
+        return postIds.get(random.nextInt(postIds.size()));
+    }
+
+    // 스레드마다 고정된 회원으로 요청 (좋아요 유니크 제약이 스레드 사이에서 충돌하지 않도록)
+    record Worker(Long memberId) {
+    }
+
+    interface Action {
+        void run(Worker worker);
+    }
+
+    record Operation(String name, int weight, Action action) {
+    }
+}
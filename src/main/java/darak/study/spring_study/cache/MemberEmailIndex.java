@@ -0,0 +1,144 @@
+package darak.study.spring_study.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import darak.study.spring_study.datasource.ReplicationRoutingDataSource;
+import darak.study.spring_study.repository.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 회원 이메일 존재 여부 필터 + 이메일 -> 회원 ID 캐시
+// 가입 시 중복 확인과 이메일 사용 가능 여부 조회는 대부분 없는 이메일이므로,
+// Bloom 필터가 "확실히 없음"이라고 하면 DB 조회를 생략하고 "있을 수도 있음"일 때만 DB로 확인
+// 필터는 기동 시 전체 이메일로 구성하고 가입 시 추가, 탈퇴가 쌓이거나 예상 크기를 넘으면 주기적으로 다시 구성
+// 재구성 시작 시점에 아직 저장 중인 가입은 전체 조회에 보이지 않을 수 있으므로 교체 전에 새 필터에 다시 넣음
+// 최종 중복 방지는 여전히 email 유니크 제약이 담당
+@Slf4j
+@Component
+public class MemberEmailIndex {
+    static final String CACHE_NAME = "memberIdByEmail";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final Cache<String, Long> idsByEmail;
+
+    private final Object lock = new Object();               // 가입 기록과 필터 교체를 직렬화
+    private final List<String> inFlight = new ArrayList<>();    // 저장이 끝나지 않은 가입 이메일 (lock으로 보호)
+    private List<String> addedDuringRebuild;                // 재구성 중 가입한 이메일 (lock으로 보호)
+    private volatile BloomFilter filter;                    // null이면 구성 전 (모든 조회를 DB로 보냄)
+    private volatile long capacity;                         // 현재 필터가 오탐률을 지킬 수 있는 원소 수
+    private final AtomicLong added = new AtomicLong();      // 마지막 구성 이후 추가된 이메일 수
+    private final AtomicLong removed = new AtomicLong();    // 마지막 구성 이후 삭제된 이메일 수
+
+    public MemberEmailIndex(MemberRepository memberRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${board.member-email-filter.expected-insertions:100000}") long expectedInsertions,
+                            @Value("${board.member-email-filter.id-cache-size:10000}") long idCacheSize) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(idCacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, CACHE_NAME);
+    }
+
+    // false면 해당 이메일의 회원이 확실히 없음
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        return email == null || current == null || current.mightContain(email);
+    }
+
+    // 가입 시 호출 (커밋 전에 추가해야 동시에 들어온 같은 이메일 가입이 DB 확인으로 넘어감)
+    // 저장 트랜잭션이 끝나면 반드시 finishAdd 호출
+    public void add(String email) {
+        synchronized (lock) {
+            inFlight.add(email);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(email);
+            }
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(email);
+            }
+        }
+        added.incrementAndGet();
+    }
+
+    // 가입 저장 트랜잭션이 끝난 뒤 호출 (커밋/롤백 모두)
+    public void finishAdd(String email) {
+        synchronized (lock) {
+            inFlight.remove(email);
+        }
+    }
+
+    // 탈퇴 시 호출 (필터에서는 지울 수 없으므로 재구성 대상으로 표시)
+    public void remove(String email) {
+        idsByEmail.invalidate(email);
+        removed.incrementAndGet();
+    }
+
+    // 캐시된 회원 ID (없으면 null)
+    public Long cachedId(String email) {
+        return idsByEmail.getIfPresent(email);
+    }
+
+    public void cacheId(String email, Long memberId) {
+        idsByEmail.put(email, memberId);
+    }
+
+    public void evictId(String email) {
+        idsByEmail.invalidate(email);
+    }
+
+    // 전체 이메일로 필터 구성
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<String> recorder;
+        synchronized (lock) {
+            recorder = new ArrayList<>(inFlight);           // 전체 조회 시점에 아직 커밋되지 않았을 수 있는 가입
+            addedDuringRebuild = recorder;
+        }
+        added.set(0);
+        removed.set(0);
+
+        List<String> emails = ReplicationRoutingDataSource.readFromPrimary(
+                () -> readOnlyTransaction.execute(status -> memberRepository.findAllEmails()));
+        long size = Math.max(expectedInsertions, emails.size() * 2L);
+        BloomFilter next = new BloomFilter(size, FALSE_POSITIVE_RATE);
+        emails.forEach(next::put);
+
+        synchronized (lock) {
+            recorder.forEach(next::put);
+            addedDuringRebuild = null;
+            capacity = size - emails.size();
+            filter = next;
+        }
+        log.info("회원 이메일 필터 구성 완료. members={}, capacity={}", emails.size(), size);
+    }
+
+    // 삭제가 있었거나 예상 크기를 넘겨 오탐률이 높아졌으면 다시 구성
+    @Scheduled(fixedDelayString = "${board.member-email-filter.rebuild-interval-ms:3600000}")
+    public void rebuildIfStale() {
+        if (filter != null && (removed.get() > 0 || added.get() > capacity)) {
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package darak.study.spring_study.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import darak.study.spring_study.dto.PostDetailResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// 게시글 상세(게시글 + 작성자 + 댓글 + 첨부파일) 스냅샷 캐시
+// 소수의 인기 게시글에 조회가 몰리므로 W-TinyLFU(Caffeine)로 자주 읽히는 항목을 남기고 전체 크기는 바이트 예산으로 제한
+// 게시글/댓글/첨부파일 변경 시 서비스가 커밋 후에 해당 게시글만 무효화하고,
+// 조회수/좋아요 수처럼 따로 갱신되는 값은 expireAfterWrite 주기만큼 늦게 반영될 수 있음
+// 통계는 cache.gets / cache.evictions 등의 이름(cache=postDetail)으로 /actuator/metrics 에 노출
+@Component
+public class PostDetailCache {
+    static final String CACHE_NAME = "postDetail";
+
+    private static final int OBJECT_OVERHEAD = 48;      // 객체 헤더와 필드 대략치
+    private static final int STRING_OVERHEAD = 40;      // String + 내부 배열 헤더
+
+    private final Cache<Long, PostDetailResponse> cache;
+
+    public PostDetailCache(MeterRegistry meterRegistry,
+                           @Value("${board.post-detail-cache.max-bytes:67108864}") long maxBytes,
+                           @Value("${board.post-detail-cache.expire-after-write-seconds:300}") long expireAfterWriteSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long postId, PostDetailResponse detail) -> estimateBytes(detail))
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // 캐시에 없으면 loader로 읽어 저장 (loader가 null을 반환하면 저장하지 않음)
+    // 같은 키의 로딩 중에 invalidate가 호출되면 로딩이 끝난 뒤 제거되므로, 변경 전 상태를 읽은 스냅샷이 남지 않음
+    public PostDetailResponse get(Long postId, Function<Long, PostDetailResponse> loader) {
+        return cache.get(postId, loader);
+    }
+
+    // 캐시에 있을 때만 반환 (없으면 null)
+    public PostDetailResponse getIfPresent(Long postId) {
+        return cache.getIfPresent(postId);
+    }
+
+    public void invalidate(Long postId) {
+        cache.invalidate(postId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    // 스냅샷이 차지하는 힙 크기 추정 (문자열은 한글 기준 문자당 2바이트)
+    static int estimateBytes(PostDetailResponse detail) {
+        long bytes = OBJECT_OVERHEAD
+                + sizeOf(detail.getName())
+                + sizeOf(detail.getContent())
+                + authorBytes(detail.getAuthor());
+        for (PostDetailResponse.CommentItem comment : detail.getComments()) {
+            bytes += OBJECT_OVERHEAD + sizeOf(comment.getContent()) + authorBytes(comment.getAuthor());
+        }
+        for (PostDetailResponse.AttachmentItem attachment : detail.getAttachments()) {
+            bytes += OBJECT_OVERHEAD + sizeOf(attachment.getFileName()) + sizeOf(attachment.getFileType())
+                    + (long) attachment.getVariants().size() * OBJECT_OVERHEAD;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long authorBytes(PostDetailResponse.Author author) {
+        return author == null ? 0 : OBJECT_OVERHEAD + sizeOf(author.getUsername());
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + 2L * value.length();
+    }
+}
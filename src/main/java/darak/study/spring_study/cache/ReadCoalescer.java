@@ -0,0 +1,81 @@
+package darak.study.spring_study.cache;
+
+import darak.study.spring_study.exception.ReadTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// 서비스 조회 메서드 앞단의 요청 합치기
+// 인기 게시글처럼 같은 조회가 동시에 몰릴 때 DB에는 한 번만 질의하고 나머지 호출은 그 결과를 공유
+// 대기하는 호출이 DB 커넥션을 잡고 있지 않도록, 호출하는 메서드는 트랜잭션을 새로 시작하지 않고(SUPPORTS)
+// 실제 조회(loader)만 leader가 읽기 전용 트랜잭션 안에서 수행
+// 호출한 쪽에 진행 중인 트랜잭션이 있으면 합치지 않고 그 트랜잭션 안에서 바로 조회 (커밋 전 자신의 변경을 볼 수 있도록)
+// 결과는 여러 스레드가 공유하므로 loader는 엔티티가 아닌 DTO를 반환해야 함
+// 지표: read.coalescing.calls{name, result=executed|coalesced}, read.coalescing.timeouts{name}
+@Component
+public class ReadCoalescer {
+
+    private final SingleFlight<List<Object>, Object> singleFlight = new SingleFlight<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration defaultTimeout;
+
+    public ReadCoalescer(MeterRegistry meterRegistry,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${board.read-coalescing.timeout-ms:3000}") long defaultTimeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultTimeout = Duration.ofMillis(defaultTimeoutMs);
+    }
+
+    public <T> T read(String name, Object key, Supplier<T> loader) {
+        return read(name, key, defaultTimeout, loader);
+    }
+
+    // name + key가 같은 동시 호출을 합침 (key는 equals/hashCode가 값 기준이어야 함)
+    // timeout: 다른 호출의 결과를 기다리는 최대 시간
+    @SuppressWarnings("unchecked")
+    public <T> T read(String name, Object key, Duration timeout, Supplier<T> loader) {
+        Counters counter = counters.computeIfAbsent(name, this::registerCounters);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            counter.executed.increment();
+            return loader.get();
+        }
+        try {
+            SingleFlight.Result<Object> result = singleFlight.execute(Arrays.asList(name, key), timeout,
+                    () -> readOnlyTransaction.execute(status -> loader.get()));
+            (result.coalesced() ? counter.coalesced : counter.executed).increment();
+            return (T) result.value();
+        } catch (TimeoutException e) {
+            counter.timeouts.increment();
+            throw new ReadTimeoutException(name);
+        }
+    }
+
+    private Counters registerCounters(String name) {
+        return new Counters(
+                Counter.builder("read.coalescing.calls").tag("name", name).tag("result", "executed")
+                        .description("DB 조회를 직접 수행한 호출 수").register(meterRegistry),
+                Counter.builder("read.coalescing.calls").tag("name", name).tag("result", "coalesced")
+                        .description("다른 호출의 결과를 공유받은 호출 수").register(meterRegistry),
+                Counter.builder("read.coalescing.timeouts").tag("name", name)
+                        .description("결과 대기 시간을 초과한 호출 수").register(meterRegistry));
+    }
+
+    private record Counters(Counter executed, Counter coalesced, Counter timeouts) {
+    }
+}
@@ -0,0 +1,62 @@
+package darak.study.spring_study.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// 같은 키에 대한 동시 호출을 하나의 실행으로 합침 (single-flight)
+// 먼저 도착한 호출(leader)만 loader를 실행하고, 실행 중에 들어온 호출은 그 결과(또는 예외)를 함께 받음
+// 실행이 끝나면 바로 키를 비우므로 결과를 저장하지는 않음 (캐시가 아님)
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Result<V> execute(K key, Duration timeout, Supplier<V> loader) throws TimeoutException {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return new Result<>(await(existing, timeout), true);
+        }
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // 현재 실행 중인 키 개수
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future, Duration timeout) throws TimeoutException {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("조회 대기 중 인터럽트가 발생했습니다.", e);
+        } catch (ExecutionException e) {
+            // leader에서 발생한 예외를 그대로 전달
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // coalesced: 다른 호출의 실행 결과를 공유받았는지 여부
+    public record Result<V>(V value, boolean coalesced) {
+    }
+}
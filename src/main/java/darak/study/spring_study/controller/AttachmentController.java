@@ -0,0 +1,155 @@
+package darak.study.spring_study.controller;
+
+import darak.study.spring_study.domain.AttachmentVariantType;
+import darak.study.spring_study.dto.AttachmentContent;
+import darak.study.spring_study.exception.AttachmentNotFoundException;
+import darak.study.spring_study.service.AttachmentService;
+import darak.study.spring_study.storage.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+// 첨부파일 내용 다운로드
+// - 내용 해시와 파일 정보로 ETag를 만들고, If-None-Match가 맞으면 304
+//   파일 정보 수정이나 게시글 삭제가 반영되도록 immutable 없이 짧게 캐시한 뒤 다시 확인
+// - Range 요청(한 구간)은 206으로 해당 구간만 보내 PDF 등을 필요한 부분부터 열 수 있도록 함
+// - 본문은 힙 버퍼를 거치지 않음: Tomcat NIO 커넥터면 sendfile 요청 속성으로 커넥터가 직접 보내고,
+//   그렇지 않으면 FileChannel.transferTo로 응답 스트림에 전송
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/attachments")
+public class AttachmentController {
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.Globals)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofHours(1))
+            .cachePublic()
+            .getHeaderValue();
+
+    private final AttachmentService attachmentService;
+    private final BlobStore blobStore;
+
+    // 첨부파일 내용 (variant를 지정하면 이미지 축소본)
+    @GetMapping("/{attachmentId}/content")
+    public void download(@PathVariable Long attachmentId,
+                         @RequestParam(required = false) AttachmentVariantType variant,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        AttachmentContent content = attachmentService.findContent(attachmentId, variant);
+        String etag = "\"" + content.etag() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long size = content.size();
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = singleRange(request, etag);
+        if (range != null) {
+            if (size == 0 || !isSatisfiable(range, size)) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return;
+            }
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentType(content.fileType());
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(content.fileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, content.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);    // 끝 위치는 포함하지 않음
+            return;
+        }
+        blobStore.transferTo(content.path(), start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    @ExceptionHandler(AttachmentNotFoundException.class)
+    public ResponseEntity<String> handleNotFound(AttachmentNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    // 적용할 구간 하나 (Range가 없거나, If-Range가 현재 ETag와 다르거나, 형식이 잘못됐거나,
+    // 여러 구간이면 null -> 전체를 보냄, 여러 구간을 multipart로 보내지 않는 것은 RFC 9110에서 허용)
+    private static HttpRange singleRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(etag)) {
+            return null;                                // 날짜 형식이거나 이전 내용의 ETag
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isSatisfiable(HttpRange range, long size) {
+        try {
+            return range.getRangeStart(size) <= range.getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            return false;                               // 시작 위치가 파일 크기 이상
+        }
+    }
+
+    // If-None-Match 비교 (약한 비교, * 는 항상 일치)
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
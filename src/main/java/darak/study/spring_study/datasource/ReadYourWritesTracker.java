@@ -0,0 +1,80 @@
+package darak.study.spring_study.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+// 쓰기 직후 읽기 일관성 (read-your-writes)
+// 쓰기 트랜잭션이 커밋되면 그 시각을 현재 스레드와 (바인딩돼 있으면) 회원에게 기록하고,
+// 라우팅은 그 시각 이후까지 복제된 복제본만 사용 (그런 복제본이 없으면 주 DB)
+// 회원 기록은 최대 지연 허용치가 지나면 만료됨 (그 뒤에는 허용치 안의 복제본이 모두 그 쓰기를 가지고 있음)
+public class ReadYourWritesTracker {
+    private final ThreadLocal<Long> threadLastWrite = new ThreadLocal<>();
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+    private final Cache<Long, Long> memberLastWrite;
+
+    public ReadYourWritesTracker(Duration maxLag) {
+        this.memberLastWrite = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag)
+                .build();
+    }
+
+    // 현재 스레드의 작업을 회원에게 연결 (웹 요청 필터, 테스트), memberId가 null이면 회원 기록 없이 스레드 기록만 사용
+    public Scope bind(Long memberId) {
+        Scope scope = new Scope(this, memberId, current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    // 쓰기 트랜잭션 커밋 후 호출
+    public void recordWrite() {
+        long now = System.currentTimeMillis();
+        threadLastWrite.set(now);
+        Scope scope = current.get();
+        if (scope != null && scope.memberId != null) {
+            memberLastWrite.asMap().merge(scope.memberId, now, Math::max);
+        }
+    }
+
+    // 현재 스레드/회원이 마지막으로 쓴 시각 (epoch ms, 없으면 Long.MIN_VALUE)
+    public long lastWrite() {
+        Long threadWrite = threadLastWrite.get();
+        long lastWrite = threadWrite != null ? threadWrite : Long.MIN_VALUE;
+        Scope scope = current.get();
+        if (scope != null && scope.memberId != null) {
+            Long memberWrite = memberLastWrite.getIfPresent(scope.memberId);
+            if (memberWrite != null) {
+                lastWrite = Math.max(lastWrite, memberWrite);
+            }
+        }
+        return lastWrite;
+    }
+
+    private void close(Scope scope) {
+        if (current.get() == scope) {
+            if (scope.parent == null) {
+                current.remove();
+            } else {
+                current.set(scope.parent);
+            }
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final ReadYourWritesTracker tracker;
+        private final Long memberId;
+        private final Scope parent;
+
+        private Scope(ReadYourWritesTracker tracker, Long memberId, Scope parent) {
+            this.tracker = tracker;
+            this.memberId = memberId;
+            this.parent = parent;
+        }
+
+        @Override
+        public void close() {
+            tracker.close(this);
+        }
+    }
+}
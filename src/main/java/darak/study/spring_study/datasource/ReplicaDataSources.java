@@ -0,0 +1,47 @@
+package darak.study.spring_study.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 복제본 연결 풀 (이름 -> DataSource, 설정한 순서 유지)
+// 드라이버/계정은 주 DB(spring.datasource.*)와 같고 URL만 다름
+public class ReplicaDataSources implements AutoCloseable {
+    private final Map<String, HikariDataSource> dataSources;
+
+    private ReplicaDataSources(Map<String, HikariDataSource> dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    public static ReplicaDataSources create(DataSourceProperties properties, List<String> urls) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("복제본 URL이 하나 이상 필요합니다.");
+        }
+        Map<String, HikariDataSource> dataSources = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .build();
+            dataSource.setPoolName(name);
+            dataSource.setReadOnly(true);
+            dataSources.put(name, dataSource);
+        }
+        return new ReplicaDataSources(dataSources);
+    }
+
+    public Map<String, DataSource> asMap() {
+        return Collections.unmodifiableMap(dataSources);
+    }
+
+    @Override
+    public void close() {
+        dataSources.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,89 @@
+package darak.study.spring_study.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 하트비트로 복제본 지연 측정
+// 주 DB의 replication_heartbeat 행에 현재 시각을 주기적으로 쓰고, 복제본에서 같은 행을 읽어
+// "이 복제본은 이 시각까지의 쓰기를 가지고 있다"(replicatedUntil)를 기록
+// 복제본을 읽지 못하면 Long.MIN_VALUE로 두어 라우팅에서 빠지게 함 (지표: datasource.replica.lag, 밀리초)
+@Slf4j
+public class ReplicaLagMonitor {
+    static final String HEARTBEAT_TABLE = "replication_heartbeat";
+
+    private final JdbcTemplate primary;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final Map<String, Long> replicatedUntil = new ConcurrentHashMap<>();
+    private volatile boolean tableCreated;
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        replicas.forEach((name, dataSource) -> {
+            this.replicas.put(name, new JdbcTemplate(dataSource));
+            this.replicatedUntil.put(name, Long.MIN_VALUE);
+            Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis(name))
+                    .description("복제본 지연 (마지막으로 복제된 하트비트 이후 경과 시간)")
+                    .tag("replica", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${board.datasource.replication.heartbeat-interval-ms:1000}")
+    public void tick() {
+        try {
+            writeHeartbeat();
+        } catch (DataAccessException e) {
+            log.warn("복제 하트비트 기록 실패", e);
+        }
+        refresh();
+    }
+
+    // 주 DB에 현재 시각 기록 (자동 커밋)
+    public void writeHeartbeat() {
+        if (!tableCreated) {
+            primary.execute("create table if not exists " + HEARTBEAT_TABLE
+                    + " (id int primary key, beat bigint not null)");
+            tableCreated = true;
+        }
+        long now = System.currentTimeMillis();
+        if (primary.update("update " + HEARTBEAT_TABLE + " set beat = ? where id = 1", now) == 0) {
+            primary.update("insert into " + HEARTBEAT_TABLE + " (id, beat) values (1, ?)", now);
+        }
+    }
+
+    // 복제본마다 복제된 하트비트 시각을 읽음
+    public void refresh() {
+        replicas.forEach((name, replica) -> {
+            long beat;
+            try {
+                List<Long> beats = replica.queryForList("select beat from " + HEARTBEAT_TABLE + " where id = 1", Long.class);
+                beat = beats.isEmpty() ? Long.MIN_VALUE : beats.get(0);
+            } catch (DataAccessException e) {
+                log.debug("복제본 하트비트 조회 실패: {}", name, e);
+                beat = Long.MIN_VALUE;
+            }
+            replicatedUntil.put(name, beat);
+        });
+    }
+
+    // 복제본이 가지고 있는 쓰기의 기준 시각 (epoch ms, 모르면 Long.MIN_VALUE)
+    public long replicatedUntil(String replica) {
+        return replicatedUntil.getOrDefault(replica, Long.MIN_VALUE);
+    }
+
+    private double lagMillis(String replica) {
+        long until = replicatedUntil(replica);
+        return until == Long.MIN_VALUE ? Double.NaN : System.currentTimeMillis() - until;
+    }
+}
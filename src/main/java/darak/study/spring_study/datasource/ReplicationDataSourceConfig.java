@@ -0,0 +1,111 @@
+package darak.study.spring_study.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+// 읽기/쓰기 DataSource 분리 (board.datasource.replication.enabled=true 일 때만 등록)
+// 주 DB는 spring.datasource.*, 복제본은 replica-urls (계정/드라이버는 주 DB와 같음)
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "board.datasource.replication.enabled", havingValue = "true")
+public class ReplicationDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSources replicaDataSources(DataSourceProperties properties,
+                                                 @Value("${board.datasource.replication.replica-urls}") List<String> replicaUrls) {
+        return ReplicaDataSources.create(properties, replicaUrls);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${board.datasource.replication.max-lag-ms:5000}") long maxLagMillis) {
+        return new ReadYourWritesTracker(Duration.ofMillis(maxLagMillis));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+                                               ReplicaDataSources replicaDataSources,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSources.asMap(), meterRegistry);
+    }
+
+    @Bean
+    public ReplicationRoutingDataSource replicationRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                     ReplicaDataSources replicaDataSources,
+                                                                     ReplicaLagMonitor replicaLagMonitor,
+                                                                     ReadYourWritesTracker readYourWritesTracker,
+                                                                     MeterRegistry meterRegistry,
+                                                                     @Value("${board.datasource.replication.max-lag-ms:5000}") long maxLagMillis) {
+        return new ReplicationRoutingDataSource(primaryDataSource, replicaDataSources.asMap(), replicaLagMonitor,
+                readYourWritesTracker, Duration.ofMillis(maxLagMillis), meterRegistry);
+    }
+
+    // JPA 트랜잭션 관리자는 연결을 얻은 뒤에 readOnly를 알리므로, 실제 연결은 첫 SQL 실행 때 얻도록 미룸
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicationRoutingDataSource replicationRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicationRoutingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "board.datasource.replication.stand-in.enabled", havingValue = "true")
+    public ReplicationStandIn replicationStandIn(HikariDataSource primaryDataSource,
+                                                 ReplicaDataSources replicaDataSources) {
+        return new ReplicationStandIn(primaryDataSource, replicaDataSources.asMap());
+    }
+
+    // 요청한 회원을 읽기 일관성 추적에 연결 (인증이 붙기 전까지는 헤더 값으로 회원을 구분)
+    @Bean
+    @ConditionalOnWebApplication
+    public OncePerRequestFilter readYourWritesFilter(ReadYourWritesTracker readYourWritesTracker,
+                                                     @Value("${board.datasource.replication.member-header:X-Member-Id}") String memberHeader) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                ReadYourWritesTracker.Scope scope = readYourWritesTracker.bind(memberId(request.getHeader(memberHeader)));
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    scope.close();
+                }
+            }
+        };
+    }
+
+    private static Long memberId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package darak.study.spring_study.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// 읽기 전용 트랜잭션은 복제본으로, 나머지는 주 DB로 보내는 DataSource
+// 복제본은 지연이 maxLag 이하이고 현재 스레드/회원의 마지막 쓰기까지 복제된 것만 골라 차례로 사용하고,
+// 그런 복제본이 없으면 주 DB를 씀 (지표: datasource.readonly.transactions, target 태그)
+// 연결을 얻는 시점에 트랜잭션의 readOnly 여부를 봐야 하므로 LazyConnectionDataSourceProxy로 감싸서 사용
+// 공유 캐시/색인을 채우는 조회는 readFromPrimary로 감싸 주 DB에서 읽음
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+
+    private final List<String> replicaNames;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker tracker;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> readOnlyCounters = new HashMap<>();
+
+    public ReplicationRoutingDataSource(DataSource primary,
+                                        Map<String, DataSource> replicas,
+                                        ReplicaLagMonitor lagMonitor,
+                                        ReadYourWritesTracker tracker,
+                                        Duration maxLag,
+                                        MeterRegistry meterRegistry) {
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.lagMonitor = lagMonitor;
+        this.tracker = tracker;
+        this.maxLagMillis = maxLag.toMillis();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        List<String> names = new ArrayList<>(replicaNames);
+        names.add(PRIMARY);
+        for (String name : names) {
+            readOnlyCounters.put(name, Counter.builder("datasource.readonly.transactions")
+                    .description("읽기 전용 트랜잭션이 사용한 DataSource")
+                    .tag("target", name)
+                    .register(meterRegistry));
+        }
+    }
+
+    // action 안의 읽기 전용 트랜잭션을 주 DB로 보냄 (라우팅을 쓰지 않으면 그냥 실행)
+    // 복제본에서 읽은 값은 최대 지연만큼 오래됐을 수 있어, 모든 회원이 보는 캐시나 색인에 넣으면
+    // 방금 쓴 회원에게도 쓰기 이전 값이 캐시 유지 시간 동안 보임
+    public static <T> T readFromPrimary(Supplier<T> action) {
+        Boolean previous = primaryOnly.get();
+        primaryOnly.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                primaryOnly.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // 실제로 아무것도 쓰지 않은 트랜잭션도 쓰기로 보고 기록 (복제본에서 덜 읽을 뿐 틀린 값을 읽지는 않음)
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        tracker.recordWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        String target = primaryOnly.get() != null ? PRIMARY : selectReplica();
+        readOnlyCounters.get(target).increment();
+        return target;
+    }
+
+    // 복제 시각이 요구 시각 이상인 복제본을 차례로 고름 (없으면 주 DB)
+    // 마지막 쓰기와 같은 밀리초의 하트비트는 쓰기보다 먼저 기록됐을 수 있어 그 다음 밀리초부터 인정
+    private String selectReplica() {
+        long required = Math.max(System.currentTimeMillis() - maxLagMillis, tracker.lastWrite() + 1);
+        int size = replicaNames.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String name = replicaNames.get((start + i) % size);
+            if (lagMonitor.replicatedUntil(name) >= required) {
+                return name;
+            }
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,152 @@
+package darak.study.spring_study.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 로컬/테스트용 복제 대역 (H2 -> H2)
+// 실제 DB 복제 대신 주기적으로 주 DB의 PUBLIC 스키마 전체를 복제본에 복사
+// 스키마(테이블/컬럼)가 바뀌면 SCRIPT NODATA로 스키마를 다시 만들고(외래 키 제외), 데이터는 매번 통째로 바꿈
+// 하트비트 테이블을 가장 먼저 읽으므로 복제본의 하트비트 시각 이전에 커밋된 쓰기는 모두 복사돼 있음
+// 테이블별로 따로 읽어 테이블 사이 시점은 맞지 않을 수 있음 (대역으로만 사용, 운영에서는 DB 복제 사용)
+@Slf4j
+public class ReplicationStandIn {
+    private static final String COLUMNS_QUERY = "select table_name, column_name from information_schema.columns"
+            + " where table_schema = 'PUBLIC' order by table_name, ordinal_position";
+    private static final String TABLES_QUERY = "select table_name from information_schema.tables"
+            + " where table_schema = 'PUBLIC' and table_type = 'BASE TABLE'";
+    private static final int BATCH_SIZE = 500;
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Map<String, String> replicatedSchemas = new HashMap<>();
+
+    public ReplicationStandIn(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Scheduled(fixedDelayString = "${board.datasource.replication.stand-in.interval-ms:1000}")
+    public synchronized void replicate() {
+        replicas.forEach((name, replica) -> {
+            try {
+                replicate(name, replica);
+            } catch (SQLException e) {
+                replicatedSchemas.remove(name);   // 다음 실행에서 스키마부터 다시 만듦
+                log.warn("복제 대역 복사 실패: {}", name, e);
+            }
+        });
+    }
+
+    private void replicate(String name, DataSource replica) throws SQLException {
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            target.setReadOnly(false);
+            String schema = String.join(",", queryStrings(source, COLUMNS_QUERY, 2));
+            if (!schema.equals(replicatedSchemas.get(name))) {
+                recreateSchema(source, target);
+                replicatedSchemas.put(name, schema);
+            }
+            copyData(source, target);
+        }
+    }
+
+    private static void recreateSchema(Connection source, Connection target) throws SQLException {
+        List<String> statements = queryStrings(source, "script nodata nopasswords nosettings", 1);
+        try (Statement statement = target.createStatement()) {
+            statement.execute("drop all objects");
+            for (String sql : statements) {
+                // 복제본은 읽기만 하고 테이블을 순서 없이 채우므로 외래 키는 만들지 않음
+                if (sql.contains(" FOREIGN KEY") || sql.startsWith("CREATE USER")) {
+                    continue;
+                }
+                statement.execute(sql);
+            }
+        }
+    }
+
+    // 복제본 트랜잭션 하나에서 모든 테이블을 바꿈 (복제본을 읽는 쪽은 커밋 전까지 이전 데이터를 봄)
+    private static void copyData(Connection source, Connection target) throws SQLException {
+        List<String> tables = new ArrayList<>(queryStrings(source, TABLES_QUERY, 1));
+        if (tables.remove(ReplicaLagMonitor.HEARTBEAT_TABLE.toUpperCase())) {
+            tables.add(0, ReplicaLagMonitor.HEARTBEAT_TABLE.toUpperCase());
+        }
+        boolean autoCommit = target.getAutoCommit();
+        target.setAutoCommit(false);
+        try {
+            for (String table : tables) {
+                copyTable(source, target, table);
+            }
+            target.commit();
+        } catch (SQLException | RuntimeException e) {
+            target.rollback();
+            throw e;
+        } finally {
+            target.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void copyTable(Connection source, Connection target, String table) throws SQLException {
+        String quoted = "\"" + table.replace("\"", "\"\"") + "\"";
+        try (Statement delete = target.createStatement()) {
+            delete.executeUpdate("delete from " + quoted);
+        }
+        try (Statement select = source.createStatement();
+             ResultSet rows = select.executeQuery("select * from " + quoted)) {
+            int columns = rows.getMetaData().getColumnCount();
+            String insert = "insert into " + quoted + " values (" + "?,".repeat(columns - 1) + "?)";
+            try (PreparedStatement statement = target.prepareStatement(insert)) {
+                int pending = 0;
+                while (rows.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        statement.setObject(i, detach(rows.getObject(i)));
+                    }
+                    statement.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+        }
+    }
+
+    // LOB은 원본 연결에 묶여 있으므로 값으로 꺼내서 넘김
+    private static Object detach(Object value) throws SQLException {
+        if (value instanceof Clob clob) {
+            return clob.getSubString(1, Math.toIntExact(clob.length()));
+        }
+        if (value instanceof Blob blob) {
+            return blob.getBytes(1, Math.toIntExact(blob.length()));
+        }
+        return value;
+    }
+
+    private static List<String> queryStrings(Connection connection, String sql, int columns) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            while (rows.next()) {
+                StringBuilder value = new StringBuilder(rows.getString(1));
+                for (int i = 2; i <= columns; i++) {
+                    value.append('.').append(rows.getString(i));
+                }
+                values.add(value.toString());
+            }
+        }
+        return values;
+    }
+}
@@ -16,8 +16,9 @@ import lombok.NoArgsConstructor;
 public class Attachment extends BaseTimeEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attachment_seq")
+    @SequenceGenerator(name = "attachment_seq", sequenceName = "attachment_seq", allocationSize = 50)
+    private Long id;                                    // 시퀀스를 50개씩 미리 할당받아 INSERT 배치가 가능하도록 함
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "postId", nullable = false)
@@ -32,6 +33,9 @@ public class Attachment extends BaseTimeEntity {
     @Column(nullable = false)
     private Long fileSize;
 
+    @Column(length = 64)
+    private String contentHash;                         // 저장된 내용의 SHA-256 (AttachmentBlob, 내용 없이 메타데이터만 등록하면 null)
+
     // Post 설정 메서드
     public void setPost(Post post) {
         this.post = post;
@@ -0,0 +1,35 @@
+package darak.study.spring_study.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 첨부파일 내용(바이트) 하나의 참조 수
+// 같은 내용은 SHA-256 해시 하나로 한 번만 저장하고, 이를 가리키는 Attachment 수를 refCount로 관리
+// refCount가 0이 된 뒤 유예 시간(lastUsedAt 기준)이 지나면 정리 작업이 파일과 함께 삭제
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Table(indexes = @Index(name = "idx_attachment_blob_ref_count_last_used_at", columnList = "refCount, lastUsedAt"))
+public class AttachmentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;                            // 내용의 SHA-256 (16진수)
+
+    @Column(nullable = false)
+    private long size;                              // 바이트 수
+
+    @Column(nullable = false)
+    private int refCount;                           // 이 내용을 가리키는 첨부파일 수
+
+    @Column(nullable = false)
+    private LocalDateTime lastUsedAt;               // 마지막으로 업로드/참조 해제된 시각 (정리 유예 기준)
+}
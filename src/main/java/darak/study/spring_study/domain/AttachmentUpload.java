@@ -0,0 +1,46 @@
+package darak.study.spring_study.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 진행 중인 분할 업로드 세션
+// 클라이언트는 receivedBytes(마지막으로 확인된 위치)부터 이어서 청크를 보내고, 모두 받으면 완료 요청으로 첨부파일을 만듦
+// 완료되지 않은 세션도 게시글의 첨부파일 개수 제한에 포함됨 (자리를 미리 잡아 둠)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_attachment_upload_post_id", columnList = "postId"),
+        @Index(name = "idx_attachment_upload_update_date", columnList = "updateDate")
+})
+public class AttachmentUpload extends BaseTimeEntity {
+
+    @Id
+    @Column(length = 36)
+    private String id;                              // 추측하기 어렵도록 UUID 사용
+
+    @Column(nullable = false)
+    private Long postId;                            // 게시글 삭제를 막지 않도록 외래 키 없이 ID만 보관
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private String fileType;
+
+    @Column(nullable = false)
+    private long totalSize;                         // 업로드 시작 시 선언한 전체 크기
+
+    @Column(nullable = false)
+    private long receivedBytes;                     // 디스크에 기록(force)까지 끝난 바이트 수
+
+    public boolean isComplete() {
+        return receivedBytes == totalSize;
+    }
+}
@@ -0,0 +1,47 @@
+package darak.study.spring_study.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 이미지 내용(AttachmentBlob) 하나에서 만든 축소본
+// 같은 내용을 가리키는 첨부파일들이 축소본을 함께 쓰도록 첨부파일이 아닌 내용 해시에 연결
+// 파일은 원본 옆(<root>/ab/cd/<hash>.<종류>.<확장자>)에 있으며, 원본 내용이 정리될 때 함께 삭제됨
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = "uk_attachment_variant_hash_type", columnNames = {"contentHash", "type"}))
+public class AttachmentVariant extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String contentHash;                     // 원본 내용의 SHA-256
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AttachmentVariantType type;
+
+    @Column(nullable = false)
+    private int width;
+
+    @Column(nullable = false)
+    private int height;
+
+    @Column(nullable = false)
+    private String fileType;                        // image/jpeg 또는 image/png (투명도가 있으면)
+
+    @Column(nullable = false)
+    private long fileSize;
+
+    @Column(nullable = false)
+    private String path;                            // 저장소 루트 기준 상대 경로
+}
@@ -0,0 +1,17 @@
+package darak.study.spring_study.domain;
+
+// 이미지 첨부파일의 축소본 종류 (긴 변 기준 최대 픽셀, 원본보다 크게 늘리지는 않음)
+public enum AttachmentVariantType {
+    SMALL(160),             // 목록 썸네일
+    MEDIUM(640);            // 상세 화면 미리보기
+
+    private final int maxEdge;
+
+    AttachmentVariantType(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+}
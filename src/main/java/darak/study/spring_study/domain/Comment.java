@@ -11,15 +11,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_post_path", columnList = "postId, path"),
+        @Index(name = "idx_comment_post_root_create_date_id", columnList = "postId, parentId, createDate, id"),
+        @Index(name = "idx_comment_parent_create_date_id", columnList = "parentId, createDate, id"),
+        @Index(name = "idx_comment_status_update_date", columnList = "status, updateDate")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Builder(toBuilder = true)
 public class Comment extends BaseTimeEntity {
+    public static final int MAX_DEPTH = 30;             // 최대 답글 깊이
+    private static final int PATH_SEGMENT_LENGTH = 13;  // Long 최댓값의 36진수 길이
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
+    private Long id;                                    // 시퀀스를 50개씩 미리 할당받아 INSERT 배치가 가능하도록 함
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "postId", nullable = false)
@@ -34,6 +43,7 @@ public class Comment extends BaseTimeEntity {
     private Comment parentComment;
 
     @OneToMany(mappedBy = "parentComment", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
     private List<Comment> childComments = new ArrayList<>();
 
 
@@ -42,8 +52,17 @@ public class Comment extends BaseTimeEntity {
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
+    @Builder.Default
     private CommentStatus status = CommentStatus.ACTIVE;
 
+    // 루트 댓글부터 자신까지의 ID를 고정 길이 36진수로 이어 붙인 경로 (materialized path)
+    // path 순으로 정렬하면 스레드 전체가 부모 -> 자식 순(전위 순회)으로 한 번에 조회됨
+    @Column(nullable = false, length = PATH_SEGMENT_LENGTH * (MAX_DEPTH + 1))
+    private String path;
+
+    @Column(nullable = false)
+    private int depth;                                  // 루트 댓글은 0
+
     
     // 연관관계 편의 메서드
     public void setPost(Post post) {
@@ -61,12 +80,36 @@ public class Comment extends BaseTimeEntity {
         if (this.isDeleted()) {
             throw new IllegalStateException("삭제된 댓글에는 답글을 달 수 없습니다.");
         }
+        if (this.depth >= MAX_DEPTH) {
+            throw new IllegalStateException("답글은 최대 " + MAX_DEPTH + "단계까지 달 수 있습니다.");
+        }
         this.childComments.add(child);
         child.setParentComment(this);
     }
 
     public void setParentComment(Comment parent) {
         this.parentComment = parent;
+        this.depth = parent != null ? parent.getDepth() + 1 : 0;
+    }
+
+    // 저장 직전 깊이와 경로 계산 (시퀀스 전략이라 이 시점에 ID가 이미 할당되어 있음)
+    @PrePersist
+    void prePersistTree() {
+        String parentPath = "";
+        if (parentComment != null) {
+            parentPath = parentComment.getPath();
+            if (parentPath == null) {
+                throw new IllegalStateException("부모 댓글이 먼저 저장되어야 합니다.");
+            }
+        }
+        this.depth = parentComment != null ? parentComment.getDepth() + 1 : 0;
+        this.path = parentPath + pathSegment(id);
+    }
+
+    // 경로 세그먼트: 고정 길이로 맞춰 문자열 정렬이 ID 순서와 같도록 함
+    static String pathSegment(Long id) {
+        String encoded = Long.toString(id, 36);
+        return "0".repeat(PATH_SEGMENT_LENGTH - encoded.length()) + encoded;
     }
 
     // 댓글 내용 수정
@@ -27,8 +27,8 @@ public class Member extends BaseTimeEntity {
     @Column(unique = true, nullable = false, length = 100)
     private String email;                           // 이메일 (중복 불가)
     
-    @Column(nullable = false, length = 50)
-    private String password;                        // 비밀번호 (필수 값)
+    @Column(nullable = false, length = 60)
+    private String password;                        // 비밀번호 BCrypt 해시 (60자, 필수 값)
     
     @Column(nullable = false, length = 50)
     private String username;                        // 사용자 이름
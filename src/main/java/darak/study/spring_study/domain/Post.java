@@ -2,6 +2,8 @@ package darak.study.spring_study.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,12 +29,26 @@ import darak.study.spring_study.exception.UnauthorizedException;
 @Builder(toBuilder = true)
 // 객체 생성을 위한 빌더 패턴 구현
 // 많은 필드가 있을 때 가독성 있고 안전한 객체 생성 가능
+
+@Table(indexes = {
+        @Index(name = "idx_post_create_date_id", columnList = "createDate, id"),
+        @Index(name = "idx_post_status_update_date", columnList = "status, updateDate")
+})
+// 최신순 목록과 커서 기반 페이징이 (createDate, id) 순서를 그대로 따라가도록 복합 인덱스 지정
+// 보존 기간이 지난 삭제 게시글 정리는 (status, updateDate) 범위로 찾음
+
+@DynamicUpdate
+// 변경된 컬럼만 UPDATE 문에 포함
+// 조회수처럼 벌크 UPDATE로 따로 갱신되는 컬럼을 게시글 수정 시 오래된 값으로 덮어쓰지 않기 위함
 public class Post extends BaseTimeEntity {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
     private Long id;                                // 게시글 고유 식별자
     // @Id: 기본 키 지정
     // @GeneratedValue: 기본 키 자동 생성
-    // IDENTITY 전략: 데이터베이스의 AUTO_INCREMENT 기능 사용
+    // SEQUENCE 전략: 시퀀스 값을 50개씩 미리 할당받아(pooled) 메모리에서 ID를 발급
+    // IDENTITY와 달리 INSERT 전에 ID를 알 수 있어 JDBC 배치 INSERT가 가능
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "postCategoryID", nullable = false)
@@ -48,6 +64,7 @@ public class Post extends BaseTimeEntity {
     private Member member;                          // 작성자
     
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
     private List<Comment> comments = new ArrayList<>();  // 댓글 목록
     // @OneToMany: 일대다 관계 설정 (하나의 게시글이 여러 댓글을 가짐)
     // mappedBy: 양방향 관계에서 주인을 지정 (Comment 엔티티의 post 필드가 주인)
@@ -61,6 +78,7 @@ public class Post extends BaseTimeEntity {
     @Builder.Default
     @Column(nullable = false)
     private int likeCount = 0;                         // 좋아요 수
+    // PostLikeCounter 샤드 합계를 주기적으로 옮겨 담은 값 (실시간 값은 PostLikeService.getLikeCount)
     
     
     @Column(nullable = false, length = 5000)
@@ -69,7 +87,18 @@ public class Post extends BaseTimeEntity {
     
     @Builder.Default
     @Column(nullable = false)
-    private int viewCount = 0;
+    private int viewCount = 0;                         // 조회수
+    // ViewCountBuffer가 누적한 증분을 벌크 UPDATE로 반영 (버전 증가 없음)
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int commentCount = 0;                      // 활성 댓글 수 (답글 포함, 삭제 상태 댓글 제외)
+    // 댓글 추가/삭제 시 벌크 UPDATE로 증감하므로 목록에서 댓글을 읽지 않고 표시 가능 (버전 증가 없음)
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attachmentCount = 0;                   // 첨부파일 수
+    // 첨부파일 추가/삭제 시 벌크 UPDATE로 증감, 추가는 제한 미만일 때만 반영되어 동시에 올려도 제한을 넘지 않음
     
     @Version
     @Builder.Default
@@ -82,6 +111,7 @@ public class Post extends BaseTimeEntity {
     private PostStatus status = PostStatus.DRAFT;                      // 게시글 상태
     
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
     private List<Attachment> attachments = new ArrayList<>();
     
     // 게시글 수정
@@ -121,6 +151,14 @@ public class Post extends BaseTimeEntity {
         this.status = PostStatus.DELETED;
     }
     
+    // 게시글 상태 변경
+    public void changeStatus(PostStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("상태값은 필수입니다.");
+        }
+        this.status = status;
+    }
+
     // 게시글 삭제 여부 확인
     public boolean isDeleted() {
         return PostStatus.DELETED.equals(this.status);
@@ -0,0 +1,35 @@
+package darak.study.spring_study.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 카테고리/상태별 게시글 수 집계
+// 게시글 생성, 상태 변경, 삭제 시 같은 트랜잭션에서 증감하여
+// 목록 조회마다 COUNT(*)로 전체 테이블을 세지 않도록 함
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = "uk_post_count_category_status", columnNames = {"postCategoryId", "status"}))
+public class PostCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "postCategoryId", nullable = false)
+    private Long categoryId;                        // 카테고리 ID
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PostStatus status;                      // 게시글 상태
+
+    @Column(nullable = false)
+    private long count;                             // 게시글 수
+}
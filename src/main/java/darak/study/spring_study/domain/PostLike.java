@@ -0,0 +1,32 @@
+package darak.study.spring_study.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 회원별 게시글 좋아요
+// (게시글, 회원) 쌍에 유니크 제약을 걸어 한 회원이 같은 게시글에 좋아요를 여러 번 누를 수 없도록 보장
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = "uk_post_like_post_member", columnNames = {"postId", "memberId"}))
+public class PostLike extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "postId", nullable = false)
+    private Post post;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "memberId", nullable = false)
+    private Member member;
+}
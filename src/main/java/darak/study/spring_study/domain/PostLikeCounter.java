@@ -0,0 +1,37 @@
+package darak.study.spring_study.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 게시글 좋아요 수 샤드
+// 게시글마다 여러 개의 행(샤드)에 좋아요 수를 나누어 저장하고, 요청마다 임의의 샤드 하나만 갱신한다.
+// 같은 게시글에 대한 동시 좋아요가 한 행(Post.version)에 몰리지 않고 샤드 수만큼 분산됨
+// 실제 좋아요 수 = 해당 게시글의 모든 샤드 count 합
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = "uk_post_like_counter_post_shard", columnNames = {"postId", "shard"}))
+public class PostLikeCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_like_counter_seq")
+    @SequenceGenerator(name = "post_like_counter_seq", sequenceName = "post_like_counter_seq", allocationSize = 50)
+    private Long id;                                // 게시글마다 샤드를 한 번에 만들므로 시퀀스로 발급해 INSERT를 배치로 묶음
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "postId", nullable = false)
+    private Post post;
+
+    @Column(nullable = false)
+    private int shard;                              // 샤드 번호 (0 ~ 샤드 수 - 1)
+
+    @Column(nullable = false)
+    private long count;                             // 이 샤드에 누적된 좋아요 수 (음수일 수 있음, 합계만 의미가 있음)
+}
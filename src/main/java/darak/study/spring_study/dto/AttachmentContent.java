@@ -0,0 +1,8 @@
+package darak.study.spring_study.dto;
+
+import java.nio.file.Path;
+
+// 첨부파일 다운로드에 필요한 정보 (파일 위치, 크기, 형식, 캐시 검증용 ETag)
+// ETag는 내용 해시와 파일 정보로 만들므로 같은 ETag면 내용과 헤더가 같음
+public record AttachmentContent(Path path, long size, String fileType, String fileName, String etag) {
+}
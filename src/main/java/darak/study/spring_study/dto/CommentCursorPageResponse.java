@@ -0,0 +1,18 @@
+package darak.study.spring_study.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 커서 기반 댓글(루트 댓글 또는 답글) 목록 응답
+@Getter
+@AllArgsConstructor
+@Builder
+public class CommentCursorPageResponse {
+    private List<CommentResponse> comments;
+    private int pageSize;
+    private String nextCursor;                      // 다음 페이지가 없으면 null
+    private boolean hasNext;
+}
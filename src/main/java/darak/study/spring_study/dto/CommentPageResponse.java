@@ -0,0 +1,18 @@
+package darak.study.spring_study.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class CommentPageResponse {
+    private List<CommentResponse> comments;
+    private int currentPage;
+    private int pageSize;
+    private long totalCount;
+    private long totalPages;
+}
@@ -0,0 +1,76 @@
+package darak.study.spring_study.dto;
+
+import darak.study.spring_study.domain.Comment;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Builder(toBuilder = true)
+public class CommentResponse {
+    private Long id;
+    private Long postId;
+    private Long parentId;
+    private Long memberId;
+    private String content;
+    private LocalDateTime createDate;
+    private int depth;
+    private boolean deleted;
+
+    // 트리 조회 시 채워지는 답글 목록 (페이징 조회 시에는 미리보기 답글만)
+    @Builder.Default
+    private List<CommentResponse> children = List.of();
+
+    // 페이징 조회 시 채워지는 답글 정보
+    private long replyCount;                        // 직속 답글 수
+    private boolean hasMoreReplies;                 // children 이후에 더 불러올 답글이 있는지
+    private String repliesCursor;                   // 답글 더보기 커서 (null이면 처음부터 조회)
+
+    public static CommentResponse from(Comment comment) {
+        boolean deleted = comment.isDeleted();
+        return CommentResponse.builder()
+            .id(comment.getId())
+            .postId(comment.getPost() != null ? comment.getPost().getId() : null)
+            .parentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
+            .memberId(comment.getMember() != null ? comment.getMember().getId() : null)
+            .content(deleted ? null : comment.getContent())   // 삭제된 댓글은 답글 구조만 유지하고 내용은 숨김
+            .createDate(comment.getCreateDate())
+            .depth(comment.getDepth())
+            .deleted(deleted)
+            .build();
+    }
+
+    // 경로 순(부모가 먼저)으로 정렬된 댓글 목록을 트리로 조립하여 루트 댓글 목록 반환
+    // 조회 결과를 여러 호출이 공유하므로 뒤에서부터 자식 목록을 확정하며 불변 노드로 조립
+    public static List<CommentResponse> toTree(List<Comment> orderedComments) {
+        Set<Long> ids = new HashSet<>(orderedComments.size() * 2);
+        orderedComments.forEach(comment -> ids.add(comment.getId()));
+
+        Map<Long, List<CommentResponse>> childrenById = new HashMap<>();
+        List<CommentResponse> roots = new ArrayList<>();
+        for (int i = orderedComments.size() - 1; i >= 0; i--) {
+            CommentResponse node = from(orderedComments.get(i));
+            List<CommentResponse> children = childrenById.remove(node.getId());
+            if (children != null) {
+                Collections.reverse(children);
+                node = node.toBuilder().children(List.copyOf(children)).build();
+            }
+            Long parentId = node.getParentId();
+            if (parentId != null && ids.contains(parentId)) {
+                childrenById.computeIfAbsent(parentId, id -> new ArrayList<>()).add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        Collections.reverse(roots);
+        return List.copyOf(roots);
+    }
+}
@@ -0,0 +1,20 @@
+package darak.study.spring_study.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 커서 기반 게시글 목록 응답
+@Getter
+@AllArgsConstructor
+@Builder
+public class PostCursorPageResponse {
+    private List<PostSummary> posts;
+    private int pageSize;
+    private String nextCursor;                      // 다음 페이지가 없으면 null
+    private String prevCursor;                      // 이전 페이지가 없으면 null
+    private boolean hasNext;
+    private boolean hasPrev;
+}
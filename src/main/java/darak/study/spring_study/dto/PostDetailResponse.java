@@ -0,0 +1,152 @@
+package darak.study.spring_study.dto;
+
+import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.AttachmentVariant;
+import darak.study.spring_study.domain.AttachmentVariantType;
+import darak.study.spring_study.domain.Comment;
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// 게시글 상세 화면 응답 (게시글 + 작성자 + 댓글 + 첨부파일)
+// 캐시에 그대로 저장되어 여러 요청이 공유하므로 생성 후 변경할 수 없는 스냅샷으로 구성
+@Getter
+@Builder(toBuilder = true)
+public class PostDetailResponse {
+    private final Long id;
+    private final String name;
+    private final String content;
+    private final PostStatus status;
+    private final long viewCount;
+    private final int likeCount;
+    private final LocalDateTime createDate;
+    private final LocalDateTime updateDate;
+    private final Author author;
+    private final List<CommentItem> comments;          // 스레드 순서 (부모 -> 자식)
+    private final List<AttachmentItem> attachments;
+
+    public static PostDetailResponse from(Post post, List<Attachment> attachments) {
+        return from(post, attachments, Map.of());
+    }
+
+    // variantsByHash: 첨부파일 내용 해시별 축소본 (아직 만들어지지 않았으면 빈 목록)
+    public static PostDetailResponse from(Post post, List<Attachment> attachments,
+                                          Map<String, List<AttachmentVariant>> variantsByHash) {
+        return PostDetailResponse.builder()
+                .id(post.getId())
+                .name(post.getName())
+                .content(post.getContent())
+                .status(post.getStatus())
+                .viewCount(post.getViewCount())
+                .likeCount(post.getLikeCount())
+                .createDate(post.getCreateDate())
+                .updateDate(post.getUpdateDate())
+                .author(Author.from(post.getMember()))
+                .comments(post.getComments().stream()
+                        .sorted(Comparator.comparing(Comment::getPath, Comparator.nullsLast(Comparator.naturalOrder())))
+                        .map(CommentItem::from)
+                        .toList())
+                .attachments(attachments.stream()
+                        .map(attachment -> AttachmentItem.from(attachment, attachment.getContentHash() == null
+                                ? List.of()
+                                : variantsByHash.getOrDefault(attachment.getContentHash(), List.of())))
+                        .toList())
+                .build();
+    }
+
+    // 아직 DB에 반영되지 않은 조회수를 더한 사본
+    public PostDetailResponse withPendingViewCount(long pendingViewCount) {
+        if (pendingViewCount == 0) {
+            return this;
+        }
+        return toBuilder().viewCount(viewCount + pendingViewCount).build();
+    }
+
+    @Getter
+    @Builder
+    public static class Author {
+        private final Long id;
+        private final String username;
+
+        static Author from(Member member) {
+            return Author.builder()
+                    .id(member.getId())
+                    .username(member.getUsername())
+                    .build();
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class CommentItem {
+        private final Long id;
+        private final Long parentId;
+        private final int depth;
+        private final Author author;
+        private final String content;                  // 삭제된 댓글은 null
+        private final boolean deleted;
+        private final LocalDateTime createDate;
+
+        static CommentItem from(Comment comment) {
+            boolean deleted = comment.isDeleted();
+            return CommentItem.builder()
+                    .id(comment.getId())
+                    .parentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
+                    .depth(comment.getDepth())
+                    .author(Author.from(comment.getMember()))
+                    .content(deleted ? null : comment.getContent())
+                    .deleted(deleted)
+                    .createDate(comment.getCreateDate())
+                    .build();
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class AttachmentItem {
+        private final Long id;
+        private final String fileName;
+        private final String fileType;
+        private final long fileSize;
+        private final List<VariantItem> variants;       // 이미지 축소본 (없으면 원본 사용)
+
+        static AttachmentItem from(Attachment attachment, List<AttachmentVariant> variants) {
+            return AttachmentItem.builder()
+                    .id(attachment.getId())
+                    .fileName(attachment.getFileName())
+                    .fileType(attachment.getFileType())
+                    .fileSize(attachment.getFileSize())
+                    .variants(variants.stream()
+                            .map(VariantItem::from)
+                            .toList())
+                    .build();
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class VariantItem {
+        private final AttachmentVariantType type;
+        private final int width;
+        private final int height;
+        private final String fileType;
+        private final long fileSize;
+
+        static VariantItem from(AttachmentVariant variant) {
+            return VariantItem.builder()
+                    .type(variant.getType())
+                    .width(variant.getWidth())
+                    .height(variant.getHeight())
+                    .fileType(variant.getFileType())
+                    .fileSize(variant.getFileSize())
+                    .build();
+        }
+    }
+}
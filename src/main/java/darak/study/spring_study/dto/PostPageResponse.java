@@ -10,7 +10,7 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 public class PostPageResponse {
-    private List<PostResponse> posts;
+    private List<PostSummary> posts;
     private int currentPage;
     private int pageSize;
     private long totalElements;
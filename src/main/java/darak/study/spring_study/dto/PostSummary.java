@@ -0,0 +1,47 @@
+package darak.study.spring_study.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 게시글 목록/검색 화면용 요약
+// JPQL 생성자 표현식으로 필요한 컬럼만 읽으므로 엔티티(5000자 본문, 프록시, 변경 감지 스냅샷)를 만들지 않고
+// 작성자 이름도 같은 쿼리의 조인으로 가져와 지연 로딩이 일어나지 않음
+@Getter
+public class PostSummary {
+    public static final int EXCERPT_LENGTH = 200;   // 본문 미리보기 길이
+
+    private final Long id;
+    private final String name;
+    private final String excerpt;
+    private final String authorName;
+    private final long viewCount;
+    private final int likeCount;
+    private final int commentCount;                 // 게시글에 유지되는 집계 값 (댓글을 읽지 않음)
+    private final int attachmentCount;
+    private final LocalDateTime createDate;
+
+    // 쿼리 결과 매핑용 (SELECT new ...PostSummary(...) 의 인자 순서와 동일)
+    public PostSummary(Long id, String name, String excerpt, String authorName,
+                       long viewCount, int likeCount, int commentCount, int attachmentCount,
+                       LocalDateTime createDate) {
+        this.id = id;
+        this.name = name;
+        this.excerpt = excerpt;
+        this.authorName = authorName;
+        this.viewCount = viewCount;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+        this.attachmentCount = attachmentCount;
+        this.createDate = createDate;
+    }
+
+    // 아직 DB에 반영되지 않은 조회수를 더한 사본
+    public PostSummary withPendingViewCount(long pendingViewCount) {
+        if (pendingViewCount == 0) {
+            return this;
+        }
+        return new PostSummary(id, name, excerpt, authorName, viewCount + pendingViewCount, likeCount,
+                commentCount, attachmentCount, createDate);
+    }
+}
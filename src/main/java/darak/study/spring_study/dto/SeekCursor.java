@@ -0,0 +1,55 @@
+package darak.study.spring_study.dto;
+
+import darak.study.spring_study.exception.InvalidInputException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 키셋(seek) 페이징용 커서
+// (createDate, id) 위치와 이동 방향을 담아 클라이언트에는 불투명한 문자열로 전달
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SeekCursor {
+    private static final String NEXT = "n";
+    private static final String PREV = "p";
+    private static final String SEPARATOR = "|";
+
+    private final boolean next;                     // true: 다음 페이지, false: 이전 페이지 (게시글은 최신순, 댓글은 작성순)
+    private final LocalDateTime createDate;
+    private final Long id;
+
+    // 현재 페이지의 마지막 항목 뒤를 가리키는 커서
+    public static SeekCursor next(LocalDateTime createDate, Long id) {
+        return new SeekCursor(true, createDate, id);
+    }
+
+    // 현재 페이지의 첫 항목 앞을 가리키는 커서
+    public static SeekCursor prev(LocalDateTime createDate, Long id) {
+        return new SeekCursor(false, createDate, id);
+    }
+
+    public String encode() {
+        String raw = (next ? NEXT : PREV) + SEPARATOR + createDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SeekCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3 || !(NEXT.equals(parts[0]) || PREV.equals(parts[0]))) {
+                throw new InvalidInputException("유효하지 않은 커서입니다.");
+            }
+            return new SeekCursor(NEXT.equals(parts[0]),
+                    LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidInputException("유효하지 않은 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package darak.study.spring_study.exception;
+
+public class AttachmentNotFoundException extends BaseException {
+    public AttachmentNotFoundException(Long id) {
+        super("첨부파일을 찾을 수 없습니다. ID: " + id);
+    }
+}
@@ -0,0 +1,7 @@
+package darak.study.spring_study.exception;
+
+public class ReadTimeoutException extends BaseException {
+    public ReadTimeoutException(String name) {
+        super("조회 요청이 지연되고 있습니다. 잠시 후 다시 시도해주세요. (" + name + ")");
+    }
+}
@@ -0,0 +1,11 @@
+package darak.study.spring_study.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServerBusyException extends BaseException {
+    public ServerBusyException(String name) {
+        super("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요. (" + name + ")");
+    }
+}
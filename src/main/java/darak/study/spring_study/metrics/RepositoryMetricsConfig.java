@@ -0,0 +1,20 @@
+package darak.study.spring_study.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 저장소 메서드 지표 (board.repository-metrics.enabled=true 일 때만 등록)
+// 꺼져 있으면 프록시 자체를 만들지 않으므로 저장소 호출 비용이 그대로임
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "board.repository-metrics.enabled", havingValue = "true")
+public class RepositoryMetricsConfig {
+
+    // 빈 후처리기는 다른 빈보다 먼저 만들어지므로 static으로 등록
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryMetricsPostProcessor(meterRegistry);
+    }
+}
@@ -0,0 +1,132 @@
+package darak.study.spring_study.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 저장소 메서드 호출 계측
+// 지표: repository.calls{repository, method, exception} (호출 수/지연 시간 분포, 예외가 없으면 exception=none)
+//       repository.rows{repository, method} (조회 메서드가 반환한 행 수)
+// 메서드마다 미터를 한 번만 만들어 두고 이후 호출은 시간 측정과 기록만 함
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final Map<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    // 빈 후처리기는 먼저 만들어지므로 레지스트리는 첫 호출 때 가져옴
+    RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodMetrics methodMetrics = metrics.computeIfAbsent(invocation.getMethod(),
+                method -> new MethodMetrics(registry(), repositoryName(invocation), method));
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodMetrics.recordSuccess(System.nanoTime() - start, result);
+            return result;
+        } catch (Throwable e) {
+            methodMetrics.recordFailure(System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    private MeterRegistry registry() {
+        if (meterRegistry == null) {
+            meterRegistry = meterRegistryProvider.getObject();
+        }
+        return meterRegistry;
+    }
+
+    private static String repositoryName(MethodInvocation invocation) {
+        return invocation.getThis() == null
+                ? invocation.getMethod().getDeclaringClass().getSimpleName()
+                : AopUtils.getTargetClass(invocation.getThis()).getSimpleName();
+    }
+
+    private static final class MethodMetrics {
+        private final MeterRegistry registry;
+        private final String repository;
+        private final String method;
+        private final Timer success;
+        private final DistributionSummary rows;     // 행 수를 셀 수 없는 반환 타입(void, 숫자 등)이면 null
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        MethodMetrics(MeterRegistry registry, String repository, Method method) {
+            this.registry = registry;
+            this.repository = repository;
+            this.method = method.getName();
+            this.success = timer("none");
+            this.rows = returnsRows(method.getReturnType())
+                    ? DistributionSummary.builder("repository.rows")
+                        .description("저장소 조회 메서드가 반환한 행 수")
+                        .baseUnit("rows")
+                        .tag("repository", repository)
+                        .tag("method", this.method)
+                        .register(registry)
+                    : null;
+        }
+
+        void recordSuccess(long elapsedNanos, Object result) {
+            success.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (rows != null) {
+                rows.record(rowCount(result));
+            }
+        }
+
+        void recordFailure(long elapsedNanos, Throwable e) {
+            failures.computeIfAbsent(e.getClass(), type -> timer(type.getSimpleName()))
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private Timer timer(String exception) {
+            return Timer.builder("repository.calls")
+                    .description("저장소 메서드 호출 수와 지연 시간")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        // 컬렉션/Map/Optional/엔티티를 반환하는 메서드만 행 수를 기록 (count, 갱신 건수 등은 제외)
+        private static boolean returnsRows(Class<?> type) {
+            return !(type.isPrimitive()
+                    || Number.class.isAssignableFrom(type)
+                    || Boolean.class == type
+                    || CharSequence.class.isAssignableFrom(type));
+        }
+
+        private static long rowCount(Object result) {
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Map<?, ?> map) {
+                return map.size();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package darak.study.spring_study.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Repository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+// @Repository 빈에 호출 계측을 덧씌우는 후처리기
+// 이미 예외 변환 프록시가 있으면 그 바깥에 추가해 변환된 예외(DataAccessException 계열)로 기록
+public class RepositoryMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(new RepositoryMethodPointcut(), new RepositoryMetricsInterceptor(meterRegistry));
+        setBeforeExistingAdvisors(true);
+    }
+
+    // @Repository 클래스의 public 메서드 (Object 메서드 제외)
+    private static class RepositoryMethodPointcut extends StaticMethodMatcherPointcut {
+
+        RepositoryMethodPointcut() {
+            setClassFilter(type -> AnnotatedElementUtils.hasAnnotation(type, Repository.class));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package darak.study.spring_study.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// 작업 단위(요청/트랜잭션)별 SQL 실행 횟수 집계와 N+1 의심 경고
+// Hibernate가 SQL을 준비할 때마다 호출되며, 현재 스레드에 열린 범위에 SQL 모양별로 횟수를 누적
+// - open()으로 연 범위(웹 요청 필터, 테스트)가 있으면 그 범위에 기록
+// - 없으면 진행 중인 트랜잭션마다 범위를 만들어 트랜잭션이 끝날 때 닫음
+// 범위가 닫힐 때 같은 모양의 SQL이 repeatThreshold번을 넘게 실행됐으면 경고 로그를 남기고
+// sql.repeated.statements 카운터를 올림
+@Slf4j
+public class SqlStatementMonitor implements StatementInspector {
+    // IN 목록 길이가 달라도 같은 모양으로 보도록 (?, ?, ?) -> (?)
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+    private final int repeatThreshold;
+    private final Counter repeatedStatements;
+
+    public SqlStatementMonitor(MeterRegistry meterRegistry, int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+        this.repeatedStatements = Counter.builder("sql.repeated.statements")
+                .description("한 작업 단위에서 같은 SQL이 기준 횟수를 넘게 실행된 경우 (N+1 의심)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = currentScope();
+        if (scope != null) {
+            scope.record(shapeOf(sql));
+        }
+        return sql;
+    }
+
+    // 명시적으로 범위를 엶 (닫을 때 이전 범위로 돌아감)
+    public Scope open(String name) {
+        Scope scope = new Scope(this, name, current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    private Scope currentScope() {
+        Scope scope = current.get();
+        if (scope != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return scope;
+        }
+        // 트랜잭션 범위 (트랜잭션 리소스로 묶어 두고 완료 시 정리)
+        scope = (Scope) TransactionSynchronizationManager.getResource(this);
+        if (scope == null) {
+            Scope transactionScope = new Scope(this,
+                    String.valueOf(TransactionSynchronizationManager.getCurrentTransactionName()), null);
+            TransactionSynchronizationManager.bindResource(this, transactionScope);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SqlStatementMonitor.this);
+                    report(transactionScope);
+                }
+            });
+            scope = transactionScope;
+        }
+        return scope;
+    }
+
+    private void close(Scope scope) {
+        if (current.get() == scope) {
+            if (scope.parent == null) {
+                current.remove();
+            } else {
+                current.set(scope.parent);
+            }
+        }
+        report(scope);
+    }
+
+    private void report(Scope scope) {
+        scope.counts.forEach((shape, count) -> {
+            if (count > repeatThreshold) {
+                repeatedStatements.increment();
+                log.warn("N+1 의심: [{}]에서 같은 SQL이 {}번 실행됨: {}", scope.name, count, shape);
+            }
+        });
+    }
+
+    // 작업 단위 하나의 SQL 실행 기록 (한 스레드에서만 사용)
+    public static final class Scope implements AutoCloseable {
+        private final SqlStatementMonitor monitor;
+        private final String name;
+        private final Scope parent;
+        private final Map<String, Integer> counts = new LinkedHashMap<>();
+        private int total;
+
+        private Scope(SqlStatementMonitor monitor, String name, Scope parent) {
+            this.monitor = monitor;
+            this.name = name;
+            this.parent = parent;
+        }
+
+        private void record(String shape) {
+            counts.merge(shape, 1, Integer::sum);
+            total++;
+        }
+
+        // 실행된 SQL 수
+        public int statementCount() {
+            return total;
+        }
+
+        // SQL 모양별 실행 횟수 (처음 실행된 순서)
+        public Map<String, Integer> statementsByShape() {
+            return Collections.unmodifiableMap(counts);
+        }
+
+        @Override
+        public void close() {
+            monitor.close(this);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package darak.study.spring_study.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 작업 단위별 SQL 실행 횟수 집계 (board.sql-monitor.enabled=true 일 때만 등록)
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "board.sql-monitor.enabled", havingValue = "true")
+public class SqlStatementMonitorConfig {
+
+    @Bean
+    public SqlStatementMonitor sqlStatementMonitor(MeterRegistry meterRegistry,
+                                                   @Value("${board.sql-monitor.repeat-threshold:10}") int repeatThreshold) {
+        return new SqlStatementMonitor(meterRegistry, repeatThreshold);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementMonitorCustomizer(SqlStatementMonitor sqlStatementMonitor) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementMonitor);
+    }
+
+    // 웹 요청 하나를 작업 단위로 집계 (요청 안의 여러 트랜잭션을 합쳐서 봄)
+    @Bean
+    @ConditionalOnWebApplication
+    public OncePerRequestFilter sqlStatementMonitorFilter(SqlStatementMonitor sqlStatementMonitor) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                SqlStatementMonitor.Scope scope = sqlStatementMonitor.open(request.getMethod() + " " + request.getRequestURI());
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    scope.close();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.AttachmentBlob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AttachmentBlobRepository {
+    // 업로드된 내용 등록 (없으면 참조 0으로 만들고, 있으면 lastUsedAt만 갱신)
+    // 파일을 제자리에 옮기기 전에 호출해 정리 작업이 같은 내용을 지우지 않도록 함
+    void touch(String hash, long size);
+
+    // 참조 수 1 증가 (갱신된 행 수 반환, 등록되지 않은 내용이면 0)
+    int incrementRefCount(String hash);
+
+    // 참조 수 1 감소 (0이 되면 그 시각부터 정리 유예 시작)
+    int decrementRefCount(String hash);
+
+    // 정리 대상 (참조 0, cutoff 이전에 마지막으로 사용)
+    List<String> findCollectable(LocalDateTime cutoff, int limit);
+
+    // 행 잠금을 걸고 조회 (정리 중 같은 내용이 다시 업로드되지 않도록)
+    Optional<AttachmentBlob> findByIdForUpdate(String hash);
+
+    void delete(AttachmentBlob blob);
+}
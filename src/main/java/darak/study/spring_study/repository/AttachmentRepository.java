@@ -2,6 +2,7 @@ package darak.study.spring_study.repository;
 
 import darak.study.spring_study.domain.Attachment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +10,9 @@ public interface AttachmentRepository {
     // 첨부파일 저장
     Attachment save(Attachment attachment);
 
+    // 첨부파일 일괄 저장 (배치 INSERT, 일정 건수마다 영속성 컨텍스트를 비우므로 반환값은 준영속 상태)
+    List<Attachment> saveAll(Collection<Attachment> attachments);
+
     // 첨부파일 ID로 조회
     Optional<Attachment> findById(Long id);
 
@@ -20,4 +24,10 @@ public interface AttachmentRepository {
 
     // 특정 게시글에 속한 모든 첨부파일 조회
     List<Attachment> findByPostId(Long postId);
+
+    // 여러 게시글에 속한 첨부파일의 내용 해시 (첨부파일마다 하나씩, 내용이 없으면 제외)
+    List<String> findContentHashesByPostIds(Collection<Long> postIds);
+
+    // 여러 게시글에 속한 첨부파일을 엔티티를 읽지 않고 한 번에 삭제 (삭제된 행 수 반환)
+    int deleteByPostIds(Collection<Long> postIds);
 }
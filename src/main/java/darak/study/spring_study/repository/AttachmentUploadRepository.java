@@ -0,0 +1,27 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.AttachmentUpload;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AttachmentUploadRepository {
+    // 업로드 세션 저장
+    AttachmentUpload save(AttachmentUpload upload);
+
+    // 업로드 세션 ID로 조회
+    Optional<AttachmentUpload> findById(String id);
+
+    // 게시글에 진행 중인 업로드 세션 수
+    long countByPostId(Long postId);
+
+    // 받은 위치를 from -> to로 갱신 (다른 요청이 먼저 갱신했으면 0 반환)
+    int updateReceivedBytes(String id, long from, long to);
+
+    // updateDate가 cutoff 이전인 (더 이상 진행되지 않는) 세션 ID
+    List<String> findExpiredIds(LocalDateTime cutoff, int limit);
+
+    // 업로드 세션 삭제 (삭제된 행 수 반환)
+    int deleteById(String id);
+}
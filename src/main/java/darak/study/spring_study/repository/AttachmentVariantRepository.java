@@ -0,0 +1,20 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.AttachmentVariant;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AttachmentVariantRepository {
+    // 축소본 일괄 저장
+    List<AttachmentVariant> saveAll(Collection<AttachmentVariant> variants);
+
+    // 내용 해시로 축소본 조회
+    List<AttachmentVariant> findByContentHash(String contentHash);
+
+    // 여러 내용 해시의 축소본 조회 (게시글 상세의 첨부파일 목록용)
+    List<AttachmentVariant> findByContentHashIn(Collection<String> contentHashes);
+
+    // 내용 해시의 축소본 삭제 (삭제된 행 수 반환)
+    int deleteByContentHash(String contentHash);
+}
@@ -0,0 +1,38 @@
+package darak.study.spring_study.repository;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+// 대량 저장 공통 처리
+// CHUNK_SIZE개마다 flush로 INSERT를 JDBC 배치로 내보내고 clear로 영속성 컨텍스트를 비워
+// 저장 건수와 관계없이 메모리 사용량과 flush 시 dirty checking 비용을 일정하게 유지
+final class BulkWriter {
+    // hibernate.jdbc.batch_size, 시퀀스 allocationSize와 같은 값
+    static final int CHUNK_SIZE = 50;
+
+    private BulkWriter() {
+    }
+
+    // 저장 후 반환되는 엔티티는 준영속 상태 (호출 트랜잭션에서 이전에 조회한 엔티티도 함께 준영속이 됨)
+    static <T> List<T> saveAll(EntityManager em, Collection<T> entities, UnaryOperator<T> save) {
+        List<T> saved = new ArrayList<>(entities.size());
+        int pending = 0;
+        for (T entity : entities) {
+            saved.add(save.apply(entity));
+            if (++pending == CHUNK_SIZE) {
+                em.flush();
+                em.clear();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            em.flush();
+            em.clear();
+        }
+        return saved;
+    }
+}
@@ -2,7 +2,10 @@ package darak.study.spring_study.repository;
 
 import darak.study.spring_study.domain.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CommentRepository {
@@ -10,6 +13,9 @@ public interface CommentRepository {
     // 댓글 저장
     Comment save(Comment comment);
 
+    // 댓글 일괄 저장 (배치 INSERT, 부모 댓글이 자식보다 앞에 있어야 함, 반환값은 준영속 상태)
+    List<Comment> saveAll(Collection<Comment> comments);
+
     // 댓글 ID로 조회
     Optional<Comment> findById(Long id);
 
@@ -22,9 +28,46 @@ public interface CommentRepository {
     // 특정 게시글 ID에 속한 모든 댓글 조회
     List<Comment> findByPostId(Long postId);
 
-    // 특정 문자열을 포함한 댓글 조회
+    // 게시글의 전체 댓글 스레드를 경로(path) 순으로 조회 (부모가 항상 자식보다 먼저 나옴)
+    List<Comment> findThreadByPostId(Long postId);
+
+    // 게시글의 루트 댓글을 (createDate, id) 오름차순으로 주어진 위치 이후부터 limit개 조회 (위치가 null이면 처음부터)
+    List<Comment> findRootsByPostId(Long postId, LocalDateTime afterCreateDate, Long afterId, int limit);
+
+    // 부모 댓글의 답글을 (createDate, id) 오름차순으로 주어진 위치 이후부터 limit개 조회 (위치가 null이면 처음부터)
+    List<Comment> findRepliesByParentId(Long parentId, LocalDateTime afterCreateDate, Long afterId, int limit);
+
+    // 각 부모 댓글의 첫 답글을 부모당 최대 perParent개씩 조회
+    List<Comment> findFirstRepliesByParentIds(Collection<Long> parentIds, int perParent);
+
+    // 부모 댓글 ID별 답글 수 (답글이 없는 부모는 결과에 없음)
+    Map<Long, Long> countRepliesByParentIds(Collection<Long> parentIds);
+
+    // 여러 ID로 댓글 조회 (순서 보장 안 함)
+    List<Comment> findAllById(Collection<Long> ids);
+
+    // 특정 문자열을 포함한 댓글 조회 (삭제된 댓글 제외)
     List<Comment> findContentContaining(String keyword);
 
-    // 특정 부모 댓글에 속한 모든 대댓글 조회
+    // 주어진 ID 이후의 활성 댓글을 ID 순으로 조회 (검색 색인 구성용, 삭제된 게시글의 댓글 제외, postId가 있으면 해당 게시글만)
+    List<Comment> findActiveAfterId(Long postId, Long afterId, int limit);
+
+    // 댓글과 그 아래 모든 답글 중 활성 댓글의 ID (경로가 path로 시작하는 댓글, 삭제 시 함께 지워지는 댓글)
+    List<Long> findActiveSubtreeIds(Long postId, String path);
+
+    // 여러 게시글 중 아직 cutoff 이전 삭제 상태인 게시글의 댓글 ID를 경로 역순(답글이 부모보다 먼저)으로 limit개 조회
+    // 정리 도중 복구된 게시글의 댓글은 대상에서 빠짐
+    List<Long> findIdsByDeletedPostIds(Collection<Long> postIds, LocalDateTime cutoff, int limit);
+
+    // cutoff 이전에 삭제 상태가 됐고 답글이 없는 댓글 ID를 limit개 조회 (정리 대상)
+    List<Long> findDeletedLeafIdsBefore(LocalDateTime cutoff, int limit);
+
+    // 여러 댓글의 게시글 ID별 개수
+    Map<Long, Long> countByPostForIds(Collection<Long> ids);
+
+    // 여러 댓글을 엔티티를 읽지 않고 한 번에 삭제 (삭제된 행 수 반환)
+    // 목록 안의 부모-답글 참조는 먼저 끊으므로 답글이 부모보다 나중에 와도 됨, 목록 밖의 답글은 없어야 함
+    int deleteAllByIdInBulk(Collection<Long> ids);
+
     List<Comment> findByParentCommentId(Long parentId);
 }
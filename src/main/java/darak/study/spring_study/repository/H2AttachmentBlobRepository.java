@@ -0,0 +1,80 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.AttachmentBlob;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class H2AttachmentBlobRepository implements AttachmentBlobRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+
+//    업로드된 내용 등록
+    @Override
+    public void touch(String hash, long size) {
+        int updated = em.createQuery(
+                "update AttachmentBlob b set b.lastUsedAt = :now where b.hash = :hash")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("hash", hash)
+                .executeUpdate();
+        if (updated == 0) {
+            em.persist(AttachmentBlob.builder()
+                    .hash(hash)
+                    .size(size)
+                    .refCount(0)
+                    .lastUsedAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+//    참조 수 증가
+    @Override
+    public int incrementRefCount(String hash) {
+        return em.createQuery(
+                "update AttachmentBlob b set b.refCount = b.refCount + 1, b.lastUsedAt = :now where b.hash = :hash")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("hash", hash)
+                .executeUpdate();
+    }
+
+//    참조 수 감소
+    @Override
+    public int decrementRefCount(String hash) {
+        return em.createQuery(
+                "update AttachmentBlob b set b.refCount = b.refCount - 1, b.lastUsedAt = :now " +
+                "where b.hash = :hash and b.refCount > 0")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("hash", hash)
+                .executeUpdate();
+    }
+
+//    정리 대상 조회
+    @Override
+    public List<String> findCollectable(LocalDateTime cutoff, int limit) {
+        return em.createQuery(
+                "select b.hash from AttachmentBlob b where b.refCount = 0 and b.lastUsedAt < :cutoff", String.class)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+//    잠금을 걸고 조회
+    @Override
+    public Optional<AttachmentBlob> findByIdForUpdate(String hash) {
+        return Optional.ofNullable(em.find(AttachmentBlob.class, hash, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+//    삭제
+    @Override
+    public void delete(AttachmentBlob blob) {
+        em.remove(blob);
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +30,12 @@ public class H2AttachmentRepository implements AttachmentRepository{
 
     }
 
+//    첨부파일 일괄 저장
+    @Override
+    public List<Attachment> saveAll(Collection<Attachment> attachments) {
+        return BulkWriter.saveAll(em, attachments, this::save);
+    }
+
 //    id로 첨부파일 조회
     @Override
     public Optional<Attachment> findById(Long id) {
@@ -62,4 +69,21 @@ public class H2AttachmentRepository implements AttachmentRepository{
                 .setParameter("postId", postId)
                 .getResultList();
     }
+
+//    게시글들의 첨부파일 내용 해시 조회
+    @Override
+    public List<String> findContentHashesByPostIds(Collection<Long> postIds) {
+        return em.createQuery(
+                "select a.contentHash from Attachment a where a.post.id in :postIds and a.contentHash is not null", String.class)
+                .setParameter("postIds", postIds)
+                .getResultList();
+    }
+
+//    게시글들의 첨부파일 벌크 삭제
+    @Override
+    public int deleteByPostIds(Collection<Long> postIds) {
+        return em.createQuery("delete from Attachment a where a.post.id in :postIds")
+                .setParameter("postIds", postIds)
+                .executeUpdate();
+    }
 }
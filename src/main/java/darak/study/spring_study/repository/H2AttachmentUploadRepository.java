@@ -0,0 +1,69 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.AttachmentUpload;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class H2AttachmentUploadRepository implements AttachmentUploadRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+
+//    업로드 세션 저장
+    @Override
+    public AttachmentUpload save(AttachmentUpload upload) {
+        em.persist(upload);
+        return upload;
+    }
+
+//    id로 업로드 세션 조회
+    @Override
+    public Optional<AttachmentUpload> findById(String id) {
+        return Optional.ofNullable(em.find(AttachmentUpload.class, id));
+    }
+
+//    게시글의 진행 중인 업로드 수
+    @Override
+    public long countByPostId(Long postId) {
+        return em.createQuery("select count(u) from AttachmentUpload u where u.postId = :postId", Long.class)
+                .setParameter("postId", postId)
+                .getSingleResult();
+    }
+
+//    받은 위치 갱신 (조건부)
+    @Override
+    public int updateReceivedBytes(String id, long from, long to) {
+        return em.createQuery(
+                "update AttachmentUpload u set u.receivedBytes = :to, u.updateDate = :now " +
+                "where u.id = :id and u.receivedBytes = :from")
+                .setParameter("to", to)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("id", id)
+                .setParameter("from", from)
+                .executeUpdate();
+    }
+
+//    만료된 업로드 세션 조회
+    @Override
+    public List<String> findExpiredIds(LocalDateTime cutoff, int limit) {
+        return em.createQuery("select u.id from AttachmentUpload u where u.updateDate < :cutoff", String.class)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+//    업로드 세션 삭제
+    @Override
+    public int deleteById(String id) {
+        return em.createQuery("delete from AttachmentUpload u where u.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+}
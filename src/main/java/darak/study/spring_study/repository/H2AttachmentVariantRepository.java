@@ -0,0 +1,51 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.AttachmentVariant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class H2AttachmentVariantRepository implements AttachmentVariantRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+
+//    축소본 일괄 저장
+    @Override
+    public List<AttachmentVariant> saveAll(Collection<AttachmentVariant> variants) {
+        variants.forEach(em::persist);
+        return List.copyOf(variants);
+    }
+
+//    내용 해시로 축소본 조회
+    @Override
+    public List<AttachmentVariant> findByContentHash(String contentHash) {
+        return em.createQuery("select v from AttachmentVariant v where v.contentHash = :contentHash", AttachmentVariant.class)
+                .setParameter("contentHash", contentHash)
+                .getResultList();
+    }
+
+//    여러 내용 해시의 축소본 조회
+    @Override
+    public List<AttachmentVariant> findByContentHashIn(Collection<String> contentHashes) {
+        if (contentHashes.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery("select v from AttachmentVariant v where v.contentHash in :contentHashes", AttachmentVariant.class)
+                .setParameter("contentHashes", contentHashes)
+                .getResultList();
+    }
+
+//    내용 해시의 축소본 삭제
+    @Override
+    public int deleteByContentHash(String contentHash) {
+        return em.createQuery("delete from AttachmentVariant v where v.contentHash = :contentHash")
+                .setParameter("contentHash", contentHash)
+                .executeUpdate();
+    }
+}
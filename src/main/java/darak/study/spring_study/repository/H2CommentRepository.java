@@ -2,11 +2,16 @@ package darak.study.spring_study.repository;
 
 import darak.study.spring_study.domain.Comment;
 import darak.study.spring_study.domain.CommentStatus;
+import darak.study.spring_study.domain.PostStatus;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -28,6 +33,12 @@ public class H2CommentRepository implements CommentRepository{
         }
     }
 
+//    댓글 일괄 저장
+    @Override
+    public List<Comment> saveAll(Collection<Comment> comments) {
+        return BulkWriter.saveAll(em, comments, this::save);
+    }
+
 //    댓글 id로 조회
     @Override
     public Optional<Comment> findById(Long id) {
@@ -70,11 +81,139 @@ public class H2CommentRepository implements CommentRepository{
             .getResultList();
     }
 
+//    여러 id로 댓글 조회
+    @Override
+    public List<Comment> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery("select c from Comment c where c.id in :ids", Comment.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
 //    특정 문자열을 포함한 댓글 조회
     @Override
     public List<Comment> findContentContaining(String keyword) {
-        return em.createQuery("select c from Comment c where lower(c.content) Like lower(:keyword)", Comment.class)
+        return em.createQuery("select c from Comment c where lower(c.content) Like lower(:keyword) and c.status <> :status", Comment.class)
                 .setParameter("keyword","%"+keyword+"%")
+                .setParameter("status", CommentStatus.DELETED)
+                .getResultList();
+    }
+
+//    게시글의 댓글 스레드를 한 번의 쿼리로 조회 (작성자 함께 로딩)
+    @Override
+    public List<Comment> findThreadByPostId(Long postId) {
+        return em.createQuery(
+                "select c from Comment c join fetch c.member where c.post.id = :postId order by c.path", Comment.class)
+                .setParameter("postId", postId)
+                .getResultList();
+    }
+
+//    루트 댓글 키셋 페이징 (postId, parentId, createDate, id 인덱스 사용)
+    @Override
+    public List<Comment> findRootsByPostId(Long postId, LocalDateTime afterCreateDate, Long afterId, int limit) {
+        if (afterCreateDate == null) {
+            return em.createQuery(
+                    "select c from Comment c join fetch c.member " +
+                    "where c.post.id = :postId and c.parentComment is null " +
+                    "order by c.createDate, c.id", Comment.class)
+                    .setParameter("postId", postId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return em.createQuery(
+                "select c from Comment c join fetch c.member " +
+                "where c.post.id = :postId and c.parentComment is null " +
+                "and (c.createDate > :createDate or (c.createDate = :createDate and c.id > :id)) " +
+                "order by c.createDate, c.id", Comment.class)
+                .setParameter("postId", postId)
+                .setParameter("createDate", afterCreateDate)
+                .setParameter("id", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+//    답글 키셋 페이징 (parentId, createDate, id 인덱스 사용)
+    @Override
+    public List<Comment> findRepliesByParentId(Long parentId, LocalDateTime afterCreateDate, Long afterId, int limit) {
+        if (afterCreateDate == null) {
+            return em.createQuery(
+                    "select c from Comment c join fetch c.member " +
+                    "where c.parentComment.id = :parentId " +
+                    "order by c.createDate, c.id", Comment.class)
+                    .setParameter("parentId", parentId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return em.createQuery(
+                "select c from Comment c join fetch c.member " +
+                "where c.parentComment.id = :parentId " +
+                "and (c.createDate > :createDate or (c.createDate = :createDate and c.id > :id)) " +
+                "order by c.createDate, c.id", Comment.class)
+                .setParameter("parentId", parentId)
+                .setParameter("createDate", afterCreateDate)
+                .setParameter("id", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+//    부모별 첫 답글 N개를 한 번의 쿼리로 조회 (부모마다 순번을 매겨 N번째까지만 로딩)
+    @Override
+    public List<Comment> findFirstRepliesByParentIds(Collection<Long> parentIds, int perParent) {
+        return em.createQuery(
+                "select c from Comment c join fetch c.member where c.id in (" +
+                "select r.id from (" +
+                "select c2.id as id, row_number() over (partition by c2.parentComment.id order by c2.createDate, c2.id) as rn " +
+                "from Comment c2 where c2.parentComment.id in :parentIds) r " +
+                "where r.rn <= :perParent) " +
+                "order by c.createDate, c.id", Comment.class)
+                .setParameter("parentIds", parentIds)
+                .setParameter("perParent", perParent)
+                .getResultList();
+    }
+
+//    부모별 답글 수 집계
+    @Override
+    public Map<Long, Long> countRepliesByParentIds(Collection<Long> parentIds) {
+        List<Object[]> rows = em.createQuery(
+                "select c.parentComment.id, count(c) from Comment c " +
+                "where c.parentComment.id in :parentIds group by c.parentComment.id", Object[].class)
+                .setParameter("parentIds", parentIds)
+                .getResultList();
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+//    하위 트리 활성 댓글 ID (postId, path 인덱스의 접두사 범위 조회)
+    @Override
+    public List<Long> findActiveSubtreeIds(Long postId, String path) {
+        return em.createQuery(
+                "select c.id from Comment c where c.post.id = :postId and c.path like :prefix and c.status = :status",
+                Long.class)
+                .setParameter("postId", postId)
+                .setParameter("prefix", path + "%")
+                .setParameter("status", CommentStatus.ACTIVE)
+                .getResultList();
+    }
+
+//    id 순으로 활성 댓글 조회
+    @Override
+    public List<Comment> findActiveAfterId(Long postId, Long afterId, int limit) {
+        return em.createQuery(
+                "select c from Comment c " +
+                "where c.id > :afterId and c.status = :status " +
+                "and c.post.status <> :deleted " +
+                "and (:postId is null or c.post.id = :postId) " +
+                "order by c.id", Comment.class)
+                .setParameter("afterId", afterId)
+                .setParameter("status", CommentStatus.ACTIVE)
+                .setParameter("deleted", PostStatus.DELETED)
+                .setParameter("postId", postId)
+                .setMaxResults(limit)
                 .getResultList();
     }
 
@@ -85,4 +224,58 @@ public class H2CommentRepository implements CommentRepository{
                 .setParameter("parentId", parentId)
                 .getResultList();
     }
+
+//    게시글 정리용 댓글 ID 조회 (경로 역순이라 앞 묶음부터 지워도 남은 답글이 부모를 가리키지 않음)
+    @Override
+    public List<Long> findIdsByDeletedPostIds(Collection<Long> postIds, LocalDateTime cutoff, int limit) {
+        return em.createQuery(
+                "select c.id from Comment c " +
+                "where c.post.id in :postIds and c.post.status = :deleted and c.post.updateDate < :cutoff " +
+                "order by c.post.id, c.path desc", Long.class)
+                .setParameter("postIds", postIds)
+                .setParameter("deleted", PostStatus.DELETED)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+//    정리 대상 삭제 댓글 조회 (답글이 남아 있는 댓글은 스레드 자리 표시용으로 유지)
+//    삭제 상태로 바뀐 뒤에는 수정되지 않으므로 updateDate가 삭제 시각
+    @Override
+    public List<Long> findDeletedLeafIdsBefore(LocalDateTime cutoff, int limit) {
+        return em.createQuery(
+                "select c.id from Comment c " +
+                "where c.status = :status and c.updateDate < :cutoff " +
+                "and not exists (select r.id from Comment r where r.parentComment = c) " +
+                "order by c.id", Long.class)
+                .setParameter("status", CommentStatus.DELETED)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+//    게시글 ID별 댓글 수
+    @Override
+    public Map<Long, Long> countByPostForIds(Collection<Long> ids) {
+        List<Object[]> rows = em.createQuery(
+                "select c.post.id, count(c) from Comment c where c.id in :ids group by c.post.id", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList();
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+//    벌크 삭제 (자기 참조 외래 키 때문에 부모 참조를 먼저 끊음)
+    @Override
+    public int deleteAllByIdInBulk(Collection<Long> ids) {
+        em.createQuery("update Comment c set c.parentComment = null where c.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        return em.createQuery("delete from Comment c where c.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
 }
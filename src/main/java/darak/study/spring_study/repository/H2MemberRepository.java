@@ -61,6 +61,11 @@ private EntityManager em;
                 .getResultList();
         return results.stream().findFirst();
     }
-}
-
 
+//    전체 회원 이메일 조회 (이메일 필터 구성용)
+    @Override
+    public List<String> findAllEmails() {
+        return em.createQuery("SELECT m.email FROM Member m", String.class)
+                .getResultList();
+    }
+}
@@ -0,0 +1,91 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.PostCount;
+import darak.study.spring_study.domain.PostStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class H2PostCountRepository implements PostCountRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+
+//    집계 행 저장
+    @Override
+    public PostCount save(PostCount postCount) {
+        em.persist(postCount);
+        return postCount;
+    }
+
+//    집계 행에 증분 반영
+    @Override
+    public int addToCount(Long categoryId, PostStatus status, long delta) {
+        return em.createQuery(
+                "update PostCount c set c.count = c.count + :delta " +
+                "where c.categoryId = :categoryId and c.status = :status")
+                .setParameter("delta", delta)
+                .setParameter("categoryId", categoryId)
+                .setParameter("status", status)
+                .executeUpdate();
+    }
+
+//    저장된 집계 전체 조회
+    @Override
+    public List<PostCount> findAll() {
+        return em.createQuery("select c from PostCount c", PostCount.class)
+                .getResultList();
+    }
+
+//    특정 상태를 제외한 게시글 수
+    @Override
+    public long sumExcludingStatus(PostStatus status) {
+        return nullToZero(em.createQuery(
+                "select sum(c.count) from PostCount c where c.status <> :status", Long.class)
+                .setParameter("status", status)
+                .getSingleResult());
+    }
+
+//    상태별 게시글 수
+    @Override
+    public long sumByStatus(PostStatus status) {
+        return nullToZero(em.createQuery(
+                "select sum(c.count) from PostCount c where c.status = :status", Long.class)
+                .setParameter("status", status)
+                .getSingleResult());
+    }
+
+//    카테고리별 게시글 수
+    @Override
+    public long sumByCategoryExcludingStatus(Long categoryId, PostStatus status) {
+        return nullToZero(em.createQuery(
+                "select sum(c.count) from PostCount c " +
+                "where c.categoryId = :categoryId and c.status <> :status", Long.class)
+                .setParameter("categoryId", categoryId)
+                .setParameter("status", status)
+                .getSingleResult());
+    }
+
+//    게시글 테이블 기준 실제 게시글 수
+    @Override
+    public List<PostCount> countActual() {
+        return em.createQuery(
+                "select p.postCategory.id, p.status, count(p) from Post p " +
+                "group by p.postCategory.id, p.status", Object[].class)
+                .getResultStream()
+                .map(row -> PostCount.builder()
+                        .categoryId((Long) row[0])
+                        .status((PostStatus) row[1])
+                        .count((Long) row[2])
+                        .build())
+                .toList();
+    }
+
+    private long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,120 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostLike;
+import darak.study.spring_study.domain.PostLikeCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public class H2PostLikeRepository implements PostLikeRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+
+//    좋아요 저장
+    @Override
+    public PostLike save(PostLike postLike) {
+        em.persist(postLike);
+        return postLike;
+    }
+
+//    좋아요 여부 확인
+    @Override
+    public boolean existsByPostIdAndMemberId(Long postId, Long memberId) {
+        return !em.createQuery(
+                "select l.id from PostLike l " +
+                "where l.post.id = :postId and l.member.id = :memberId", Long.class)
+                .setParameter("postId", postId)
+                .setParameter("memberId", memberId)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+//    좋아요 취소
+    @Override
+    public int deleteByPostIdAndMemberId(Long postId, Long memberId) {
+        return em.createQuery(
+                "delete from PostLike l " +
+                "where l.post.id = :postId and l.member.id = :memberId")
+                .setParameter("postId", postId)
+                .setParameter("memberId", memberId)
+                .executeUpdate();
+    }
+
+//    게시글의 좋아요와 샤드 삭제
+    @Override
+    public void deleteAllByPostId(Long postId) {
+        em.createQuery("delete from PostLike l where l.post.id = :postId")
+                .setParameter("postId", postId)
+                .executeUpdate();
+        em.createQuery("delete from PostLikeCounter s where s.post.id = :postId")
+                .setParameter("postId", postId)
+                .executeUpdate();
+    }
+
+//    여러 게시글의 좋아요와 샤드 삭제
+    @Override
+    public void deleteAllByPostIds(Collection<Long> postIds) {
+        em.createQuery("delete from PostLike l where l.post.id in :postIds")
+                .setParameter("postIds", postIds)
+                .executeUpdate();
+        em.createQuery("delete from PostLikeCounter s where s.post.id in :postIds")
+                .setParameter("postIds", postIds)
+                .executeUpdate();
+    }
+
+//    좋아요 수 샤드 생성 (모두 0으로 시작, 커밋 시 한 번의 배치 INSERT로 나감)
+    @Override
+    public void createCounterShards(Long postId, int shardCount) {
+        Post post = em.getReference(Post.class, postId);
+        for (int shard = 0; shard < shardCount; shard++) {
+            em.persist(PostLikeCounter.builder()
+                    .post(post)
+                    .shard(shard)
+                    .count(0L)
+                    .build());
+        }
+    }
+
+//    샤드 하나에 증분 반영
+    @Override
+    public int addToCounterShard(Long postId, int shard, long delta) {
+        return em.createQuery(
+                "update PostLikeCounter s " +
+                "set s.count = s.count + :delta " +
+                "where s.post.id = :postId and s.shard = :shard")
+                .setParameter("delta", delta)
+                .setParameter("postId", postId)
+                .setParameter("shard", shard)
+                .executeUpdate();
+    }
+
+//    샤드 합계 조회
+    @Override
+    public long sumCounterShards(Long postId) {
+        Long sum = em.createQuery(
+                "select sum(s.count) from PostLikeCounter s where s.post.id = :postId", Long.class)
+                .setParameter("postId", postId)
+                .getSingleResult();
+        return sum != null ? sum : 0L;
+    }
+
+//    샤드 합계를 게시글의 likeCount 컬럼에 기록
+    @Override
+    public void refreshLikeCounts(Collection<Long> postIds) {
+        em.createQuery(
+                "update Post p " +
+                "set p.likeCount = (" +
+                "  select cast(coalesce(sum(s.count), 0) as Integer) " +
+                "  from PostLikeCounter s where s.post.id = p.id) " +
+                "where p.id in :postIds")
+                .setParameter("postIds", postIds)
+                .executeUpdate();
+    }
+}
@@ -2,17 +2,29 @@ package darak.study.spring_study.repository;
 
 import darak.study.spring_study.domain.Post;
 import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.dto.PostSummary;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
 public class H2PostRepository implements PostRepository{
 
+    // 목록/검색용 요약 조회 (본문은 앞부분만 잘라서 읽고, 작성자 이름은 조인으로 함께 조회)
+    private static final String SUMMARY_SELECT =
+        "SELECT new darak.study.spring_study.dto.PostSummary(" +
+        "p.id, p.name, substring(p.content, 1, " + PostSummary.EXCERPT_LENGTH + "), m.username, " +
+        "cast(p.viewCount as long), p.likeCount, p.commentCount, p.attachmentCount, p.createDate) " +
+        "FROM Post p JOIN p.member m ";
+
     @PersistenceContext
     private EntityManager em;
 
@@ -31,6 +43,12 @@ public class H2PostRepository implements PostRepository{
         }
     }
 
+//    게시글 일괄 저장
+    @Override
+    public List<Post> saveAll(Collection<Post> posts) {
+        return BulkWriter.saveAll(em, posts, this::save);
+    }
+
 //    id로 게시글 조회
     @Override
     public Optional<Post> findById(Long id) {
@@ -57,26 +75,38 @@ public class H2PostRepository implements PostRepository{
 
     }
 
+//    여러 id로 게시글 요약 조회
+    @Override
+    public List<PostSummary> findSummariesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery(SUMMARY_SELECT + "WHERE p.id in :ids AND p.status <> :status", PostSummary.class)
+                .setParameter("ids", ids)
+                .setParameter("status", PostStatus.DELETED)
+                .getResultList();
+    }
+
 //    작성자 id로 게시글 조회
     @Override
-    public List<Post> findByAuthorId(Long authorId) {
-        return em.createQuery("select p from Post p where p.member.id = :authorId", Post.class)
+    public List<PostSummary> findByAuthorId(Long authorId) {
+        return em.createQuery(SUMMARY_SELECT + "WHERE m.id = :authorId", PostSummary.class)
                 .setParameter("authorId", authorId)
                 .getResultList();
     }
 
 //    제목에 키워드가 들어간 게시글 조회
     @Override
-    public List<Post> findByNameContaining(String keyword) {
-        return em.createQuery("select p from Post p where lower(p.name) Like lower(:keyword)", Post.class)
+    public List<PostSummary> findByNameContaining(String keyword) {
+        return em.createQuery(SUMMARY_SELECT + "WHERE lower(p.name) Like lower(:keyword)", PostSummary.class)
                 .setParameter("keyword", "%"+keyword+"%")
                 .getResultList();
     }
 
 //    제목이나 내용에 키워드가 들어간 게시글 조회
     @Override
-    public List<Post> findByNameOrContentContaining(String keyword) {
-        return em.createQuery("select p from Post p where lower(p.name) Like lower(:keyword) or lower(p.content) Like lower(:keyword)", Post.class)
+    public List<PostSummary> findByNameOrContentContaining(String keyword) {
+        return em.createQuery(SUMMARY_SELECT + "WHERE lower(p.name) Like lower(:keyword) or lower(p.content) Like lower(:keyword)", PostSummary.class)
                 .setParameter("keyword", "%"+keyword+"%")
                 .getResultList();
     }
@@ -102,12 +132,75 @@ public class H2PostRepository implements PostRepository{
         return em.createQuery(
             "SELECT p FROM Post p " +
             "WHERE p.status <> :status " +
-            "ORDER BY p.createDate DESC", Post.class)
+            "ORDER BY p.createDate DESC, p.id DESC", Post.class)
             .setParameter("status", PostStatus.DELETED)
             .setFirstResult(offset)
             .setMaxResults(limit)
             .getResultList();
     }
+
+    // 커서 기반 페이징 (다음 페이지)
+    // 앞 페이지의 행을 건너뛰지 않고 (createDate, id) 인덱스에서 바로 위치를 찾아 읽으므로
+    // 페이지가 깊어져도 조회 비용이 일정함
+    @Override
+    public List<Post> findOlderThan(LocalDateTime createDate, Long id, int limit) {
+        return em.createQuery(
+            "SELECT p FROM Post p " +
+            "WHERE p.status <> :status " +
+            "AND (p.createDate < :createDate " +
+            "OR (p.createDate = :createDate AND p.id < :id)) " +
+            "ORDER BY p.createDate DESC, p.id DESC", Post.class)
+            .setParameter("status", PostStatus.DELETED)
+            .setParameter("createDate", createDate)
+            .setParameter("id", id)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    // 목록 화면용 요약 조회
+    @Override
+    public List<PostSummary> findSummaries(int offset, int limit) {
+        return em.createQuery(
+            SUMMARY_SELECT +
+            "WHERE p.status <> :status " +
+            "ORDER BY p.createDate DESC, p.id DESC", PostSummary.class)
+            .setParameter("status", PostStatus.DELETED)
+            .setFirstResult(offset)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    // 커서 기반 페이징 (다음 페이지, 요약)
+    @Override
+    public List<PostSummary> findSummariesOlderThan(LocalDateTime createDate, Long id, int limit) {
+        return em.createQuery(
+            SUMMARY_SELECT +
+            "WHERE p.status <> :status " +
+            "AND (p.createDate < :createDate " +
+            "OR (p.createDate = :createDate AND p.id < :id)) " +
+            "ORDER BY p.createDate DESC, p.id DESC", PostSummary.class)
+            .setParameter("status", PostStatus.DELETED)
+            .setParameter("createDate", createDate)
+            .setParameter("id", id)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    // 커서 기반 페이징 (이전 페이지, 요약)
+    @Override
+    public List<PostSummary> findSummariesNewerThan(LocalDateTime createDate, Long id, int limit) {
+        return em.createQuery(
+            SUMMARY_SELECT +
+            "WHERE p.status <> :status " +
+            "AND (p.createDate > :createDate " +
+            "OR (p.createDate = :createDate AND p.id > :id)) " +
+            "ORDER BY p.createDate ASC, p.id ASC", PostSummary.class)
+            .setParameter("status", PostStatus.DELETED)
+            .setParameter("createDate", createDate)
+            .setParameter("id", id)
+            .setMaxResults(limit)
+            .getResultList();
+    }
     
     // 게시글 수 조회
     @Override
@@ -116,57 +209,133 @@ public class H2PostRepository implements PostRepository{
             .getSingleResult();
     }
 
+    // 조회수 증분 반영
+    // 단일 UPDATE로 원자적으로 더하므로 버전 확인이 필요 없고, @Version 컬럼도 올리지 않아
+    // 게시글 수정(낙관적 락)과 충돌하지 않음
     @Override
-    public void incrementViewCount(Long postId) {
-        try {
-            int updatedCount = em.createQuery(
-                "UPDATE Post p " +
-                "SET p.viewCount = p.viewCount + 1, " +
-                "p.version = p.version + 1 " +
-                "WHERE p.id = :id " +
-                "AND p.version = :version " +
-                "AND p.status <> :status")
-                .setParameter("id", postId)
-                .setParameter("version", getVersion(postId))
-                .setParameter("status", PostStatus.DELETED)
-                .executeUpdate();
-                
-            if (updatedCount == 0) {
-                throw new OptimisticLockException("동시성 문제가 발생했습니다");
-            }
-        } catch (Exception e) {
-            throw new OptimisticLockException("조회수 증가 중 오류가 발생했습니다", e);
+    public void incrementViewCount(Long postId, long delta) {
+        em.createQuery(
+            "UPDATE Post p " +
+            "SET p.viewCount = p.viewCount + :delta " +
+            "WHERE p.id = :id " +
+            "AND p.status <> :status")
+            .setParameter("delta", Math.toIntExact(delta))
+            .setParameter("id", postId)
+            .setParameter("status", PostStatus.DELETED)
+            .executeUpdate();
+    }
+
+    // 댓글 수 증감 (엔티티를 읽지 않고 현재 값에 더함)
+    @Override
+    public void incrementCommentCount(Long postId, int delta) {
+        em.createQuery(
+            "UPDATE Post p " +
+            "SET p.commentCount = p.commentCount + :delta " +
+            "WHERE p.id = :id")
+            .setParameter("delta", delta)
+            .setParameter("id", postId)
+            .executeUpdate();
+    }
+
+    // 잠금을 걸고 조회
+    @Override
+    public Optional<Post> findByIdForUpdate(Long id) {
+        return Optional.ofNullable(em.find(Post.class, id, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    // 첨부파일 수 조건부 증가 (조건 확인과 증가가 한 문장이라 동시에 추가해도 limit를 넘지 않음)
+    @Override
+    public int incrementAttachmentCountIfBelow(Long postId, int limit) {
+        return em.createQuery(
+            "UPDATE Post p " +
+            "SET p.attachmentCount = p.attachmentCount + 1 " +
+            "WHERE p.id = :id " +
+            "AND p.attachmentCount < :limit")
+            .setParameter("id", postId)
+            .setParameter("limit", limit)
+            .executeUpdate();
+    }
+
+    // 첨부파일 수 감소
+    @Override
+    public void decrementAttachmentCount(Long postId) {
+        em.createQuery(
+            "UPDATE Post p " +
+            "SET p.attachmentCount = p.attachmentCount - 1 " +
+            "WHERE p.id = :id " +
+            "AND p.attachmentCount > 0")
+            .setParameter("id", postId)
+            .executeUpdate();
+    }
+
+    // 첨부파일 수 조회 (컬럼 하나만 읽음)
+    @Override
+    public int findAttachmentCount(Long postId) {
+        return em.createQuery("SELECT p.attachmentCount FROM Post p WHERE p.id = :id", Integer.class)
+            .setParameter("id", postId)
+            .getResultStream()
+            .findFirst()
+            .orElse(0);
+    }
+
+    // 정리 대상 게시글 ID 조회 (status, updateDate 인덱스 사용)
+    // 삭제 상태로 바뀐 뒤에는 엔티티가 수정되지 않으므로 updateDate가 삭제 시각
+    // (조회수/좋아요 수/댓글 수는 벌크 UPDATE라 updateDate를 바꾸지 않음)
+    @Override
+    public List<Long> findDeletedIdsBefore(LocalDateTime cutoff, int limit) {
+        return em.createQuery(
+            "SELECT p.id FROM Post p " +
+            "WHERE p.status = :status " +
+            "AND p.updateDate < :cutoff " +
+            "ORDER BY p.id", Long.class)
+            .setParameter("status", PostStatus.DELETED)
+            .setParameter("cutoff", cutoff)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    // 잠금을 걸고 정리 대상 다시 확인
+    @Override
+    public List<Long> lockDeletedIdsBefore(Collection<Long> ids, LocalDateTime cutoff) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        return em.createQuery(
+            "SELECT p FROM Post p " +
+            "WHERE p.id IN :ids " +
+            "AND p.status = :status " +
+            "AND p.updateDate < :cutoff", Post.class)
+            .setParameter("ids", ids)
+            .setParameter("status", PostStatus.DELETED)
+            .setParameter("cutoff", cutoff)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .getResultList()
+            .stream()
+            .map(Post::getId)
+            .toList();
     }
 
-    // 동시성 처리 개선
+    // 카테고리 ID별 게시글 수
     @Override
-    public void incrementLikeCount(Long id) {
-        try {
-            int updatedCount = em.createQuery(
-                "UPDATE Post p " +
-                "SET p.likeCount = p.likeCount + 1, " +
-                "p.version = p.version + 1 " +
-                "WHERE p.id = :id " +
-                "AND p.version = :version " +
-                "AND p.status <> :status")
-                .setParameter("id", id)
-                .setParameter("version", getVersion(id))
-                .setParameter("status", PostStatus.DELETED)
-                .executeUpdate();
-                
-            if (updatedCount == 0) {
-                throw new OptimisticLockException("동시성 문제가 발생했습니다");
-            }
-        } catch (Exception e) {
-            throw new OptimisticLockException("좋아요 증가 중 오류가 발생했습니다", e);
+    public Map<Long, Long> countByCategoryIds(Collection<Long> ids) {
+        List<Object[]> rows = em.createQuery(
+            "SELECT p.postCategory.id, COUNT(p) FROM Post p " +
+            "WHERE p.id IN :ids " +
+            "GROUP BY p.postCategory.id", Object[].class)
+            .setParameter("ids", ids)
+            .getResultList();
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
         }
+        return counts;
     }
 
-    private Long getVersion(Long id) {
-        Long version = em.createQuery("SELECT p.version FROM Post p WHERE p.id = :id", Long.class)
-                .setParameter("id", id)
-                .getSingleResult();
-        return version != null ? version : 0L;
+    // 벌크 DELETE (영속성 컨텍스트와 cascade를 거치지 않음)
+    @Override
+    public int deleteAllByIdInBulk(Collection<Long> ids) {
+        return em.createQuery("DELETE FROM Post p WHERE p.id IN :ids")
+            .setParameter("ids", ids)
+            .executeUpdate();
     }
 }
@@ -12,5 +12,6 @@ public interface MemberRepository  {
     List<Member> findAll();
     void deleteById(Long id);
     Optional<Member> findByEmail(String email);
+    List<String> findAllEmails();
 
 }
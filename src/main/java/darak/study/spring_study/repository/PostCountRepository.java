@@ -0,0 +1,30 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.PostCount;
+import darak.study.spring_study.domain.PostStatus;
+
+import java.util.List;
+
+public interface PostCountRepository {
+
+    // 집계 행 저장
+    PostCount save(PostCount postCount);
+
+    // 집계 행에 증분 반영 (갱신된 행 수 반환, 행이 없으면 0)
+    int addToCount(Long categoryId, PostStatus status, long delta);
+
+    // 저장된 집계 전체 조회
+    List<PostCount> findAll();
+
+    // 특정 상태를 제외한 게시글 수
+    long sumExcludingStatus(PostStatus status);
+
+    // 상태별 게시글 수
+    long sumByStatus(PostStatus status);
+
+    // 카테고리별 게시글 수 (특정 상태 제외)
+    long sumByCategoryExcludingStatus(Long categoryId, PostStatus status);
+
+    // 게시글 테이블을 직접 세어 카테고리/상태별 실제 게시글 수 계산 (재검증용)
+    List<PostCount> countActual();
+}
@@ -0,0 +1,35 @@
+package darak.study.spring_study.repository;
+
+import darak.study.spring_study.domain.PostLike;
+
+import java.util.Collection;
+
+public interface PostLikeRepository {
+
+    // 좋아요 저장
+    PostLike save(PostLike postLike);
+
+    // 회원이 게시글에 좋아요를 눌렀는지 확인
+    boolean existsByPostIdAndMemberId(Long postId, Long memberId);
+
+    // 좋아요 취소 (삭제된 행 수 반환)
+    int deleteByPostIdAndMemberId(Long postId, Long memberId);
+
+    // 게시글의 좋아요와 좋아요 수 샤드 모두 삭제 (게시글 삭제 시)
+    void deleteAllByPostId(Long postId);
+
+    // 여러 게시글의 좋아요와 좋아요 수 샤드 모두 삭제 (삭제된 게시글 정리 시)
+    void deleteAllByPostIds(Collection<Long> postIds);
+
+    // 게시글의 좋아요 수 샤드 생성
+    void createCounterShards(Long postId, int shardCount);
+
+    // 샤드 하나에 증분 반영 (갱신된 행 수 반환, 샤드가 없으면 0)
+    int addToCounterShard(Long postId, int shard, long delta);
+
+    // 샤드 합계로 좋아요 수 계산
+    long sumCounterShards(Long postId);
+
+    // 샤드 합계를 Post.likeCount에 다시 기록 (버전은 변경하지 않음)
+    void refreshLikeCounts(Collection<Long> postIds);
+}
@@ -3,10 +3,14 @@ package darak.study.spring_study.repository;
 
 
 import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.dto.PostSummary;
 
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import java.util.Optional;
 
@@ -24,6 +28,9 @@ public interface PostRepository {
 
     Post save(Post post);
 
+    // 게시글 일괄 저장 (배치 INSERT, 일정 건수마다 영속성 컨텍스트를 비우므로 반환값은 준영속 상태)
+    List<Post> saveAll(Collection<Post> posts);
+
 
 
 
@@ -46,21 +53,26 @@ public interface PostRepository {
 
 
 
-    // 작성자 ID로 게시글 조회
+    // 여러 ID로 게시글 요약 조회 (순서 보장 안 함, 삭제된 게시글 제외)
+    List<PostSummary> findSummariesByIds(Collection<Long> ids);
+
+
 
-    List<Post> findByAuthorId(Long authorId);
+    // 작성자 ID로 게시글 요약 조회
 
+    List<PostSummary> findByAuthorId(Long authorId);
 
 
-    // 제목에 특정 문자열이 포함된 게시글 조회
 
-    List<Post> findByNameContaining(String keyword);
+    // 제목에 특정 문자열이 포함된 게시글 요약 조회
 
+    List<PostSummary> findByNameContaining(String keyword);
 
 
-//    제목,내용에 특정 문자열이 포홤된 게시글 조회
 
-    List<Post> findByNameOrContentContaining(String keyword);
+//    제목,내용에 특정 문자열이 포홤된 게시글 요약 조회
+
+    List<PostSummary> findByNameOrContentContaining(String keyword);
 
 
 
@@ -77,15 +89,53 @@ public interface PostRepository {
 
     
 
+    // 커서 기반 페이징: (createDate, id)가 주어진 위치보다 오래된 게시글을 최신순으로 조회
+    List<Post> findOlderThan(LocalDateTime createDate, Long id, int limit);
+
+    // 목록 화면용 요약 조회 (findAllWithPaging과 같은 조건/순서, 필요한 컬럼만 조회)
+    List<PostSummary> findSummaries(int offset, int limit);
+
+    // 커서 기반 페이징: (createDate, id)가 주어진 위치보다 오래된 게시글 요약을 최신순으로 조회
+    List<PostSummary> findSummariesOlderThan(LocalDateTime createDate, Long id, int limit);
+
+    // 커서 기반 페이징: (createDate, id)가 주어진 위치보다 최신인 게시글 요약을 오래된 순으로 조회
+    List<PostSummary> findSummariesNewerThan(LocalDateTime createDate, Long id, int limit);
+
+    
+
     // 게시글 수 조회
 
     long count();
 
-    // 조회수 증가
-    void incrementViewCount(Long postId);
+    // 조회수 증가 (버퍼에 누적된 증분을 한 번에 반영, 버전은 변경하지 않음)
+    void incrementViewCount(Long postId, long delta);
+
+    // 댓글 수 증감 (delta가 음수면 감소, 버전은 변경하지 않음)
+    void incrementCommentCount(Long postId, int delta);
+
+    // 행 잠금을 걸고 조회 (첨부파일 자리 확인과 추가 사이에 다른 추가가 끼어들지 않도록)
+    Optional<Post> findByIdForUpdate(Long id);
+
+    // 첨부파일 수가 limit 미만일 때만 1 증가 (반영된 행 수 반환, 0이면 제한에 걸렸거나 게시글 없음)
+    int incrementAttachmentCountIfBelow(Long postId, int limit);
+
+    // 첨부파일 수 1 감소
+    void decrementAttachmentCount(Long postId);
+
+    // 첨부파일 수 조회 (게시글이 없으면 0)
+    int findAttachmentCount(Long postId);
+
+    // cutoff 이전에 삭제 상태가 된 게시글 ID를 ID 순으로 limit개 조회 (정리 대상)
+    List<Long> findDeletedIdsBefore(LocalDateTime cutoff, int limit);
+
+    // ids 중 아직 cutoff 이전 삭제 상태인 게시글만 행 잠금을 걸고 ID 반환 (정리 직전 다시 확인, 트랜잭션 끝까지 복구를 막음)
+    List<Long> lockDeletedIdsBefore(Collection<Long> ids, LocalDateTime cutoff);
+
+    // 여러 게시글의 카테고리 ID별 개수
+    Map<Long, Long> countByCategoryIds(Collection<Long> ids);
 
-    // 좋아요 증가
-    void incrementLikeCount(Long postId);
+    // 여러 게시글을 엔티티를 읽지 않고 한 번에 삭제 (연관 행은 먼저 삭제해야 함, 삭제된 행 수 반환)
+    int deleteAllByIdInBulk(Collection<Long> ids);
 
 
 }
@@ -0,0 +1,126 @@
+package darak.study.spring_study.search;
+
+import darak.study.spring_study.datasource.ReplicationRoutingDataSource;
+import darak.study.spring_study.domain.Comment;
+import darak.study.spring_study.domain.CommentStatus;
+import darak.study.spring_study.repository.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 댓글 내용 검색 색인
+// 삭제되지 않은 게시글의 활성(ACTIVE) 댓글만 색인하며 CommentService가 작성/수정/상태 변경/삭제 시,
+// PostService가 게시글 삭제/상태 변경 시 커밋 후에 갱신
+@Slf4j
+@Component
+public class CommentSearchIndex {
+    private static final int REBUILD_BATCH_SIZE = 1_000;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final Map<Long, Long> postIdByCommentId = new ConcurrentHashMap<>(); // 게시글 필터용
+    private final Map<Long, Set<Long>> commentIdsByPostId = new ConcurrentHashMap<>(); // 게시글 단위 제거용
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CommentSearchIndex(CommentRepository commentRepository, PlatformTransactionManager transactionManager) {
+        this.commentRepository = commentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 커밋 후 콜백에서 불려도 끝난 트랜잭션에 참여하지 않도록
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 댓글 색인 (활성 상태가 아니면 제거)
+    public void index(Comment comment) {
+        if (comment.getStatus() != CommentStatus.ACTIVE || comment.getPost() == null) {
+            remove(comment.getId());
+            return;
+        }
+        Map<String, Integer> terms = new HashMap<>();
+        InvertedIndex.addTerms(comment.getContent(), 1, terms);
+        Long postId = comment.getPost().getId();
+        postIdByCommentId.put(comment.getId(), postId);
+        commentIdsByPostId.computeIfAbsent(postId, id -> ConcurrentHashMap.newKeySet()).add(comment.getId());
+        index.put(comment.getId(), terms);
+    }
+
+    // 댓글 제거
+    public void remove(Long commentId) {
+        index.remove(commentId);
+        Long postId = postIdByCommentId.remove(commentId);
+        if (postId != null) {
+            Set<Long> commentIds = commentIdsByPostId.get(postId);
+            if (commentIds != null) {
+                commentIds.remove(commentId);
+            }
+        }
+    }
+
+    // 여러 댓글 제거 (답글까지 함께 삭제된 하위 트리 등)
+    public void removeAll(Collection<Long> commentIds) {
+        commentIds.forEach(this::remove);
+    }
+
+    // 게시글의 댓글을 모두 제거 (게시글 삭제 시)
+    public void removePost(Long postId) {
+        Set<Long> commentIds = commentIdsByPostId.remove(postId);
+        if (commentIds == null) {
+            return;
+        }
+        for (Long commentId : commentIds) {
+            index.remove(commentId);
+            postIdByCommentId.remove(commentId);
+        }
+    }
+
+    // 게시글의 활성 댓글을 다시 색인 (삭제 상태에서 복구된 게시글)
+    public void reindexPost(Long postId) {
+        removePost(postId);
+        load(postId);
+    }
+
+    // 검색어의 모든 토큰을 포함하는 댓글을 관련도 순으로 조회 (postId가 있으면 해당 게시글의 댓글만)
+    public SearchHits search(String keyword, Long postId, int offset, int limit) {
+        return index.search(Tokenizer.tokenize(keyword),
+                commentId -> postId == null || postId.equals(postIdByCommentId.get(commentId)),
+                offset, limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // 기동 시 활성 댓글 전체로 색인 구성 (ID 순 배치)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        postIdByCommentId.clear();
+        commentIdsByPostId.clear();
+        load(null);
+        log.info("댓글 검색 색인 구성 완료. comments={}", index.size());
+    }
+
+    // 활성 댓글을 ID 순 배치로 읽어 색인 (postId가 null이면 전체, 방금 복구된 게시글도 보이도록 주 DB에서 읽음)
+    private void load(Long postId) {
+        Long lastId = 0L;
+        while (lastId != null) {
+            Long afterId = lastId;
+            lastId = ReplicationRoutingDataSource.readFromPrimary(() -> readOnlyTransaction.execute(status -> {
+                List<Comment> comments = commentRepository.findActiveAfterId(postId, afterId, REBUILD_BATCH_SIZE);
+                comments.forEach(this::index);
+                return comments.size() < REBUILD_BATCH_SIZE ? null : comments.get(comments.size() - 1).getId();
+            }));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package darak.study.spring_study.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+// 메모리 역색인 (토큰 -> 문서 ID -> 출현 빈도)
+// 문서 추가/삭제 시 해당 문서의 토큰만 갱신하고, 검색은 가장 짧은 posting 목록부터 훑어
+// 테이블 크기가 아니라 일치하는 문서 수에 비례하는 비용으로 결과를 찾음
+public class InvertedIndex {
+
+    // 점수가 높은 순, 같으면 최신(ID가 큰) 문서 순
+    private static final Comparator<ScoredDoc> RANKING =
+            Comparator.comparingDouble(ScoredDoc::score).thenComparingLong(ScoredDoc::docId);
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 문서 색인 (이미 있으면 교체)
+    public void put(Long docId, Map<String, Integer> termFrequencies) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            if (termFrequencies.isEmpty()) {
+                return;
+            }
+            Map<String, Integer> terms = new HashMap<>(termFrequencies);
+            documents.put(docId, terms);
+            terms.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(docId, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 문서 제거
+    public void remove(Long docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 전체 초기화
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 모든 검색어 토큰을 포함하는 문서를 관련도(TF-IDF) 순으로 조회
+    // 전체 일치 목록을 만들지 않고 offset + limit 크기의 힙만 유지
+    public SearchHits search(List<String> queryTerms, LongPredicate filter, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("검색 시작 위치는 0 이상이어야 합니다.");
+        }
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchHits.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return SearchHits.empty();          // 하나라도 없는 토큰이 있으면 일치 문서 없음
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            int documentCount = documents.size();
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                idf[i] = Math.log(1.0 + (double) documentCount / lists.get(i).size());
+            }
+
+            // 힙은 일치한 문서 수만큼만 커지므로 처음부터 offset + limit 크기로 잡지 않음
+            int capacity = (int) Math.min((long) offset + limit, Integer.MAX_VALUE - 1);
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(Math.min(capacity, 1_024) + 1, RANKING);
+            long totalHits = 0;
+            for (Map.Entry<Long, Integer> candidate : lists.get(0).entrySet()) {
+                long docId = candidate.getKey();
+                if (!filter.test(docId)) {
+                    continue;
+                }
+                double score = candidate.getValue() * idf[0];
+                boolean matched = true;
+                for (int i = 1; i < lists.size(); i++) {
+                    Integer frequency = lists.get(i).get(docId);
+                    if (frequency == null) {
+                        matched = false;
+                        break;
+                    }
+                    score += frequency * idf[i];
+                }
+                if (!matched) {
+                    continue;
+                }
+                totalHits++;
+                top.offer(new ScoredDoc(docId, score));
+                if (top.size() > capacity) {
+                    top.poll();                         // 가장 낮은 점수 제거
+                }
+            }
+
+            List<ScoredDoc> ranked = new ArrayList<>(top);
+            ranked.sort(Collections.reverseOrder(RANKING));
+            List<Long> ids = ranked.stream()
+                    .skip(offset)
+                    .map(ScoredDoc::docId)
+                    .toList();
+            return new SearchHits(ids, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 텍스트를 토큰화하여 빈도를 누적 (weight: 제목 등 가중치)
+    public static void addTerms(String text, int weight, Map<String, Integer> into) {
+        for (String token : Tokenizer.tokenize(text)) {
+            into.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private void removeInternal(Long docId) {
+        Map<String, Integer> terms = documents.remove(docId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(docId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private record ScoredDoc(long docId, double score) {
+    }
+}
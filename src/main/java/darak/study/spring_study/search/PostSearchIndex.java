@@ -0,0 +1,82 @@
+package darak.study.spring_study.search;
+
+import darak.study.spring_study.datasource.ReplicationRoutingDataSource;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 게시글 제목/내용 검색 색인
+// LIKE '%키워드%'는 인덱스를 탈 수 없어 매번 전체 게시글을 훑으므로, 메모리 역색인으로 대체
+// 삭제되지 않은 게시글만 색인하며 PostService가 생성/수정/삭제 시 커밋 후에 갱신
+@Slf4j
+@Component
+public class PostSearchIndex {
+    private static final int TITLE_WEIGHT = 3;      // 제목에 나온 단어는 내용보다 높은 점수
+    private static final int CONTENT_WEIGHT = 1;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PostSearchIndex(PostRepository postRepository, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // 게시글 색인 (삭제된 게시글은 제거)
+    public void index(Post post) {
+        if (post.isDeleted()) {
+            remove(post.getId());
+            return;
+        }
+        Map<String, Integer> terms = new HashMap<>();
+        InvertedIndex.addTerms(post.getName(), TITLE_WEIGHT, terms);
+        InvertedIndex.addTerms(post.getContent(), CONTENT_WEIGHT, terms);
+        index.put(post.getId(), terms);
+    }
+
+    // 게시글 제거
+    public void remove(Long postId) {
+        index.remove(postId);
+    }
+
+    // 검색어의 모든 토큰을 포함하는 게시글을 관련도 순으로 조회
+    public SearchHits search(String keyword, int offset, int limit) {
+        return index.search(Tokenizer.tokenize(keyword), postId -> true, offset, limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // 기동 시 전체 게시글로 색인 구성 (배치마다 별도 트랜잭션으로 읽어 영속성 컨텍스트가 커지지 않도록 함, 주 DB에서 읽음)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        List<Post> batch = ReplicationRoutingDataSource.readFromPrimary(() -> readOnlyTransaction.execute(status -> {
+            List<Post> posts = postRepository.findAllWithPaging(0, REBUILD_BATCH_SIZE);
+            posts.forEach(this::index);
+            return posts;
+        }));
+        while (batch != null && batch.size() == REBUILD_BATCH_SIZE) {
+            Post last = batch.get(batch.size() - 1);
+            batch = ReplicationRoutingDataSource.readFromPrimary(() -> readOnlyTransaction.execute(status -> {
+                List<Post> posts = postRepository.findOlderThan(last.getCreateDate(), last.getId(), REBUILD_BATCH_SIZE);
+                posts.forEach(this::index);
+                return posts;
+            }));
+        }
+        log.info("게시글 검색 색인 구성 완료. posts={}", index.size());
+    }
+}
@@ -0,0 +1,11 @@
+package darak.study.spring_study.search;
+
+import java.util.List;
+
+// 검색 결과 (관련도 순 문서 ID 목록과 전체 일치 건수)
+public record SearchHits(List<Long> ids, long totalHits) {
+
+    public static SearchHits empty() {
+        return new SearchHits(List.of(), 0L);
+    }
+}
@@ -0,0 +1,61 @@
+package darak.study.spring_study.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 검색용 토크나이저
+// - 한글: 띄어쓰기만으로는 조사/어미가 붙은 단어를 찾기 어려우므로 글자 2-gram으로 분리 ("게시판에" -> 게시, 시판, 판에)
+// - 그 외 문자/숫자: 공백, 문장부호 기준 단어 단위 (소문자 변환)
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            char c = lower.charAt(i);
+            if (isHangul(c)) {
+                int start = i;
+                while (i < length && isHangul(lower.charAt(i))) {
+                    i++;
+                }
+                addBigrams(lower, start, i, tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(lower.charAt(i)) && !isHangul(lower.charAt(i))) {
+                    i++;
+                }
+                tokens.add(lower.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    // 한 글자짜리 한글 단어는 그대로, 두 글자 이상은 2-gram으로 분리
+    private static void addBigrams(String text, int start, int end, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 1 < end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    // 한글 음절 및 자모
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣')
+                || (c >= 'ᄀ' && c <= 'ᇿ')
+                || (c >= '㄰' && c <= '㆏');
+    }
+}
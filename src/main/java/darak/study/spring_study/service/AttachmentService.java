@@ -1,12 +1,28 @@
 package darak.study.spring_study.service;
 
+import darak.study.spring_study.cache.PostDetailCache;
 import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.AttachmentVariantType;
+import darak.study.spring_study.dto.AttachmentContent;
+import darak.study.spring_study.exception.AttachmentNotFoundException;
+import darak.study.spring_study.repository.AttachmentBlobRepository;
 import darak.study.spring_study.repository.AttachmentRepository;
+import darak.study.spring_study.repository.AttachmentUploadRepository;
+import darak.study.spring_study.repository.AttachmentVariantRepository;
+import darak.study.spring_study.repository.PostRepository;
+import darak.study.spring_study.storage.BlobStore;
+import darak.study.spring_study.storage.StoredBlob;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -22,9 +38,100 @@ public class AttachmentService {
     );
 
     private final AttachmentRepository attachmentRepository;
+    private final AttachmentBlobRepository attachmentBlobRepository;
+    private final AttachmentUploadRepository attachmentUploadRepository;
+    private final AttachmentVariantRepository attachmentVariantRepository;
+    private final PostRepository postRepository;
+    private final BlobStore blobStore;
+    private final PostDetailCache postDetailCache;
+    private final ThumbnailService thumbnailService;
+    private final TransactionOperations transactionOperations;
 
-    // 첨부파일 저장
+    // 첨부파일 내용과 함께 저장
+    // 내용은 트랜잭션 밖에서 임시 파일로 흘려 쓰면서 해시를 계산하고(힙에 전체를 올리지 않음),
+    // 내용 등록 -> 파일을 내용 주소 위치로 이동(같은 내용이 있으면 재사용) -> 첨부파일 저장 순으로 진행
+    // 첨부파일 저장이 실패하면 내용은 참조 0으로 남아 유예 시간 뒤 정리됨
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Attachment addAttachment(Attachment attachment, ReadableByteChannel content) {
+        if (attachment.getPost() == null) {
+            throw new IllegalArgumentException("첨부파일은 반드시 게시글에 속해야 합니다.");
+        }
+        validateFileInfo(attachment);
+
+        BlobStore.PendingBlob pending = blobStore.write(content, MAX_FILE_SIZE);
+        StoredBlob blob;
+        try {
+            blob = storeContent(pending);
+        } catch (RuntimeException e) {
+            blobStore.discard(pending);
+            throw e;
+        }
+
+        Attachment stored = attachment.toBuilder()
+                .fileSize(blob.size())
+                .contentHash(blob.hash())
+                .build();
+        return transactionOperations.execute(status -> addAttachment(stored));
+    }
+
+    // 해시까지 계산된 내용을 등록하고 내용 주소 위치로 옮김 (같은 내용이 있으면 재사용)
+    // 등록을 파일 이동보다 먼저 커밋해 두어야 정리 작업이 같은 내용을 지우지 않음
+    // 등록에 실패하면 pending 파일은 그대로 남으므로 호출한 쪽에서 정리
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StoredBlob storeContent(BlobStore.PendingBlob pending) {
+        StoredBlob blob = pending.blob();
+        try {
+            transactionOperations.executeWithoutResult(status -> attachmentBlobRepository.touch(blob.hash(), blob.size()));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 내용이 동시에 처음 등록됨 -> 이미 만들어진 행을 갱신
+            transactionOperations.executeWithoutResult(status -> attachmentBlobRepository.touch(blob.hash(), blob.size()));
+        }
+        return blobStore.commit(pending);
+    }
+
+    // 첨부파일 저장 (게시글의 첨부파일 수 증가, contentHash가 있으면 해당 내용의 참조 수 증가)
     public Attachment addAttachment(Attachment attachment) {
+        prepareNewAttachment(attachment);
+        Attachment saved = attachmentRepository.save(attachment);
+        invalidatePostDetailAfterCommit(saved);
+        thumbnailService.requestThumbnails(saved);  // 이미지면 커밋 후 백그라운드에서 축소본 생성
+        return saved;
+    }
+
+    // 첨부파일 일괄 저장 (가져오기/초기 데이터용, 배치 INSERT)
+    // 하나씩 저장할 때와 같이 개수 제한을 확인하며 첨부파일 수와 내용 참조 수를 증가
+    public List<Attachment> addAttachments(List<Attachment> attachments) {
+        attachments.forEach(this::prepareNewAttachment);
+        List<Attachment> saved = attachmentRepository.saveAll(attachments);
+        saved.forEach(attachment -> {
+            invalidatePostDetailAfterCommit(attachment);
+            thumbnailService.requestThumbnails(attachment);
+        });
+        return saved;
+    }
+
+    // 저장 전 검증과 자리/참조 수 반영
+    private void prepareNewAttachment(Attachment attachment) {
+        validatePostAndAttachment(attachment);
+        reserveAttachmentSlot(attachment.getPost().getId());
+
+        if (attachment.getContentHash() != null
+                && attachmentBlobRepository.incrementRefCount(attachment.getContentHash()) == 0) {
+            throw new IllegalStateException("저장되지 않은 첨부파일 내용입니다.");
+        }
+    }
+
+    // 새 첨부파일 검증 (게시글, 파일 정보, 게시글별 개수 제한)
+    // 분할 업로드는 시작할 때 게시글 행을 잠근 뒤 선언한 정보로 미리 검증함
+    @Transactional(readOnly = true)
+    public void validateNewAttachment(Attachment attachment) {
+        validatePostAndAttachment(attachment);
+
+        // 첨부파일 개수 제한 검증
+        validateAttachmentCount(attachment.getPost().getId());
+    }
+
+    private void validatePostAndAttachment(Attachment attachment) {
         // 게시글 검증을 먼저 수행
         if (attachment.getPost() == null) {
             throw new IllegalArgumentException("첨부파일은 반드시 게시글에 속해야 합니다.");
@@ -32,11 +139,6 @@ public class AttachmentService {
 
         // 나머지 유효성 검증
         validateAttachment(attachment);
-        
-        // 첨부파일 개수 제한 검증
-        validateAttachmentCount(attachment.getPost().getId());
-        
-        return attachmentRepository.save(attachment);
     }
 
     // 첨부파일 수정
@@ -52,15 +154,53 @@ public class AttachmentService {
             updatedAttachment.getFileType(),
             updatedAttachment.getFileSize()
         );
-        return attachmentRepository.save(existingAttachment);
+        Attachment saved = attachmentRepository.save(existingAttachment);
+        invalidatePostDetailAfterCommit(saved);
+        return saved;
+    }
+
+    // 첨부파일 내용을 [position, position + count) 구간만큼 target으로 전송 (전송한 바이트 수 반환)
+    // 파일 전송 중에는 트랜잭션(커넥션)을 잡고 있지 않도록 조회만 하고 바로 반환
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long transferContent(Long attachmentId, long position, long count, WritableByteChannel target) {
+        Attachment attachment = attachmentRepository.findById(attachmentId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 ID의 첨부파일이 존재하지 않습니다."));
+        if (attachment.getContentHash() == null) {
+            throw new IllegalStateException("내용이 저장되지 않은 첨부파일입니다.");
+        }
+        return blobStore.transferTo(attachment.getContentHash(), position, count, target);
+    }
+
+    // 다운로드할 내용 조회 (variant를 지정하면 해당 축소본, 아직 만들어지지 않았으면 없음)
+    // 삭제된 게시글의 첨부파일은 없는 것으로 처리
+    @Transactional(readOnly = true)
+    public AttachmentContent findContent(Long attachmentId, AttachmentVariantType variant) {
+        Attachment attachment = attachmentRepository.findById(attachmentId)
+                .filter(a -> a.getContentHash() != null)
+                .filter(a -> a.getPost() != null && !a.getPost().isDeleted())
+                .orElseThrow(() -> new AttachmentNotFoundException(attachmentId));
+        String hash = attachment.getContentHash();
+        if (variant == null) {
+            return new AttachmentContent(blobStore.path(hash), blobStore.size(hash),
+                    attachment.getFileType(), attachment.getFileName(), etag(hash, attachment));
+        }
+        return attachmentVariantRepository.findByContentHash(hash).stream()
+                .filter(v -> v.getType() == variant)
+                .findFirst()
+                .map(v -> new AttachmentContent(blobStore.resolve(v.getPath()), v.getFileSize(),
+                        v.getFileType(), attachment.getFileName(),
+                        etag(hash + "-" + variant.name().toLowerCase(), attachment)))
+                .orElseThrow(() -> new AttachmentNotFoundException(attachmentId));
+    }
+
+    // 내용 해시 + 파일 정보 (수정으로 파일 형식/이름이 바뀌면 캐시된 응답을 다시 받도록)
+    private static String etag(String contentTag, Attachment attachment) {
+        return contentTag + "-" + Integer.toHexString(Objects.hash(attachment.getFileType(), attachment.getFileName()));
     }
 
     // 공통 유효성 검증 메서드
     private void validateAttachment(Attachment attachment) {
-        // 파일명 검증
-        if (attachment.getFileName() == null || attachment.getFileName().isBlank()) {
-            throw new IllegalArgumentException("파일 이름은 필수입니다.");
-        }
+        validateFileInfo(attachment);
 
         // 파일 크기 검증
         if (attachment.getFileSize() == null || attachment.getFileSize() <= 0) {
@@ -69,6 +209,14 @@ public class AttachmentService {
         if (attachment.getFileSize() > MAX_FILE_SIZE) {
             throw new IllegalArgumentException("파일 크기는 10MB를 초과할 수 없습니다.");
         }
+    }
+
+    // 파일명/파일 타입 검증 (내용을 쓰기 전에 확인할 수 있는 항목)
+    private void validateFileInfo(Attachment attachment) {
+        // 파일명 검증
+        if (attachment.getFileName() == null || attachment.getFileName().isBlank()) {
+            throw new IllegalArgumentException("파일 이름은 필수입니다.");
+        }
 
         // 파일 타입 검증
         if (attachment.getFileType() == null || !ALLOWED_FILE_TYPES.contains(attachment.getFileType())) {
@@ -77,13 +225,29 @@ public class AttachmentService {
     }
 
     // 게시글별 첨부파일 개수 검증 (신규 추가시에만 필요)
+    // 첨부파일을 읽지 않고 게시글의 첨부파일 수를 사용, 진행 중인 분할 업로드도 자리를 차지한 것으로 셈
     private void validateAttachmentCount(Long postId) {
-        if (attachmentRepository.findByPostId(postId).size() >= MAX_ATTACHMENTS_PER_POST) {
-            throw new IllegalStateException(
-                "하나의 게시글당 최대 " + MAX_ATTACHMENTS_PER_POST + "개의 첨부파일만 허용됩니다.");
+        long count = postRepository.findAttachmentCount(postId) + attachmentUploadRepository.countByPostId(postId);
+        if (count >= MAX_ATTACHMENTS_PER_POST) {
+            throw exceedMaxCount();
+        }
+    }
+
+    // 게시글의 첨부파일 수를 제한 미만일 때만 증가시켜 자리를 잡음
+    // 업로드 시작과 같이 게시글 행을 먼저 잠근 뒤 진행 중인 업로드 수를 세므로 동시에 추가해도 제한을 넘지 않음
+    private void reserveAttachmentSlot(Long postId) {
+        postRepository.findByIdForUpdate(postId);
+        int limit = MAX_ATTACHMENTS_PER_POST - Math.toIntExact(attachmentUploadRepository.countByPostId(postId));
+        if (postRepository.incrementAttachmentCountIfBelow(postId, limit) == 0) {
+            throw exceedMaxCount();
         }
     }
 
+    private static IllegalStateException exceedMaxCount() {
+        return new IllegalStateException(
+            "하나의 게시글당 최대 " + MAX_ATTACHMENTS_PER_POST + "개의 첨부파일만 허용됩니다.");
+    }
+
     // 모든 첨부파일 조회
     @Transactional(readOnly = true)
     public List<Attachment> findAllAttachments() {
@@ -104,7 +268,21 @@ public class AttachmentService {
 
     // 첨부파일 삭제
     public void deleteAttachment(Long attachmentId) {
+        Optional<Attachment> attachment = attachmentRepository.findById(attachmentId);
         attachmentRepository.deleteById(attachmentId);
+        attachment.map(Attachment::getPost).ifPresent(post -> postRepository.decrementAttachmentCount(post.getId()));
+        // 내용 파일은 바로 지우지 않고 참조 수만 줄임 (참조 0이 된 내용은 정리 작업이 삭제)
+        attachment.map(Attachment::getContentHash).ifPresent(attachmentBlobRepository::decrementRefCount);
+        attachment.ifPresent(this::invalidatePostDetailAfterCommit);
+    }
+
+    // 첨부파일이 속한 게시글의 상세 캐시를 커밋 후 무효화
+    private void invalidatePostDetailAfterCommit(Attachment attachment) {
+        if (attachment.getPost() == null) {
+            return;
+        }
+        Long postId = attachment.getPost().getId();
+        TransactionCallbacks.afterCommit(() -> postDetailCache.invalidate(postId));
     }
 
 }
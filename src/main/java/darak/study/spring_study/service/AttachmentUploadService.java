@@ -0,0 +1,291 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.AttachmentUpload;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.exception.PostNotFoundException;
+import darak.study.spring_study.repository.AttachmentUploadRepository;
+import darak.study.spring_study.repository.PostRepository;
+import darak.study.spring_study.storage.BlobStore;
+import darak.study.spring_study.storage.StoredBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 분할(이어받기) 첨부파일 업로드
+// 시작 -> 청크 추가(offset 지정) -> 완료 순으로 진행하며, 청크는 힙에 모으지 않고 바로 디스크에 이어 쓰면서 SHA-256을 누적 계산
+// 연결이 끊기면 클라이언트는 findUpload()로 마지막으로 확인된 위치를 받아 그 위치부터 다시 보냄
+// 크기/형식/개수 제한은 모두 받은 뒤가 아니라 진행 중에 확인
+// - 시작: 선언한 파일명/형식/크기와 게시글별 개수 제한 (진행 중인 업로드도 자리를 차지)
+// - 청크: 선언한 크기를 넘는 순간 중단, 앞부분이 들어오면 선언한 형식의 파일 시그니처와 대조
+@Slf4j
+@Service
+@Transactional
+public class AttachmentUploadService {
+    private static final int EXPIRE_BATCH_SIZE = 100;
+
+    // 선언한 형식별 파일 앞부분 시그니처
+    private static final Map<String, byte[]> FILE_SIGNATURES = Map.of(
+        "image/jpeg", new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},
+        "image/png", new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'},
+        "image/gif", new byte[] {'G', 'I', 'F', '8'},
+        "application/pdf", new byte[] {'%', 'P', 'D', 'F'},
+        "application/msword", new byte[] {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1}
+    );
+    private static final int SIGNATURE_LENGTH = 8;      // 가장 긴 시그니처 길이
+
+    private final AttachmentUploadRepository attachmentUploadRepository;
+    private final AttachmentService attachmentService;
+    private final PostRepository postRepository;
+    private final BlobStore blobStore;
+    private final TransactionOperations transactionOperations;
+    private final Duration expireAfter;
+
+    // 업로드별 진행 중인 해시와 청크 잠금 (서버가 재시작되면 디스크의 파일로 해시를 다시 계산)
+    private final Map<String, UploadProgress> progressByUploadId = new ConcurrentHashMap<>();
+
+    public AttachmentUploadService(AttachmentUploadRepository attachmentUploadRepository,
+                                   AttachmentService attachmentService,
+                                   PostRepository postRepository,
+                                   BlobStore blobStore,
+                                   TransactionOperations transactionOperations,
+                                   @Value("${board.attachment.upload-expire-seconds:86400}") long expireSeconds) {
+        this.attachmentUploadRepository = attachmentUploadRepository;
+        this.attachmentService = attachmentService;
+        this.postRepository = postRepository;
+        this.blobStore = blobStore;
+        this.transactionOperations = transactionOperations;
+        this.expireAfter = Duration.ofSeconds(expireSeconds);
+    }
+
+    // 업로드 시작 (선언한 정보로 미리 검증하고 게시글의 첨부파일 자리 하나를 잡아 둠)
+    // 게시글 행을 잠근 채 개수 확인과 세션 저장을 하므로 동시에 시작해도 제한을 넘지 않음
+    public AttachmentUpload beginUpload(Long postId, String fileName, String fileType, long totalSize) {
+        Post post = postRepository.findByIdForUpdate(postId)
+                .filter(p -> !p.isDeleted())
+                .orElseThrow(() -> new PostNotFoundException(postId));
+        attachmentService.validateNewAttachment(Attachment.builder()
+                .post(post)
+                .fileName(fileName)
+                .fileType(fileType)
+                .fileSize(totalSize)
+                .build());
+
+        return attachmentUploadRepository.save(AttachmentUpload.builder()
+                .id(UUID.randomUUID().toString())
+                .postId(postId)
+                .fileName(fileName)
+                .fileType(fileType)
+                .totalSize(totalSize)
+                .receivedBytes(0)
+                .build());
+    }
+
+    // 업로드 세션 조회 (receivedBytes가 이어서 보낼 위치)
+    @Transactional(readOnly = true)
+    public Optional<AttachmentUpload> findUpload(String uploadId) {
+        return attachmentUploadRepository.findById(uploadId);
+    }
+
+    // 청크 추가 (offset은 마지막으로 확인된 위치와 같아야 하며, 새로 확인된 위치 반환)
+    // 청크를 받는 동안에는 트랜잭션(커넥션)을 잡고 있지 않고, 디스크에 기록이 끝난 뒤 위치만 갱신
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long appendChunk(String uploadId, long offset, ReadableByteChannel chunk) {
+        UploadProgress progress = lock(uploadId);
+        try {
+            AttachmentUpload upload = getUpload(uploadId);
+            if (offset != upload.getReceivedBytes()) {
+                throw new IllegalStateException("업로드 위치가 맞지 않습니다. 현재 위치: " + upload.getReceivedBytes());
+            }
+
+            // 해시에 청크를 반영한 뒤 위치 갱신까지 끝나지 않으면 DB의 위치(offset)와 해시가 어긋나므로
+            // 어느 단계에서 실패하든 해시를 버리고 다음 요청에서 파일로 다시 계산
+            MessageDigest digest = progress.digestAt(uploadId, offset, blobStore);
+            try {
+                long received = offset + blobStore.append(uploadId, offset, chunk, upload.getTotalSize() - offset, digest);
+
+                if (offset < SIGNATURE_LENGTH && (received >= SIGNATURE_LENGTH || received == upload.getTotalSize())
+                        && !matchesSignature(upload.getFileType(), blobStore.readUploadHeader(uploadId, SIGNATURE_LENGTH))) {
+                    discard(uploadId);
+                    throw new IllegalArgumentException("파일 내용이 선언한 파일 형식과 다릅니다.");
+                }
+
+                Integer updated = transactionOperations.execute(status ->
+                        attachmentUploadRepository.updateReceivedBytes(uploadId, offset, received));
+                if (updated == null || updated == 0) {
+                    discard(uploadId);
+                    throw new IllegalStateException("취소되었거나 만료된 업로드입니다.");
+                }
+                progress.advance(received);
+                return received;
+            } catch (RuntimeException e) {
+                progress.reset();
+                throw e;
+            }
+        } finally {
+            progress.lock.unlock();
+        }
+    }
+
+    // 업로드 완료 (모두 받은 뒤 내용 저장 -> 업로드 세션을 첨부파일로 전환)
+    // expectedHash를 보내면 서버가 누적 계산한 SHA-256과 대조해 전송 중 손상을 확인
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Attachment completeUpload(String uploadId, String expectedHash) {
+        UploadProgress progress = lock(uploadId);
+        try {
+            AttachmentUpload upload = getUpload(uploadId);
+            if (!upload.isComplete()) {
+                throw new IllegalStateException("아직 받지 못한 부분이 있습니다. 현재 위치: " + upload.getReceivedBytes());
+            }
+            Post post = postRepository.findById(upload.getPostId())
+                    .filter(p -> !p.isDeleted())
+                    .orElseThrow(() -> new PostNotFoundException(upload.getPostId()));
+
+            MessageDigest digest = progress.digestAt(uploadId, upload.getTotalSize(), blobStore);
+            BlobStore.PendingBlob pending = blobStore.completeUpload(uploadId, digest, upload.getTotalSize());
+            progress.reset();
+            if (expectedHash != null && !expectedHash.equalsIgnoreCase(pending.blob().hash())) {
+                discard(uploadId);
+                throw new IllegalArgumentException("업로드된 파일의 체크섬이 일치하지 않습니다.");
+            }
+
+            // 여기서 실패하면 업로드 파일이 그대로 남아 있으므로 다시 완료 요청 가능
+            StoredBlob blob = attachmentService.storeContent(pending);
+
+            // 파일이 옮겨졌으므로 이후 실패하면 세션을 정리 (내용은 참조 0으로 남아 정리 작업이 삭제)
+            try {
+                Attachment saved = transactionOperations.execute(status -> {
+                    // 세션이 잡아 둔 자리를 첨부파일로 넘김
+                    if (attachmentUploadRepository.deleteById(uploadId) == 0) {
+                        throw new IllegalStateException("취소되었거나 만료된 업로드입니다.");
+                    }
+                    return attachmentService.addAttachment(Attachment.builder()
+                            .post(post)
+                            .fileName(upload.getFileName())
+                            .fileType(upload.getFileType())
+                            .fileSize(blob.size())
+                            .contentHash(blob.hash())
+                            .build());
+                });
+                progressByUploadId.remove(uploadId);
+                return saved;
+            } catch (RuntimeException e) {
+                discard(uploadId);
+                throw e;
+            }
+        } finally {
+            progress.lock.unlock();
+        }
+    }
+
+    // 업로드 취소
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void abortUpload(String uploadId) {
+        UploadProgress progress = lock(uploadId);
+        try {
+            discard(uploadId);
+        } finally {
+            progress.lock.unlock();
+        }
+    }
+
+    // 오래 진행되지 않은 업로드 정리 (파일과 게시글의 첨부파일 자리 반환)
+    @Scheduled(initialDelayString = "${board.attachment.gc-interval-ms:600000}",
+            fixedDelayString = "${board.attachment.gc-interval-ms:600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void expireUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(expireAfter);
+        int expired = 0;
+        List<String> uploadIds;
+        do {
+            uploadIds = transactionOperations.execute(status ->
+                    attachmentUploadRepository.findExpiredIds(cutoff, EXPIRE_BATCH_SIZE));
+            for (String uploadId : uploadIds) {
+                UploadProgress progress = progressByUploadId.computeIfAbsent(uploadId, id -> new UploadProgress());
+                if (!progress.lock.tryLock()) {
+                    continue;                           // 지금 청크를 받는 중
+                }
+                try {
+                    discard(uploadId);
+                    expired++;
+                } finally {
+                    progress.lock.unlock();
+                }
+            }
+        } while (uploadIds.size() == EXPIRE_BATCH_SIZE);
+        if (expired > 0) {
+            log.info("만료된 첨부파일 업로드 {}개 정리", expired);
+        }
+    }
+
+    // 같은 업로드에 대한 요청은 한 번에 하나만 처리
+    private UploadProgress lock(String uploadId) {
+        UploadProgress progress = progressByUploadId.computeIfAbsent(uploadId, id -> new UploadProgress());
+        if (!progress.lock.tryLock()) {
+            throw new IllegalStateException("같은 업로드의 다른 요청을 처리하는 중입니다.");
+        }
+        return progress;
+    }
+
+    private AttachmentUpload getUpload(String uploadId) {
+        Optional<AttachmentUpload> upload = transactionOperations.execute(status -> attachmentUploadRepository.findById(uploadId));
+        if (upload == null || upload.isEmpty()) {
+            progressByUploadId.remove(uploadId);
+            throw new IllegalArgumentException("해당 ID의 업로드가 존재하지 않습니다.");
+        }
+        return upload.get();
+    }
+
+    // 세션과 업로드 파일 삭제
+    private void discard(String uploadId) {
+        transactionOperations.executeWithoutResult(status -> attachmentUploadRepository.deleteById(uploadId));
+        blobStore.deleteUpload(uploadId);
+        progressByUploadId.remove(uploadId);
+    }
+
+    private static boolean matchesSignature(String fileType, byte[] header) {
+        byte[] signature = FILE_SIGNATURES.get(fileType);
+        return signature != null && header.length >= signature.length
+                && Arrays.equals(header, 0, signature.length, signature, 0, signature.length);
+    }
+
+    // 업로드 하나의 진행 상태 (잠금을 잡은 스레드만 접근)
+    private static final class UploadProgress {
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest;
+        private long digestedBytes;
+
+        // position 바이트까지 반영된 해시 (없거나 위치가 다르면 파일에서 다시 계산)
+        private MessageDigest digestAt(String uploadId, long position, BlobStore blobStore) {
+            if (digest == null || digestedBytes != position) {
+                digest = blobStore.digestUpload(uploadId, position);
+                digestedBytes = position;
+            }
+            return digest;
+        }
+
+        private void advance(long position) {
+            digestedBytes = position;
+        }
+
+        private void reset() {
+            digest = null;
+        }
+    }
+}
@@ -1,24 +1,76 @@
 package darak.study.spring_study.service;
 
+import darak.study.spring_study.cache.PostDetailCache;
+import darak.study.spring_study.cache.ReadCoalescer;
 import darak.study.spring_study.domain.Comment;
+import darak.study.spring_study.domain.CommentStatus;
+import darak.study.spring_study.dto.CommentCursorPageResponse;
+import darak.study.spring_study.dto.CommentPageResponse;
+import darak.study.spring_study.dto.CommentResponse;
+import darak.study.spring_study.dto.SeekCursor;
+import darak.study.spring_study.exception.InvalidInputException;
 import darak.study.spring_study.repository.CommentRepository;
+import darak.study.spring_study.repository.PostRepository;
+import darak.study.spring_study.search.CommentSearchIndex;
+import darak.study.spring_study.search.SearchHits;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CommentService {
+    // 루트 댓글과 함께 미리 보여줄 답글 수
+    static final int REPLY_PREVIEW_SIZE = 3;
+    // 검색 결과에서 건너뛸 수 있는 최대 행 수 (PostService와 같은 기준)
+    private static final int MAX_PAGING_OFFSET = 1_000;
 
     private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final CommentSearchIndex commentSearchIndex;
+    private final PostDetailCache postDetailCache;
+    private final ReadCoalescer readCoalescer;
 
-    // 댓글 저장
+    // 댓글 저장 (게시글의 댓글 수를 함께 증가, 삭제 상태로 넣은 댓글은 세지 않음)
     public Comment addComment(Comment comment) {
-        return commentRepository.save(comment);
+        if (comment.getPost() == null) {
+            throw new IllegalArgumentException("댓글은 반드시 게시글에 속해야 합니다.");
+        }
+        Comment saved = commentRepository.save(comment);
+        if (!saved.isDeleted()) {
+            postRepository.incrementCommentCount(comment.getPost().getId(), 1);
+        }
+        afterCommit(saved, () -> commentSearchIndex.index(saved));
+        return saved;
+    }
+
+    // 댓글 일괄 저장 (가져오기/초기 데이터용, 배치 INSERT)
+    // 게시글별로 모아 댓글 수를 한 번씩 증가 (삭제 상태로 넣은 댓글은 세지 않음)
+    public List<Comment> addComments(List<Comment> comments) {
+        if (comments.stream().anyMatch(comment -> comment.getPost() == null)) {
+            throw new IllegalArgumentException("댓글은 반드시 게시글에 속해야 합니다.");
+        }
+        List<Comment> saved = commentRepository.saveAll(comments);
+        saved.stream()
+                .filter(comment -> !comment.isDeleted())
+                .collect(Collectors.groupingBy(comment -> comment.getPost().getId(), Collectors.counting()))
+                .forEach((postId, count) -> postRepository.incrementCommentCount(postId, Math.toIntExact(count)));
+        TransactionCallbacks.afterCommit(() -> {
+            saved.forEach(commentSearchIndex::index);
+            saved.stream().map(comment -> comment.getPost().getId()).distinct().forEach(postDetailCache::invalidate);
+        });
+        return saved;
     }
 
     // 모든 댓글 조회
@@ -40,12 +92,93 @@ public class CommentService {
         
         existingComment.updateContent(updatedComment.getContent());
 
-        return commentRepository.save(existingComment);
+        Comment saved = commentRepository.save(existingComment);
+        afterCommit(saved, () -> commentSearchIndex.index(saved));
+        return saved;
+    }
+
+    // 댓글 상태 변경
+    // 게시글의 댓글 수는 활성 댓글만 세므로 삭제 상태로 바뀌면 감소, 복구되면 증가
+    public void changeCommentStatus(Long commentId, CommentStatus status) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 ID의 댓글이 존재하지 않습니다."));
+        boolean wasDeleted = comment.isDeleted();
+        comment.changeStatus(status);
+        if (wasDeleted != comment.isDeleted()) {
+            postRepository.incrementCommentCount(comment.getPost().getId(), comment.isDeleted() ? -1 : 1);
+        }
+        afterCommit(comment, () -> commentSearchIndex.index(comment)); // 활성 상태가 아니면 색인에서 제거됨
     }
 
-    // 댓글 삭제
+    // 댓글 삭제 (답글도 함께 삭제되므로 하위 트리의 활성 댓글 수만큼 게시글의 댓글 수 감소, 색인에서도 제거)
+    // 삭제 상태 댓글은 이미 댓글 수와 색인에서 빠져 있음
     public void deleteComment(Long commentId) {
+        Optional<Comment> comment = commentRepository.findById(commentId);
+        List<Long> removedIds = comment.map(c -> commentRepository.findActiveSubtreeIds(c.getPost().getId(), c.getPath()))
+                .orElse(List.of(commentId));
         commentRepository.deleteById(commentId);
+        comment.filter(c -> !removedIds.isEmpty())
+                .ifPresent(c -> postRepository.incrementCommentCount(c.getPost().getId(), -removedIds.size()));
+        TransactionCallbacks.afterCommit(() -> {
+            commentSearchIndex.removeAll(removedIds);
+            comment.ifPresent(this::invalidatePostDetail);
+        });
+    }
+
+    // 댓글 내용 검색 (검색 색인 사용, 활성 댓글만, postId가 있으면 해당 게시글로 한정)
+    @Transactional(readOnly = true)
+    public CommentPageResponse searchComments(String keyword, Long postId, int page, int size) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new IllegalArgumentException("검색어는 필수입니다.");
+        }
+        if (page < 1) {
+            throw new IllegalArgumentException("페이지 번호는 1 이상이어야 합니다.");
+        }
+        validatePageSize(size);
+        if ((long) (page - 1) * size > MAX_PAGING_OFFSET) {
+            throw new IllegalArgumentException("검색 결과는 앞쪽 페이지만 조회할 수 있습니다. 검색어를 좁혀주세요.");
+        }
+
+        SearchHits hits = commentSearchIndex.search(keyword, postId, (page - 1) * size, size);
+        Map<Long, Comment> commentsById = commentRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+
+        return CommentPageResponse.builder()
+                .comments(hits.ids().stream()
+                        .map(commentsById::get)
+                        .filter(Objects::nonNull)
+                        .map(CommentResponse::from)
+                        .collect(Collectors.toList()))
+                .currentPage(page)
+                .pageSize(size)
+                .totalCount(hits.totalHits())
+                .totalPages((hits.totalHits() + size - 1) / size)
+                .build();
+    }
+
+    // 루트 댓글을 작성순 커서 페이징으로 조회 (각 댓글의 답글 수와 첫 답글 몇 개를 함께 반환)
+    // 댓글이 아무리 많아도 한 번에 size + 미리보기 답글만 로딩
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CommentCursorPageResponse findRootComments(Long postId, String cursor, int size) {
+        validatePageSize(size);
+        SeekCursor after = decodeCursor(cursor);
+        return readCoalescer.read("rootComments", Arrays.asList(postId, cursor, size), () -> {
+            List<Comment> fetched = commentRepository.findRootsByPostId(postId,
+                    after != null ? after.getCreateDate() : null, after != null ? after.getId() : null, size + 1);
+            return toCursorPage(fetched, size, true);
+        });
+    }
+
+    // 답글 더보기: 부모 댓글의 답글을 작성순 커서 페이징으로 조회
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CommentCursorPageResponse findReplies(Long parentId, String cursor, int size) {
+        validatePageSize(size);
+        SeekCursor after = decodeCursor(cursor);
+        return readCoalescer.read("replies", Arrays.asList(parentId, cursor, size), () -> {
+            List<Comment> fetched = commentRepository.findRepliesByParentId(parentId,
+                    after != null ? after.getCreateDate() : null, after != null ? after.getId() : null, size + 1);
+            return toCursorPage(fetched, size, false);
+        });
     }
 
     // 특정 게시글에 속한 댓글 조회
@@ -54,9 +187,94 @@ public class CommentService {
         return commentRepository.findByPostId(postId);
     }
 
+    // 게시글의 댓글을 깊이 제한 없이 트리 구조로 조회 (쿼리 1회, 동시 조회는 합침)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CommentResponse> findCommentThread(Long postId) {
+        return readCoalescer.read("commentThread", postId,
+                () -> CommentResponse.toTree(commentRepository.findThreadByPostId(postId)));
+    }
+
     // 특정 부모 댓글에 속한 대댓글(답글) 조회
     @Transactional(readOnly = true)
     public List<Comment> findRepliesByParentId(Long parentId) {
         return commentRepository.findByParentCommentId(parentId);
     }
+
+    // size + 1개를 읽어 다음 페이지 여부를 판단하고, 답글 수와 (필요 시) 미리보기 답글을 일괄 조회하여 응답 구성
+    private CommentCursorPageResponse toCursorPage(List<Comment> fetched, int size, boolean withPreview) {
+        boolean hasNext = fetched.size() > size;
+        List<Comment> comments = fetched.subList(0, Math.min(size, fetched.size()));
+        List<Long> ids = comments.stream().map(Comment::getId).collect(Collectors.toList());
+
+        Map<Long, List<Comment>> previews = Map.of();
+        List<Long> countTargets = new ArrayList<>(ids);
+        if (withPreview && !ids.isEmpty()) {
+            List<Comment> previewReplies = commentRepository.findFirstRepliesByParentIds(ids, REPLY_PREVIEW_SIZE);
+            previews = previewReplies.stream()
+                    .collect(Collectors.groupingBy(reply -> reply.getParentComment().getId()));
+            previewReplies.forEach(reply -> countTargets.add(reply.getId()));
+        }
+        Map<Long, Long> replyCounts = countTargets.isEmpty()
+                ? Map.of() : commentRepository.countRepliesByParentIds(countTargets);
+
+        List<CommentResponse> responses = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            List<CommentResponse> children = previews.getOrDefault(comment.getId(), List.of()).stream()
+                    .map(reply -> toPagedNode(reply, List.of(), replyCounts))
+                    .toList();
+            responses.add(toPagedNode(comment, children, replyCounts));
+        }
+
+        Comment last = comments.isEmpty() ? null : comments.get(comments.size() - 1);
+        return CommentCursorPageResponse.builder()
+                .comments(List.copyOf(responses))          // 합쳐진 호출들이 공유하므로 불변 목록으로 반환
+                .pageSize(size)
+                .nextCursor(hasNext ? SeekCursor.next(last.getCreateDate(), last.getId()).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private CommentResponse toPagedNode(Comment comment, List<CommentResponse> children, Map<Long, Long> replyCounts) {
+        long replyCount = replyCounts.getOrDefault(comment.getId(), 0L);
+        CommentResponse lastChild = children.isEmpty() ? null : children.get(children.size() - 1);
+        return CommentResponse.from(comment).toBuilder()
+                .children(List.copyOf(children))
+                .replyCount(replyCount)
+                .hasMoreReplies(replyCount > children.size())
+                .repliesCursor(lastChild != null
+                        ? SeekCursor.next(lastChild.getCreateDate(), lastChild.getId()).encode() : null)
+                .build();
+    }
+
+    // 댓글 목록은 한 방향(작성순)으로만 이어 읽음
+    private SeekCursor decodeCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        SeekCursor seek = SeekCursor.decode(cursor);
+        if (!seek.isNext()) {
+            throw new InvalidInputException("유효하지 않은 커서입니다.");
+        }
+        return seek;
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("페이지 크기는 1에서 100 사이여야 합니다.");
+        }
+    }
+
+    // 커밋 후 색인 갱신과 함께 댓글이 속한 게시글의 상세 캐시 무효화
+    private void afterCommit(Comment comment, Runnable indexUpdate) {
+        TransactionCallbacks.afterCommit(() -> {
+            indexUpdate.run();
+            invalidatePostDetail(comment);
+        });
+    }
+
+    private void invalidatePostDetail(Comment comment) {
+        if (comment.getPost() != null) {
+            postDetailCache.invalidate(comment.getPost().getId());
+        }
+    }
 }
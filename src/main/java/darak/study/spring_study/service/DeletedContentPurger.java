@@ -0,0 +1,179 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.cache.PostDetailCache;
+import darak.study.spring_study.repository.AttachmentBlobRepository;
+import darak.study.spring_study.repository.AttachmentRepository;
+import darak.study.spring_study.repository.CommentRepository;
+import darak.study.spring_study.repository.PostLikeRepository;
+import darak.study.spring_study.repository.PostRepository;
+import darak.study.spring_study.search.CommentSearchIndex;
+import darak.study.spring_study.search.PostSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// 삭제 상태 게시글/댓글 정리
+// 보존 기간이 지난 삭제 행을 batchSize개씩 벌크 DELETE로 지움 (엔티티를 읽지 않으므로 영속성 컨텍스트가 커지지 않음)
+// 묶음마다 트랜잭션을 나누고 사이에 잠시 쉬어 잠금을 오래 잡거나 다른 요청의 DB 사용을 밀어내지 않도록 함
+// 중간에 실패해도 지워진 묶음은 그대로 두고 다음 실행에서 남은 행부터 이어서 정리
+// 정리 도중 복구된 게시글은 묶음마다 삭제 상태와 삭제 시각을 다시 확인해 남은 댓글과 게시글을 지우지 않음
+@Slf4j
+@Component
+public class DeletedContentPurger {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentBlobRepository attachmentBlobRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final PostCountService postCountService;
+    private final PostSearchIndex postSearchIndex;
+    private final CommentSearchIndex commentSearchIndex;
+    private final PostDetailCache postDetailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public DeletedContentPurger(PostRepository postRepository,
+                                CommentRepository commentRepository,
+                                AttachmentRepository attachmentRepository,
+                                AttachmentBlobRepository attachmentBlobRepository,
+                                PostLikeRepository postLikeRepository,
+                                PostCountService postCountService,
+                                PostSearchIndex postSearchIndex,
+                                CommentSearchIndex commentSearchIndex,
+                                PostDetailCache postDetailCache,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${board.purge.retention-days:30}") long retentionDays,
+                                @Value("${board.purge.batch-size:200}") int batchSize,
+                                @Value("${board.purge.pause-ms:100}") long pauseMillis) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("정리 묶음 크기는 1 이상이어야 합니다.");
+        }
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.attachmentBlobRepository = attachmentBlobRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.postCountService = postCountService;
+        this.postSearchIndex = postSearchIndex;
+        this.commentSearchIndex = commentSearchIndex;
+        this.postDetailCache = postDetailCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(initialDelayString = "${board.purge.interval-ms:3600000}",
+            fixedDelayString = "${board.purge.interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int posts = purgePosts(cutoff);
+        int comments = purgeComments(cutoff);
+        if (posts > 0 || comments > 0) {
+            log.info("삭제된 게시글/댓글 정리: 게시글 {}개, 댓글 {}개 삭제", posts, comments);
+        }
+    }
+
+    // cutoff 이전에 삭제된 게시글을 댓글/첨부파일/좋아요와 함께 물리 삭제 (삭제한 게시글 수 반환)
+    public int purgePosts(LocalDateTime cutoff) {
+        int purged = 0;
+        List<Long> postIds;
+        do {
+            postIds = transactionTemplate.execute(status -> postRepository.findDeletedIdsBefore(cutoff, batchSize));
+            if (postIds.isEmpty()) {
+                break;
+            }
+            try {
+                purgeComments(postIds, cutoff);
+                purged += purgePostRows(postIds, cutoff);
+            } catch (RuntimeException e) {
+                // 예: 정리 중에 댓글이 새로 달림 -> 외래 키 위반으로 이 묶음만 롤백, 다음 실행에서 다시 시도
+                log.warn("삭제된 게시글 정리 실패, 다음 실행에서 다시 시도: {}", postIds, e);
+                break;
+            }
+        } while (postIds.size() == batchSize && pause());
+        return purged;
+    }
+
+    // cutoff 이전에 삭제됐고 답글이 없는 댓글을 삭제 (삭제한 댓글 수 반환)
+    // 답글이 지워지면 부모가 새로 대상이 되므로 더 지울 것이 없을 때까지 반복
+    // 삭제 상태 댓글은 상태가 바뀔 때 이미 게시글의 댓글 수에서 빠졌으므로 수는 건드리지 않음
+    public int purgeComments(LocalDateTime cutoff) {
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = commentRepository.findDeletedLeafIdsBefore(cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                Map<Long, Long> countsByPost = commentRepository.countByPostForIds(ids);
+                int count = commentRepository.deleteAllByIdInBulk(ids);
+                TransactionCallbacks.afterCommit(() -> countsByPost.keySet().forEach(postDetailCache::invalidate));
+                return count;
+            });
+            purged += deleted;
+        } while (deleted > 0 && pause());
+        return purged;
+    }
+
+    // 게시글들의 댓글을 답글부터 batchSize개씩 삭제 (묶음마다 트랜잭션, 그 사이 복구된 게시글의 댓글은 남김)
+    private void purgeComments(List<Long> postIds, LocalDateTime cutoff) {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = commentRepository.findIdsByDeletedPostIds(postIds, cutoff, batchSize);
+                return ids.isEmpty() ? 0 : commentRepository.deleteAllByIdInBulk(ids);
+            });
+        } while (deleted == batchSize && pause());
+    }
+
+    // 댓글이 지워진 게시글과 나머지 연관 행을 한 트랜잭션에서 삭제
+    // 아직 정리 대상인 게시글만 잠근 뒤 그 ID로만 집계/삭제 (잠금 중에는 복구가 끼어들지 못함)
+    // 첨부파일 내용은 참조 수만 줄이고 파일은 AttachmentBlobCollector가 유예 시간 뒤 삭제
+    private int purgePostRows(List<Long> candidateIds, LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            List<Long> postIds = postRepository.lockDeletedIdsBefore(candidateIds, cutoff);
+            if (postIds.isEmpty()) {
+                return 0;
+            }
+            attachmentRepository.findContentHashesByPostIds(postIds)
+                    .forEach(attachmentBlobRepository::decrementRefCount);
+            attachmentRepository.deleteByPostIds(postIds);
+            postLikeRepository.deleteAllByPostIds(postIds);
+            postCountService.removeDeleted(postRepository.countByCategoryIds(postIds));
+            int count = postRepository.deleteAllByIdInBulk(postIds);
+            TransactionCallbacks.afterCommit(() -> postIds.forEach(postId -> {
+                postSearchIndex.remove(postId);
+                commentSearchIndex.removePost(postId);
+                postDetailCache.invalidate(postId);
+            }));
+            return count;
+        });
+    }
+
+    // 묶음 사이 쉬기 (인터럽트되면 false를 반환해 정리를 멈춤)
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package darak.study.spring_study.service;
 
+import darak.study.spring_study.cache.MemberEmailIndex;
 import darak.study.spring_study.domain.Member;
 import darak.study.spring_study.domain.MemberStatus;
 import darak.study.spring_study.repository.MemberRepository;
@@ -8,24 +9,31 @@ import darak.study.spring_study.exception.DuplicateEmailException;
 import darak.study.spring_study.exception.MemberNotFoundException;
 import lombok.RequiredArgsConstructor;
 
-import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class MemberService {
     private final MemberRepository memberRepository;
+    private final MemberEmailIndex memberEmailIndex;
+    private final PasswordHasher passwordHasher;
+    private final TransactionOperations transactionOperations;
 
     //   회원 가입
+    //   비밀번호 해시는 트랜잭션 시작 전에 해시 전용 실행기에서 계산하고, 저장할 때만 트랜잭션(커넥션)을 사용
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Long join (Member member){
         validateDuplicateMember(member); // 중복 회원 확인
         validateMemberFields(member);
         
          // 비밀번호 암호화는 서비스 계층에서 처리
-        String encodedPassword = BCrypt.hashpw(member.getPassword(), BCrypt.gensalt());
+        String encodedPassword = passwordHasher.hash(member.getPassword());
         Member newMember = Member.builder()
                 .id(member.getId())
                 .email(member.getEmail())
@@ -37,7 +45,12 @@ public class MemberService {
                 .status(MemberStatus.ACTIVE)
                 .build();
                 
-        memberRepository.save(newMember);
+        memberEmailIndex.add(newMember.getEmail()); // 저장 전에 추가해야 동시에 들어온 같은 이메일 가입이 DB 확인으로 넘어감
+        try {
+            transactionOperations.executeWithoutResult(status -> memberRepository.save(newMember));
+        } finally {
+            memberEmailIndex.finishAdd(newMember.getEmail());
+        }
         return newMember.getId();
     }
 
@@ -54,6 +67,9 @@ public class MemberService {
 
     //     중복 검증
     private void validateDuplicateMember(Member member) {
+        if (!memberEmailIndex.mightExist(member.getEmail())) {
+            return; // 확실히 없는 이메일은 DB 조회 생략
+        }
         memberRepository.findByEmail(member.getEmail())
                 .ifPresent(m -> {
                     throw new DuplicateEmailException(member.getEmail());
@@ -75,14 +91,31 @@ public class MemberService {
 
     //    아이디로 회원 삭제
     public void delete(Long memberId){
+        Optional<String> email = memberRepository.findById(memberId).map(Member::getEmail);
         memberRepository.deleteById(memberId);
+        email.ifPresent(e -> TransactionCallbacks.afterCommit(() -> memberEmailIndex.remove(e)));
     }
 
     //   이메일로 조회
     @Transactional(readOnly = true)
     public Member findByEmail(String email) {
-        return memberRepository.findByEmail(email)
+        // 캐시된 ID가 있으면 기본 키로 조회
+        Long cachedId = memberEmailIndex.cachedId(email);
+        if (cachedId != null) {
+            Optional<Member> cached = memberRepository.findById(cachedId)
+                    .filter(m -> m.getEmail().equals(email));
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            memberEmailIndex.evictId(email);
+        }
+        if (!memberEmailIndex.mightExist(email)) {
+            throw new MemberNotFoundException(email);
+        }
+        Member member = memberRepository.findByEmail(email)
                 .orElseThrow(() -> new MemberNotFoundException(email));
+        memberEmailIndex.cacheId(email, member.getId());
+        return member;
     }
 
     //    회원 업데이트
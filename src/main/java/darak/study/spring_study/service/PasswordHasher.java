@@ -0,0 +1,127 @@
+package darak.study.spring_study.service;
+
+import jakarta.annotation.PreDestroy;
+import darak.study.spring_study.exception.ServerBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 비밀번호 BCrypt 해시 전용 실행기
+// 해시 한 번에 수십~수백 ms의 CPU를 쓰므로, 트랜잭션 밖에서 코어 수만큼의 스레드로만 실행
+// 대기열이 가득 차면 자리가 날 때까지 잠시 기다리고, 그래도 없으면 거절하여 요청 유입 속도를 늦춤 (backpressure)
+// (호출한 스레드가 직접 해시하면 동시 해시 수가 요청 스레드 수만큼 늘어남)
+@Slf4j
+@Component
+public class PasswordHasher {
+    static final int MIN_COST = 4;
+    static final int MAX_COST = 16;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private final ThreadPoolExecutor executor;
+    private final int cost;
+
+    public PasswordHasher(@Value("${board.password.bcrypt-cost:10}") int configuredCost,
+                          @Value("${board.password.target-hash-ms:0}") long targetHashMs,
+                          @Value("${board.password.queue-capacity:100}") int queueCapacity,
+                          @Value("${board.password.queue-wait-ms:1000}") long queueWaitMs) {
+        this.cost = targetHashMs > 0 ? calibrate(Duration.ofMillis(targetHashMs)) : validateCost(configuredCost);
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> waitForQueue(runnable, pool, queueWaitMs));
+        log.info("비밀번호 해시 실행기 준비. cost={}, threads={}, queueCapacity={}, queueWaitMs={}",
+                cost, threads, queueCapacity, queueWaitMs);
+    }
+
+    // 비밀번호 해시 (실행기에서 계산하고 결과를 기다림)
+    public String hash(String rawPassword) {
+        if (rawPassword == null || rawPassword.isEmpty()) {
+            throw new IllegalArgumentException("비밀번호는 필수입니다.");
+        }
+        Future<String> future;
+        try {
+            future = executor.submit(() -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost)));
+        } catch (RejectedExecutionException e) {
+            throw new ServerBusyException("비밀번호 해시");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 해시 중 인터럽트가 발생했습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("비밀번호 해시에 실패했습니다.", e.getCause());
+        }
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    // 대기열에 남은 자리 수
+    int remainingQueueCapacity() {
+        return executor.getQueue().remainingCapacity();
+    }
+
+    // 현재 장비에서 해시 한 번이 목표 시간 이내인 가장 높은 cost 측정
+    // cost가 1 오를 때마다 시간이 두 배가 되므로, 목표를 넘는 cost가 나오면 측정을 멈춤
+    public static int calibrate(Duration target) {
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(MIN_COST)); // 워밍업
+        int chosen = MIN_COST;
+        for (int candidate = MIN_COST; candidate <= MAX_COST; candidate++) {
+            long started = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(candidate));
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.info("BCrypt cost={} 해시 시간 {}ms", candidate, elapsedMs);
+            if (elapsedMs > target.toMillis()) {
+                break;
+            }
+            chosen = candidate;
+        }
+        return chosen;
+    }
+
+    // 대기열이 가득 찼을 때 최대 waitMs 동안 자리를 기다리고, 그래도 없으면 거절
+    private static void waitForQueue(Runnable runnable, ThreadPoolExecutor pool, long waitMs) {
+        try {
+            if (!pool.isShutdown() && pool.getQueue().offer(runnable, waitMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new RejectedExecutionException("비밀번호 해시 대기열이 가득 찼습니다.");
+    }
+
+    private static int validateCost(int cost) {
+        if (cost < MIN_COST || cost > MAX_COST) {
+            throw new IllegalArgumentException("BCrypt cost는 " + MIN_COST + "에서 " + MAX_COST + " 사이여야 합니다.");
+        }
+        return cost;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,171 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostCount;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.repository.PostCountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 카테고리/상태별 게시글 수 관리
+// 게시글 변경과 같은 트랜잭션에서 집계를 증감하고, 주기적으로 게시글 테이블과 대조해 어긋난 값을 바로잡음
+@Slf4j
+@Service
+@Transactional
+public class PostCountService {
+
+    private final PostCountRepository postCountRepository;
+    // 집계 행 생성은 별도 트랜잭션에서 실행 (유니크 제약 위반 후에는 게시글 변경 트랜잭션을 커밋할 수 없으므로)
+    private final TransactionTemplate newTransaction;
+
+    // 직전 재검증에서 발견된 차이 (카테고리/상태 -> 실제 - 저장값)
+    // 진행 중인 트랜잭션 때문에 생긴 일시적인 차이를 고치지 않도록, 두 번 연속 같은 차이가 보일 때만 보정
+    private final Map<Key, Long> suspectedDrifts = new ConcurrentHashMap<>();
+
+    public PostCountService(PostCountRepository postCountRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.postCountRepository = postCountRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 게시글 생성
+    public void increment(Post post) {
+        add(categoryIdOf(post), post.getStatus(), 1L);
+    }
+
+    // 게시글 일괄 생성 (카테고리/상태별로 모아 한 번씩만 갱신)
+    public void incrementAll(Collection<Post> posts) {
+        Map<Key, Long> deltas = new HashMap<>();
+        for (Post post : posts) {
+            deltas.merge(new Key(categoryIdOf(post), post.getStatus()), 1L, Long::sum);
+        }
+        deltas.forEach((key, delta) -> add(key.categoryId(), key.status(), delta));
+    }
+
+    // 게시글 삭제
+    public void decrement(Post post) {
+        add(categoryIdOf(post), post.getStatus(), -1L);
+    }
+
+    // 삭제 상태 게시글이 정리됨 (카테고리 ID -> 정리된 게시글 수)
+    public void removeDeleted(Map<Long, Long> countsByCategory) {
+        countsByCategory.forEach((categoryId, count) -> add(categoryId, PostStatus.DELETED, -count));
+    }
+
+    // 게시글 상태 변경
+    public void changeStatus(Post post, PostStatus from, PostStatus to) {
+        if (from == to) {
+            return;
+        }
+        add(categoryIdOf(post), from, -1L);
+        add(categoryIdOf(post), to, 1L);
+    }
+
+    // 목록에 노출되는(삭제되지 않은) 게시글 수
+    @Transactional(readOnly = true)
+    public long countVisiblePosts() {
+        return postCountRepository.sumExcludingStatus(PostStatus.DELETED);
+    }
+
+    // 상태별 게시글 수
+    @Transactional(readOnly = true)
+    public long countByStatus(PostStatus status) {
+        return postCountRepository.sumByStatus(status);
+    }
+
+    // 카테고리별 노출 게시글 수
+    @Transactional(readOnly = true)
+    public long countVisiblePostsByCategory(Long categoryId) {
+        return postCountRepository.sumByCategoryExcludingStatus(categoryId, PostStatus.DELETED);
+    }
+
+    // 기동 시 기존 게시글 기준으로 집계 생성
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile(true);
+    }
+
+    // 주기적인 재검증
+    @Scheduled(initialDelayString = "${board.post-count.reconcile-interval-ms:600000}",
+               fixedDelayString = "${board.post-count.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        reconcile(false);
+    }
+
+    private void reconcile(boolean fixImmediately) {
+        Map<Key, Long> stored = new HashMap<>();
+        for (PostCount count : postCountRepository.findAll()) {
+            stored.put(new Key(count.getCategoryId(), count.getStatus()), count.getCount());
+        }
+        Map<Key, Long> actual = new HashMap<>();
+        for (PostCount count : postCountRepository.countActual()) {
+            if (count.getCategoryId() != null && count.getStatus() != null) {
+                actual.put(new Key(count.getCategoryId(), count.getStatus()), count.getCount());
+            }
+        }
+
+        Set<Key> keys = new HashSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+        for (Key key : keys) {
+            long drift = actual.getOrDefault(key, 0L) - stored.getOrDefault(key, 0L);
+            if (drift == 0) {
+                suspectedDrifts.remove(key);
+                continue;
+            }
+            if (fixImmediately || Objects.equals(suspectedDrifts.get(key), drift)) {
+                log.warn("게시글 수 집계를 보정합니다. category={}, status={}, drift={}",
+                        key.categoryId(), key.status(), drift);
+                add(key.categoryId(), key.status(), drift);
+                suspectedDrifts.remove(key);
+            } else {
+                suspectedDrifts.put(key, drift);
+            }
+        }
+    }
+
+    // 집계 행에 증분 반영 (행이 없으면 0인 행을 만든 뒤 다시 반영)
+    private void add(Long categoryId, PostStatus status, long delta) {
+        if (postCountRepository.addToCount(categoryId, status, delta) == 0) {
+            createMissingRow(categoryId, status);
+            postCountRepository.addToCount(categoryId, status, delta);
+        }
+    }
+
+    // 집계 행을 별도 트랜잭션에서 만들어 커밋 (값이 0이라 게시글 변경이 롤백돼도 남아 있어도 됨)
+    // 같은 카테고리/상태의 첫 게시글이 동시에 만들어지면 한쪽은 유니크 제약에 걸리지만, 이미 만들어졌으므로 그대로 진행
+    void createMissingRow(Long categoryId, PostStatus status) {
+        try {
+            newTransaction.executeWithoutResult(s -> postCountRepository.save(PostCount.builder()
+                    .categoryId(categoryId)
+                    .status(status)
+                    .count(0)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 만듦
+        }
+    }
+
+    private Long categoryIdOf(Post post) {
+        return post.getPostCategory() != null ? post.getPostCategory().getId() : null;
+    }
+
+    private record Key(Long categoryId, PostStatus status) {
+    }
+}
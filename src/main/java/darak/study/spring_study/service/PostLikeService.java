@@ -0,0 +1,158 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostLike;
+import darak.study.spring_study.exception.MemberNotFoundException;
+import darak.study.spring_study.exception.PostNotFoundException;
+import darak.study.spring_study.repository.MemberRepository;
+import darak.study.spring_study.repository.PostLikeRepository;
+import darak.study.spring_study.repository.PostRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@Transactional
+public class PostLikeService {
+    static final int COUNTER_SHARDS = 16; // 게시글당 좋아요 수 샤드 개수
+
+    private final PostLikeRepository postLikeRepository;
+    private final PostRepository postRepository;
+    private final MemberRepository memberRepository;
+    // 유니크 제약 위반이 날 수 있는 저장은 별도 트랜잭션에서 실행 (위반 후에는 그 트랜잭션을 커밋할 수 없으므로)
+    private final TransactionTemplate newTransaction;
+
+    // likeCount 컬럼을 다시 계산해야 하는 게시글 ID
+    private final Set<Long> dirtyPostIds = ConcurrentHashMap.newKeySet();
+
+    public PostLikeService(PostLikeRepository postLikeRepository,
+                           PostRepository postRepository,
+                           MemberRepository memberRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.postLikeRepository = postLikeRepository;
+        this.postRepository = postRepository;
+        this.memberRepository = memberRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 게시글 생성 시 좋아요 수 샤드 준비
+    public void initCounter(Long postId) {
+        postLikeRepository.createCounterShards(postId, COUNTER_SHARDS);
+    }
+
+    // 게시글 삭제 시 좋아요 정보 정리
+    public void deleteAllForPost(Long postId) {
+        postLikeRepository.deleteAllByPostId(postId);
+        dirtyPostIds.remove(postId);
+    }
+
+    // 좋아요 (이미 눌렀다면 아무것도 하지 않고 false 반환)
+    // 좋아요 저장과 샤드 반영을 자체 트랜잭션에서 커밋 (호출한 쪽의 트랜잭션에는 참여하지 않음)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean like(Long postId, Long memberId) {
+        try {
+            return newTransaction.execute(status -> insertLike(postId, memberId));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 회원의 좋아요가 동시에 들어와 유니크 제약에 의해 하나만 저장됨 -> 이미 누른 것으로 처리
+            if (postLikeRepository.existsByPostIdAndMemberId(postId, memberId)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private boolean insertLike(Long postId, Long memberId) {
+        if (postLikeRepository.existsByPostIdAndMemberId(postId, memberId)) {
+            return false;
+        }
+        Post post = postRepository.findById(postId)
+                .filter(p -> !p.isDeleted())
+                .orElseThrow(() -> new PostNotFoundException(postId));
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new MemberNotFoundException(memberId));
+
+        postLikeRepository.save(PostLike.builder()
+                .post(post)
+                .member(member)
+                .build());
+        addToCounter(postId, 1L);
+        return true;
+    }
+
+    // 좋아요 취소 (누른 적이 없다면 아무것도 하지 않고 false 반환)
+    public boolean unlike(Long postId, Long memberId) {
+        if (postLikeRepository.deleteByPostIdAndMemberId(postId, memberId) == 0) {
+            return false;
+        }
+        addToCounter(postId, -1L);
+        return true;
+    }
+
+    // 좋아요 여부 확인
+    @Transactional(readOnly = true)
+    public boolean hasLiked(Long postId, Long memberId) {
+        return postLikeRepository.existsByPostIdAndMemberId(postId, memberId);
+    }
+
+    // 현재 좋아요 수 (샤드 합계)
+    @Transactional(readOnly = true)
+    public long getLikeCount(Long postId) {
+        return postLikeRepository.sumCounterShards(postId);
+    }
+
+    // 변경된 게시글의 likeCount 컬럼을 샤드 합계로 다시 계산
+    // 목록 화면 등에서 Post.likeCount를 그대로 보여줄 수 있도록 주기적으로 동기화
+    @Scheduled(fixedDelayString = "${board.like-count.sync-interval-ms:5000}")
+    public void syncLikeCounts() {
+        List<Long> postIds = new ArrayList<>();
+        for (Long postId : dirtyPostIds) {
+            if (dirtyPostIds.remove(postId)) {
+                postIds.add(postId);
+            }
+        }
+        if (postIds.isEmpty()) {
+            return;
+        }
+        try {
+            postLikeRepository.refreshLikeCounts(postIds);
+        } catch (RuntimeException e) {
+            dirtyPostIds.addAll(postIds); // 다음 주기에 다시 시도
+            throw e;
+        }
+    }
+
+    // 임의의 샤드 하나에 증분 반영
+    private void addToCounter(Long postId, long delta) {
+        int shard = ThreadLocalRandom.current().nextInt(COUNTER_SHARDS);
+        if (postLikeRepository.addToCounterShard(postId, shard, delta) == 0) {
+            // 샤드가 준비되지 않은 기존 게시글
+            createMissingShards(postId);
+            postLikeRepository.addToCounterShard(postId, shard, delta);
+        }
+        // 커밋된 뒤에 동기화 대상으로 등록해야 커밋 전 합계로 덮어쓰지 않음
+        TransactionCallbacks.afterCommit(() -> dirtyPostIds.add(postId));
+    }
+
+    // 샤드를 별도 트랜잭션에서 만들어 커밋 (값이 모두 0이라 좋아요가 롤백돼도 남아 있어도 됨)
+    // 동시에 같은 게시글의 샤드를 만들면 한쪽은 유니크 제약에 걸리지만, 이미 만들어졌으므로 그대로 진행
+    void createMissingShards(Long postId) {
+        try {
+            newTransaction.executeWithoutResult(status -> postLikeRepository.createCounterShards(postId, COUNTER_SHARDS));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 만듦
+        }
+    }
+}
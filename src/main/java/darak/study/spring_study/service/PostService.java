@@ -1,36 +1,84 @@
 package darak.study.spring_study.service;
 
+import darak.study.spring_study.cache.PostDetailCache;
+import darak.study.spring_study.cache.ReadCoalescer;
+import darak.study.spring_study.datasource.ReplicationRoutingDataSource;
+import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.AttachmentVariant;
 import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.dto.PostCursorPageResponse;
+import darak.study.spring_study.dto.PostDetailResponse;
 import darak.study.spring_study.dto.PostUpdateRequest;
 import darak.study.spring_study.dto.PostPageResponse;
+import darak.study.spring_study.repository.AttachmentBlobRepository;
+import darak.study.spring_study.repository.AttachmentRepository;
+import darak.study.spring_study.repository.AttachmentVariantRepository;
 import darak.study.spring_study.repository.PostRepository;
-import darak.study.spring_study.dto.PostResponse;
-import jakarta.persistence.OptimisticLockException;
+import darak.study.spring_study.dto.PostSummary;
+import darak.study.spring_study.dto.SeekCursor;
+import darak.study.spring_study.exception.PostNotFoundException;
+import darak.study.spring_study.search.CommentSearchIndex;
+import darak.study.spring_study.search.PostSearchIndex;
+import darak.study.spring_study.search.SearchHits;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.ConcurrentModificationException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class PostService {
+    // 페이지 번호 방식으로 건너뛸 수 있는 최대 행 수 (그보다 깊은 페이지는 커서 기반 조회 사용)
+    private static final int MAX_PAGING_OFFSET = 1_000;
 
     private final PostRepository postRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final PostLikeService postLikeService;
+    private final PostCountService postCountService;
+    private final PostSearchIndex postSearchIndex;
+    private final CommentSearchIndex commentSearchIndex;
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentBlobRepository attachmentBlobRepository;
+    private final AttachmentVariantRepository attachmentVariantRepository;
+    private final PostDetailCache postDetailCache;
+    private final ReadCoalescer readCoalescer;
 
     // 게시글 생성
     public Long createPost(Post post) {
         validatePostFields(post);  // 필드 유효성 검사
         postRepository.save(post);
+        postLikeService.initCounter(post.getId());  // 좋아요 수 샤드 준비
+        postCountService.increment(post);           // 게시글 수 집계 반영
+        TransactionCallbacks.afterCommit(() -> postSearchIndex.index(post));
         return post.getId();
     }
 
+    // 게시글 일괄 생성 (가져오기/초기 데이터용, 배치 INSERT)
+    // 좋아요 수 샤드는 첫 좋아요 시 만들어짐
+    public List<Long> createPosts(List<Post> posts) {
+        posts.forEach(this::validatePostFields);
+        List<Post> saved = postRepository.saveAll(posts);
+        postCountService.incrementAll(saved);
+        TransactionCallbacks.afterCommit(() -> saved.forEach(postSearchIndex::index));
+        return saved.stream().map(Post::getId).collect(Collectors.toList());
+    }
+
     // 게시글 필드 유효성 검사
 
     private void validatePostFields(Post post) {
@@ -50,6 +98,13 @@ public class PostService {
         if (page < 1) {
             throw new IllegalArgumentException("페이지 번호는 1 이상이어야 합니다.");
         }
+        validatePageSize(size);
+        if ((long) (page - 1) * size > MAX_PAGING_OFFSET) {
+            throw new IllegalArgumentException("깊은 페이지는 커서 기반 조회를 이용해주세요.");
+        }
+    }
+
+    private void validatePageSize(int size) {
         if (size < 1 || size > 100) {
             throw new IllegalArgumentException("페이지 크기는 1에서 100 사이여야 합니다.");
         }
@@ -70,43 +125,145 @@ public class PostService {
     // 게시글 삭제
     @Transactional
     public void deletePost(Long postId) {
+        Post post = postRepository.findById(postId)
+            .orElseThrow(() -> new PostNotFoundException(postId));
+        postCountService.decrement(post);
+        postLikeService.deleteAllForPost(postId);  // 게시글을 참조하는 좋아요/샤드 먼저 삭제
+        releaseAttachmentContents(postId);         // 함께 삭제되는 첨부파일의 내용 참조 해제
         postRepository.deleteById(postId);
+        TransactionCallbacks.afterCommit(() -> {
+            postSearchIndex.remove(postId);
+            commentSearchIndex.removePost(postId);
+            postDetailCache.invalidate(postId);
+        });
+    }
+
+    private void releaseAttachmentContents(Long postId) {
+        attachmentRepository.findByPostId(postId).stream()
+                .map(Attachment::getContentHash)
+                .filter(Objects::nonNull)
+                .forEach(attachmentBlobRepository::decrementRefCount);
+    }
+
+    // 게시글 상태 변경
+    public void changePostStatus(Long postId, PostStatus status) {
+        Post post = postRepository.findById(postId)
+            .orElseThrow(() -> new PostNotFoundException(postId));
+        PostStatus previous = post.getStatus();
+        post.changeStatus(status);
+        postCountService.changeStatus(post, previous, status);
+        TransactionCallbacks.afterCommit(() -> {
+            postSearchIndex.index(post);  // 삭제 상태면 색인에서 제거됨
+            if (status == PostStatus.DELETED) {
+                commentSearchIndex.removePost(postId);
+            } else if (previous == PostStatus.DELETED) {
+                commentSearchIndex.reindexPost(postId);
+            }
+            postDetailCache.invalidate(postId);
+        });
     }
 
     // 특정 작성자의 게시글 조회
     @Transactional(readOnly = true)
-    public List<Post> findPostsByAuthorId(Long authorId) {
+    public List<PostSummary> findPostsByAuthorId(Long authorId) {
         return postRepository.findByAuthorId(authorId);
     }
 
     // 제목이나 내용에 특정 키워드가 포함된 게시글 조회
     @Transactional(readOnly = true)
-    public List<Post> findByNameOrContentContaining(String keyword) {
+    public List<PostSummary> findByNameOrContentContaining(String keyword) {
         return postRepository.findByNameOrContentContaining(keyword);
     }
 
     // 제목에 특정 키워드가 포함된 게시글 조회
     @Transactional(readOnly = true)
-    public List<Post> findByTitleContaining(String keyword) {
+    public List<PostSummary> findByTitleContaining(String keyword) {
         return postRepository.findByNameContaining(keyword);
     }
 
+    // 제목/내용 검색 (검색 색인 사용, 관련도 순 페이징)
     @Transactional(readOnly = true)
-    public Optional<Post> findPostWithComments(Long postId) {
-        return postRepository.findByIdWithMemberAndComments(postId);
+    public PostPageResponse searchPosts(String keyword, int page, int size) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new IllegalArgumentException("검색어는 필수입니다.");
+        }
+        validatePagingParameters(page, size);
+
+        SearchHits hits = postSearchIndex.search(keyword, (page - 1) * size, size);
+        Map<Long, PostSummary> postsById = postRepository.findSummariesByIds(hits.ids()).stream()
+            .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+
+        return PostPageResponse.builder()
+            .posts(hits.ids().stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)                   // 색인 갱신 직전에 삭제된 게시글 제외
+                .map(post -> post.withPendingViewCount(viewCountBuffer.pendingCount(post.getId())))
+                .toList())                                  // 합쳐진 호출들이 공유하므로 불변 목록으로 반환
+            .currentPage(page)
+            .pageSize(size)
+            .totalCount(hits.totalHits())
+            .totalPages((hits.totalHits() + size - 1) / size)
+            .build();
     }
 
-    @Transactional(readOnly = true)
+    // 게시글 상세 조회 (게시글 + 작성자 + 댓글 + 첨부파일, 캐시 우선)
+    // 캐시 미스가 동시에 몰리면 한 번만 DB에서 읽음 (트랜잭션은 ReadCoalescer가 조회하는 호출에만 시작)
+    // 쓰기 트랜잭션 안에서 호출되면 커밋 전 변경이 캐시에 들어가지 않도록 캐시를 거치지 않고 직접 조회
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<PostDetailResponse> findPostWithComments(Long postId) {
+        PostDetailResponse detail;
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            detail = loadPostDetail(postId);
+        } else {
+            detail = postDetailCache.getIfPresent(postId);
+            if (detail == null) {
+                // 캐시에 넣을 값이므로 복제본이 아닌 주 DB에서 읽음
+                detail = ReplicationRoutingDataSource.readFromPrimary(() -> readCoalescer.read("postDetail", postId,
+                    () -> postDetailCache.get(postId, this::loadPostDetail)));
+            }
+        }
+        return Optional.ofNullable(detail)
+            .map(d -> d.withPendingViewCount(viewCountBuffer.pendingCount(postId)));
+    }
+
+    // 캐시 미스 시 DB에서 상세 스냅샷 구성 (삭제된 게시글은 null)
+    private PostDetailResponse loadPostDetail(Long postId) {
+        return postRepository.findByIdWithMemberAndComments(postId)
+            .map(post -> {
+                List<Attachment> attachments = attachmentRepository.findByPostId(postId);
+                return PostDetailResponse.from(post, attachments, findVariants(attachments));
+            })
+            .orElse(null);
+    }
+
+    // 첨부파일 내용별 축소본 (내용이 저장된 첨부파일이 없으면 조회하지 않음)
+    private Map<String, List<AttachmentVariant>> findVariants(List<Attachment> attachments) {
+        Set<String> hashes = attachments.stream()
+            .map(Attachment::getContentHash)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (hashes.isEmpty()) {
+            return Map.of();
+        }
+        return attachmentVariantRepository.findByContentHashIn(hashes).stream()
+            .collect(Collectors.groupingBy(AttachmentVariant::getContentHash));
+    }
+
+    // 같은 페이지에 대한 동시 조회는 한 번만 DB에서 읽음
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PostPageResponse findPostsWithPaging(int page, int size) {
         validatePagingParameters(page, size);
+        return readCoalescer.read("postPage", List.of(page, size), () -> loadPostsWithPaging(page, size));
+    }
 
-        List<Post> posts = postRepository.findAllWithPaging((page - 1) * size, size);
-        long totalCount = postRepository.count();
+    private PostPageResponse loadPostsWithPaging(int page, int size) {
+        List<PostSummary> posts = postRepository.findSummaries((page - 1) * size, size);
+        long totalCount = postCountService.countVisiblePosts();  // 집계 테이블에서 조회 (삭제된 게시글 제외)
         
        return PostPageResponse.builder()
             .posts(posts.stream()
-                .map(PostResponse::from)
-                .collect(Collectors.toList()))
+                .map(post -> post.withPendingViewCount(viewCountBuffer.pendingCount(post.getId())))
+                .toList())                                  // 합쳐진 호출들이 공유하므로 불변 목록으로 반환
             .currentPage(page)
             .pageSize(size)
             .totalCount(totalCount)
@@ -114,25 +271,68 @@ public class PostService {
             .build();
     }
 
-    @Transactional
-    public void incrementLikeCount(Long postId) {
-        try {
-            handleOptimisticLockException(() -> 
-                postRepository.incrementLikeCount(postId));
-        } catch (OptimisticLockException e) {
-            throw new ConcurrentModificationException("다시 시도해주세요.");
-        }
+    // 커서 기반 게시글 목록 조회
+    // cursor가 null이면 첫 페이지, 응답의 nextCursor/prevCursor로 앞뒤 페이지 이동
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PostCursorPageResponse findPostsByCursor(String cursor, int size) {
+        validatePageSize(size);
+        return readCoalescer.read("postCursorPage", Arrays.asList(cursor, size), () -> loadPostsByCursor(cursor, size));
     }
 
+    private PostCursorPageResponse loadPostsByCursor(String cursor, int size) {
+        List<PostSummary> posts;
+        boolean hasNext;
+        boolean hasPrev;
+        if (cursor == null) {
+            posts = postRepository.findSummaries(0, size + 1);
+            hasNext = posts.size() > size;
+            hasPrev = false;
+            posts = posts.subList(0, Math.min(size, posts.size()));
+        } else {
+            SeekCursor seek = SeekCursor.decode(cursor);
+            if (seek.isNext()) {
+                posts = postRepository.findSummariesOlderThan(seek.getCreateDate(), seek.getId(), size + 1);
+                hasNext = posts.size() > size;
+                hasPrev = true;
+                posts = posts.subList(0, Math.min(size, posts.size()));
+            } else {
+                // 오래된 순으로 읽어온 뒤 최신순으로 뒤집음
+                posts = new ArrayList<>(postRepository.findSummariesNewerThan(seek.getCreateDate(), seek.getId(), size + 1));
+                hasPrev = posts.size() > size;
+                hasNext = true;
+                posts = posts.subList(0, Math.min(size, posts.size()));
+                Collections.reverse(posts);
+            }
+        }
 
-    @Transactional
+        PostSummary first = posts.isEmpty() ? null : posts.get(0);
+        PostSummary last = posts.isEmpty() ? null : posts.get(posts.size() - 1);
+        return PostCursorPageResponse.builder()
+            .posts(posts.stream()
+                .map(post -> post.withPendingViewCount(viewCountBuffer.pendingCount(post.getId())))
+                .toList())
+            .pageSize(size)
+            .hasNext(hasNext && last != null)
+            .hasPrev(hasPrev && first != null)
+            .nextCursor(hasNext && last != null
+                ? SeekCursor.next(last.getCreateDate(), last.getId()).encode() : null)
+            .prevCursor(hasPrev && first != null
+                ? SeekCursor.prev(first.getCreateDate(), first.getId()).encode() : null)
+            .build();
+    }
+
+    // 조회수 증가
+    // 매 조회마다 DB를 갱신하지 않고 버퍼에 누적 (주기적으로 일괄 반영)
     public void incrementViewCount(Long postId) {
-        try {
-            handleOptimisticLockException(() -> 
-                postRepository.incrementViewCount(postId));
-        } catch (OptimisticLockException e) {
-            throw new ConcurrentModificationException("다시 시도해주세요.");
-        }
+        viewCountBuffer.increment(postId);
+    }
+
+    // 조회수 조회 (DB 값 + 아직 반영되지 않은 증분)
+    @Transactional(readOnly = true)
+    public long getViewCount(Long postId) {
+        Post post = postRepository.findById(postId)
+            .orElseThrow(() -> new PostNotFoundException(postId));
+        return post.getViewCount() + viewCountBuffer.pendingCount(postId);
     }
 
 
@@ -141,30 +341,10 @@ public class PostService {
         Post post = postRepository.findById(postId)
             .orElseThrow(() -> new RuntimeException("해당 id의 게시글을 찾을 수 없습니다"));
         post.update(request.getName(), request.getContent());
-    }
-
-    // 공통 예외 처리 메서드
-    private void handleOptimisticLockException(Runnable operation) {
-        int maxRetries = 3;        // 최대 3번까지 재시도
-        int retryCount = 0;
-        
-        while (retryCount < maxRetries) {
-            try {
-                operation.run();    // 실제 작업 실행
-                return;            // 성공하면 메서드 종료
-            } catch (OptimisticLockException e) {
-                retryCount++;
-                if (retryCount == maxRetries) {  // 3번 실패하면
-                    throw e;                      // 예외 발생
-                }
-                try {
-                    Thread.sleep(100);  // 100ms 대기 후 재시도
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("처리가 중단되었습니다.", ie);
-                }
-            }
-        }
+        TransactionCallbacks.afterCommit(() -> {
+            postSearchIndex.index(post);
+            postDetailCache.invalidate(postId);
+        });
     }
 
 }
@@ -1,18 +1,29 @@
 package darak.study.spring_study.service;
 
+import darak.study.spring_study.cache.MemberEmailIndex;
 import darak.study.spring_study.repository.MemberRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.support.TransactionOperations;
 
 @Configuration
+@EnableScheduling
 public class SpringConfig {
     private final MemberRepository memberRepository;
+    private final MemberEmailIndex memberEmailIndex;
+    private final PasswordHasher passwordHasher;
+    private final TransactionOperations transactionOperations;
 
-    public SpringConfig(MemberRepository memberRepository) {
+    public SpringConfig(MemberRepository memberRepository, MemberEmailIndex memberEmailIndex,
+                        PasswordHasher passwordHasher, TransactionOperations transactionOperations) {
         this.memberRepository = memberRepository;
+        this.memberEmailIndex = memberEmailIndex;
+        this.passwordHasher = passwordHasher;
+        this.transactionOperations = transactionOperations;
     }
 
     @Bean public MemberService memberService() {
-        return new MemberService(memberRepository);
+        return new MemberService(memberRepository, memberEmailIndex, passwordHasher, transactionOperations);
     }
 }
@@ -0,0 +1,264 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.cache.PostDetailCache;
+import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.AttachmentVariant;
+import darak.study.spring_study.domain.AttachmentVariantType;
+import darak.study.spring_study.repository.AttachmentVariantRepository;
+import darak.study.spring_study.storage.BlobStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 이미지 첨부파일 축소본 생성 실행기
+// 첨부파일 저장이 커밋된 뒤 작업을 대기열에 넣기만 하므로 업로드 요청은 축소를 기다리지 않음
+// 전용 스레드 수와 대기열 크기가 정해져 있어 업로드가 몰려도 CPU/메모리 사용이 제한되며,
+// 대기열이 가득 차면 작업을 버리고(축소본 없이 원본 사용) attachment.thumbnails.rejected를 올림
+// 지표: attachment.thumbnails.queue(대기 중 작업 수), attachment.thumbnails.wait(대기 시간),
+//       attachment.thumbnails.duration(생성 시간, result 태그)
+@Slf4j
+@Component
+public class ThumbnailService {
+    private static final Set<String> IMAGE_TYPES = Set.of("image/jpeg", "image/png", "image/gif");
+
+    private final AttachmentVariantRepository attachmentVariantRepository;
+    private final BlobStore blobStore;
+    private final PostDetailCache postDetailCache;
+    private final TransactionOperations transactionOperations;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();   // 같은 내용을 동시에 두 번 만들지 않도록
+
+    private final Timer waitTimer;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Counter rejected;
+
+    public ThumbnailService(AttachmentVariantRepository attachmentVariantRepository,
+                            BlobStore blobStore,
+                            PostDetailCache postDetailCache,
+                            TransactionOperations transactionOperations,
+                            MeterRegistry meterRegistry,
+                            @Value("${board.thumbnail.threads:2}") int threads,
+                            @Value("${board.thumbnail.queue-capacity:200}") int queueCapacity) {
+        this.attachmentVariantRepository = attachmentVariantRepository;
+        this.blobStore = blobStore;
+        this.postDetailCache = postDetailCache;
+        this.transactionOperations = transactionOperations;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("attachment.thumbnails.queue", executor, e -> e.getQueue().size())
+                .description("대기 중인 축소본 생성 작업 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("attachment.thumbnails.wait")
+                .description("축소본 생성 작업이 대기열에서 기다린 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.successTimer = durationTimer(meterRegistry, "success");
+        this.failureTimer = durationTimer(meterRegistry, "failure");
+        this.rejected = Counter.builder("attachment.thumbnails.rejected")
+                .description("대기열이 가득 차 버려진 축소본 생성 작업 수")
+                .register(meterRegistry);
+    }
+
+    // 이미지 첨부파일이면 축소본 생성을 요청 (진행 중인 트랜잭션이 있으면 커밋 후 대기열에 넣음)
+    public void requestThumbnails(Attachment attachment) {
+        String hash = attachment.getContentHash();
+        if (hash == null || !IMAGE_TYPES.contains(attachment.getFileType())) {
+            return;
+        }
+        Long postId = attachment.getPost() != null ? attachment.getPost().getId() : null;
+        TransactionCallbacks.afterCommit(() -> submit(hash, postId));
+    }
+
+    private void submit(String hash, Long postId) {
+        if (!inFlight.add(hash)) {
+            return;
+        }
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    generate(hash, postId);
+                } finally {
+                    inFlight.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash);
+            rejected.increment();
+            log.warn("축소본 생성 대기열이 가득 차 작업을 버림: {}", hash);
+        }
+    }
+
+    // 축소본 생성 후 기록 (이미 있으면 건너뜀, 같은 내용의 첨부파일은 축소본을 함께 씀)
+    void generate(String hash, Long postId) {
+        long started = System.nanoTime();
+        try {
+            if (!attachmentVariantRepository.findByContentHash(hash).isEmpty()) {
+                return;
+            }
+            List<AttachmentVariant> variants = createVariants(hash);
+            if (variants.isEmpty()) {
+                return;
+            }
+            transactionOperations.executeWithoutResult(status -> attachmentVariantRepository.saveAll(variants));
+            if (postId != null) {
+                postDetailCache.invalidate(postId);
+            }
+            successTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 먼저 기록함
+            successTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException | IOException e) {
+            failureTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            log.warn("축소본 생성 실패: {}", hash, e);
+        }
+    }
+
+    // 큰 축소본부터 만들고, 작은 축소본은 바로 앞 결과에서 다시 줄임
+    private List<AttachmentVariant> createVariants(String hash) throws IOException {
+        int largestEdge = maxEdge();
+        BufferedImage image = read(blobStore.path(hash), largestEdge);
+        if (image == null) {
+            log.info("읽을 수 없는 이미지라 축소본을 만들지 않음: {}", hash);
+            return List.of();
+        }
+
+        boolean alpha = image.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        List<AttachmentVariant> variants = new ArrayList<>();
+        BufferedImage source = image;
+        List<AttachmentVariantType> types = new ArrayList<>(List.of(AttachmentVariantType.values()));
+        types.sort(Comparator.comparingInt(AttachmentVariantType::getMaxEdge).reversed());
+        for (AttachmentVariantType type : types) {
+            source = scale(source, type.getMaxEdge(), alpha);
+            Path file = blobStore.variantPath(hash, type.name().toLowerCase() + "." + format);
+            write(source, format, file);
+            variants.add(AttachmentVariant.builder()
+                    .contentHash(hash)
+                    .type(type)
+                    .width(source.getWidth())
+                    .height(source.getHeight())
+                    .fileType(alpha ? "image/png" : "image/jpeg")
+                    .fileSize(Files.size(file))
+                    .path(blobStore.relativePath(file))
+                    .build());
+        }
+        return variants;
+    }
+
+    // 원본이 축소본보다 훨씬 크면 읽을 때부터 픽셀을 건너뛰어 읽음 (원본 해상도 전체를 메모리에 올리지 않도록)
+    private static BufferedImage read(Path file, int targetEdge) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestEdge / (targetEdge * 2));   // 화질을 위해 목표의 두 배 이상은 남김
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 긴 변이 maxEdge 이하가 되도록 비율을 유지해 줄임 (이미 작으면 그대로)
+    private static BufferedImage scale(BufferedImage source, int maxEdge, boolean alpha) {
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    // 임시 파일에 쓴 뒤 옮겨서 읽는 쪽이 쓰다 만 파일을 보지 않도록 함
+    private static void write(BufferedImage image, String format, Path file) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                throw new IllegalStateException("지원하지 않는 이미지 형식입니다: " + format);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("축소본을 저장하지 못했습니다: " + file, e);
+        }
+    }
+
+    private static int maxEdge() {
+        int max = 0;
+        for (AttachmentVariantType type : AttachmentVariantType.values()) {
+            max = Math.max(max, type.getMaxEdge());
+        }
+        return max;
+    }
+
+    private static Timer durationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("attachment.thumbnails.duration")
+                .description("축소본 생성 시간")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,26 @@
+package darak.study.spring_study.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 트랜잭션 커밋 이후에 실행할 작업 등록
+// 메모리 상의 인덱스, 캐시 등이 롤백된 변경을 반영하거나 커밋 전 상태를 읽지 않도록 하기 위함
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    // 진행 중인 트랜잭션이 있으면 커밋 후에, 없으면 즉시 실행
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
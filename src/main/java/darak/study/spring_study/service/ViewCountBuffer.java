@@ -0,0 +1,135 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 조회수 쓰기 지연(write-behind) 버퍼
+// 조회 요청마다 DB를 갱신하지 않고 게시글별 LongAdder에 누적한 뒤,
+// 주기적으로(또는 누적된 게시글 수가 임계치를 넘으면) 게시글당 UPDATE 한 번으로 반영한다.
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final int flushThreshold;
+
+    // 게시글 ID -> 아직 반영되지 않은 조회수
+    // LongAdder는 내부적으로 셀을 나누어(striped) 누적하므로 인기 게시글에 요청이 몰려도 경합이 적음
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ViewCountBuffer(PostRepository postRepository,
+                           PlatformTransactionManager transactionManager,
+                           TaskScheduler taskScheduler,
+                           @Value("${board.view-count.flush-threshold:1000}") int flushThreshold) {
+        this.postRepository = postRepository;
+        this.taskScheduler = taskScheduler;
+        this.flushThreshold = flushThreshold;
+        // 호출한 쪽의 트랜잭션과 무관하게 별도 트랜잭션으로 반영
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 조회수 1 증가 (DB 접근 없음)
+    public void increment(Long postId) {
+        add(postId, 1L);
+
+        // 누적된 게시글 수가 임계치를 넘으면 주기를 기다리지 않고 비동기로 반영
+        if (pending.size() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    // 아직 반영되지 않은 조회수 (조회 시 DB 값에 더해 실시간에 가깝게 보여주기 위함)
+    public long pendingCount(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    // 누적된 조회수를 DB에 반영
+    @Scheduled(fixedDelayString = "${board.view-count.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            Map<Long, Long> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    deltas.forEach(postRepository::incrementViewCount));
+            } catch (RuntimeException e) {
+                // 반영에 실패한 증분은 버리지 않고 다음 주기에 다시 시도
+                deltas.forEach(this::restore);
+                log.warn("조회수 반영에 실패했습니다. 다음 주기에 재시도합니다. posts={}", deltas.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 종료 시 남은 조회수 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // 게시글별 누적값을 꺼내고 0으로 초기화
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(postId, delta);
+                return;
+            }
+            // 한 주기 동안 조회가 없던 게시글은 맵에서 제거해 메모리를 회수
+            // 제거 직전에 들어온 증분은 다시 옮겨 담음 (제거 뒤에 들어온 증분은 add가 옮겨 담음)
+            if (pending.remove(postId, adder)) {
+                long late = adder.sumThenReset();
+                if (late > 0) {
+                    restore(postId, late);
+                }
+            }
+        });
+        return deltas;
+    }
+
+    private void restore(Long postId, long delta) {
+        add(postId, delta);
+    }
+
+    // 게시글의 adder에 증분을 더함
+    // 꺼낸 adder를 drain이 그 사이 맵에서 제거했다면 증분이 버려진 adder에 남았을 수 있으므로,
+    // 남은 값을 꺼내(sumThenReset은 셀마다 원자적으로 꺼내므로 drain과 나눠 가져도 중복/유실 없음) 새 adder에 다시 더함
+    private void add(Long postId, long delta) {
+        while (delta > 0) {
+            LongAdder adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+            adder.add(delta);
+            if (pending.get(postId) == adder) {
+                return;
+            }
+            delta = adder.sumThenReset();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package darak.study.spring_study.storage;
+
+import darak.study.spring_study.repository.AttachmentBlobRepository;
+import darak.study.spring_study.repository.AttachmentVariantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 참조가 없는 첨부파일 내용 정리
+// 참조 수가 0이 된 뒤 유예 시간이 지난 내용을 행 잠금을 건 상태에서 다시 확인하고 파일(축소본 포함)과 함께 삭제
+// 유예 시간 동안은 같은 내용이 다시 업로드되면 파일을 그대로 재사용함
+@Slf4j
+@Component
+public class AttachmentBlobCollector {
+    private static final int BATCH_SIZE = 100;
+
+    private final AttachmentBlobRepository attachmentBlobRepository;
+    private final AttachmentVariantRepository attachmentVariantRepository;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration grace;
+
+    public AttachmentBlobCollector(AttachmentBlobRepository attachmentBlobRepository,
+                                   AttachmentVariantRepository attachmentVariantRepository,
+                                   BlobStore blobStore,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${board.attachment.gc-grace-seconds:3600}") long graceSeconds) {
+        this.attachmentBlobRepository = attachmentBlobRepository;
+        this.attachmentVariantRepository = attachmentVariantRepository;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.grace = Duration.ofSeconds(graceSeconds);
+    }
+
+    @Scheduled(initialDelayString = "${board.attachment.gc-interval-ms:600000}",
+            fixedDelayString = "${board.attachment.gc-interval-ms:600000}")
+    public void collect() {
+        int deleted = collectOrphans(LocalDateTime.now().minus(grace));
+        int tempFiles = blobStore.deleteTempFilesOlderThan(Instant.now().minus(grace));
+        if (deleted > 0 || tempFiles > 0) {
+            log.info("첨부파일 내용 정리: 내용 {}개, 임시 파일 {}개 삭제", deleted, tempFiles);
+        }
+    }
+
+    // cutoff 이전부터 참조가 없던 내용을 삭제 (삭제한 개수 반환)
+    public int collectOrphans(LocalDateTime cutoff) {
+        int deleted = 0;
+        List<String> hashes;
+        do {
+            hashes = attachmentBlobRepository.findCollectable(cutoff, BATCH_SIZE);
+            int before = deleted;
+            for (String hash : hashes) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> collect(hash, cutoff)))) {
+                    deleted++;
+                }
+            }
+            if (deleted == before) {
+                break;                                  // 모두 다시 참조됨 (같은 목록 반복 방지)
+            }
+        } while (hashes.size() == BATCH_SIZE);
+        return deleted;
+    }
+
+    // 행을 잠근 뒤 여전히 정리 대상인지 다시 확인 (그 사이 다시 업로드/참조됐을 수 있음)
+    private boolean collect(String hash, LocalDateTime cutoff) {
+        return attachmentBlobRepository.findByIdForUpdate(hash)
+                .filter(blob -> blob.getRefCount() == 0 && blob.getLastUsedAt().isBefore(cutoff))
+                .map(blob -> {
+                    blobStore.delete(hash);                 // 원본 옆의 축소본 파일도 함께 삭제
+                    attachmentVariantRepository.deleteByContentHash(hash);
+                    attachmentBlobRepository.delete(blob);
+                    return true;
+                })
+                .orElse(false);
+    }
+}
@@ -0,0 +1,321 @@
+package darak.study.spring_study.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// 내용 주소 기반 첨부파일 저장소 (로컬 디렉터리)
+// 파일은 내용의 SHA-256으로 <root>/ab/cd/<hash> 에 저장되어 같은 내용은 한 번만 저장됨
+// 쓰기는 고정 크기 direct 버퍼로 FileChannel에 흘려 쓰면서 해시를 계산하므로 파일 전체를 힙에 올리지 않고,
+// 읽기는 FileChannel.transferTo로 커널이 직접 복사 (가능한 플랫폼에서는 sendfile)
+// 분할 업로드는 <root>/uploads/<업로드 ID> 에 청크를 이어 쓴 뒤 완료되면 같은 방식으로 제자리에 옮김
+// 축소본 등 원본에서 만든 파일은 원본 옆 <hash>.<suffix> 에 두고 원본을 삭제할 때 함께 삭제
+// 어떤 내용이 아직 쓰이는지는 DB(AttachmentBlob)가 관리하며, 여기서는 파일만 다룸
+@Component
+public class BlobStore {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    private final Path root;
+    private final Path tempDir;
+    private final Path uploadDir;
+
+    public BlobStore(@Value("${board.attachment.storage-dir:data/attachments}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.tempDir = this.root.resolve("tmp");
+        this.uploadDir = this.root.resolve("uploads");
+        try {
+            Files.createDirectories(tempDir);
+            Files.createDirectories(uploadDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("첨부파일 저장소를 만들 수 없습니다: " + this.root, e);
+        }
+    }
+
+    // 내용을 임시 파일에 쓰고 해시를 계산 (maxBytes를 넘으면 중단하고 임시 파일 삭제)
+    // 반환된 임시 파일은 commit() 또는 discard()로 정리해야 함
+    public PendingBlob write(ReadableByteChannel source, long maxBytes) {
+        Path temp = createTempFile();
+        MessageDigest digest = newDigest();
+        long size;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            size = copy(source, out, maxBytes, digest,
+                    "파일 크기는 " + maxBytes + "바이트를 초과할 수 없습니다.");
+            out.force(true);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("첨부파일을 저장하지 못했습니다.", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+        return new PendingBlob(temp, new StoredBlob(HexFormat.of().formatHex(digest.digest()), size));
+    }
+
+    // 업로드 파일(없으면 생성)의 offset 위치부터 source를 끝까지 이어 쓰고 digest에 반영 (쓴 바이트 수 반환)
+    // maxBytes를 넘거나 쓰는 중 실패하면 offset까지 잘라내 마지막으로 확인된 상태로 되돌림
+    // (이때 digest는 일부만 반영된 상태이므로 버려야 함)
+    public long append(String uploadId, long offset, ReadableByteChannel source, long maxBytes, MessageDigest digest) {
+        try (FileChannel out = FileChannel.open(uploadPath(uploadId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            out.position(offset);
+            try {
+                long written = copy(source, out, maxBytes, digest, "업로드 크기가 선언한 파일 크기를 초과했습니다.");
+                out.force(true);                        // 기록이 끝난 위치만 클라이언트에 알려 줌
+                return written;
+            } catch (IOException | RuntimeException e) {
+                out.truncate(offset);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("업로드 청크를 저장하지 못했습니다.", e);
+        }
+    }
+
+    // 업로드 파일 앞부분 length 바이트의 해시 상태 (서버 재시작 등으로 진행 중인 해시를 잃었을 때 다시 계산)
+    public MessageDigest digestUpload(String uploadId, long length) {
+        MessageDigest digest = newDigest();
+        if (length == 0) {
+            return digest;
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel in = FileChannel.open(uploadPath(uploadId), StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < length) {
+                buffer.clear().limit((int) Math.min(BUFFER_SIZE, length - position));
+                int n = in.read(buffer, position);
+                if (n < 0) {
+                    throw new IllegalStateException("업로드 파일이 기록된 위치보다 짧습니다.");
+                }
+                buffer.flip();
+                digest.update(buffer);
+                position += n;
+            }
+            return digest;
+        } catch (IOException e) {
+            throw new UncheckedIOException("업로드 파일을 읽지 못했습니다.", e);
+        }
+    }
+
+    // 업로드 파일 앞부분 (파일 형식 확인용)
+    public byte[] readUploadHeader(String uploadId, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel in = FileChannel.open(uploadPath(uploadId), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && in.read(buffer, buffer.position()) > 0) {
+                // 요청한 길이 또는 파일 끝까지 읽음
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("업로드 파일을 읽지 못했습니다.", e);
+        }
+        byte[] header = new byte[buffer.position()];
+        buffer.flip().get(header);
+        return header;
+    }
+
+    // 모두 받은 업로드 파일을 commit()할 수 있는 형태로 넘김
+    public PendingBlob completeUpload(String uploadId, MessageDigest digest, long size) {
+        return new PendingBlob(uploadPath(uploadId), new StoredBlob(HexFormat.of().formatHex(digest.digest()), size));
+    }
+
+    public void deleteUpload(String uploadId) {
+        deleteQuietly(uploadPath(uploadId));
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 임시 파일을 내용 주소 위치로 옮김 (이미 같은 내용이 있으면 임시 파일만 삭제)
+    public StoredBlob commit(PendingBlob pending) {
+        Path target = path(pending.blob().hash());
+        try {
+            if (Files.exists(target)) {
+                Files.delete(pending.tempFile());
+                return pending.blob();
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(pending.tempFile(), target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(pending.tempFile(), target);
+            }
+        } catch (FileAlreadyExistsException e) {
+            deleteQuietly(pending.tempFile());          // 같은 내용이 동시에 저장됨
+        } catch (IOException e) {
+            deleteQuietly(pending.tempFile());
+            throw new UncheckedIOException("첨부파일을 저장하지 못했습니다.", e);
+        }
+        return pending.blob();
+    }
+
+    public void discard(PendingBlob pending) {
+        deleteQuietly(pending.tempFile());
+    }
+
+    public boolean exists(String hash) {
+        return Files.exists(path(hash));
+    }
+
+    public long size(String hash) {
+        try {
+            return Files.size(path(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException("첨부파일을 찾을 수 없습니다: " + hash, e);
+        }
+    }
+
+    // [position, position + count) 구간을 target으로 전송 (힙 버퍼를 거치지 않음)
+    public long transferTo(String hash, long position, long count, WritableByteChannel target) {
+        return transferTo(path(hash), position, count, target);
+    }
+
+    // 저장소의 파일(원본 또는 파생 파일)을 target으로 전송 (전송한 바이트 수 반환, 파일 끝을 넘는 구간은 끝까지만)
+    public long transferTo(Path file, long position, long count, WritableByteChannel target) {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = Math.min(position + count, in.size());
+            long transferred = 0;
+            while (position + transferred < end) {
+                long n = in.transferTo(position + transferred, end - position - transferred, target);
+                if (n <= 0) {
+                    break;
+                }
+                transferred += n;
+            }
+            return transferred;
+        } catch (IOException e) {
+            throw new UncheckedIOException("첨부파일을 읽지 못했습니다: " + file.getFileName(), e);
+        }
+    }
+
+    // 원본과 원본 옆의 파생 파일 삭제
+    public void delete(String hash) {
+        Path original = path(hash);
+        try (Stream<Path> siblings = Files.exists(original.getParent()) ? Files.list(original.getParent()) : Stream.empty()) {
+            for (Path file : (Iterable<Path>) siblings::iterator) {
+                if (file.getFileName().toString().startsWith(hash + ".")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(original);
+        } catch (IOException e) {
+            throw new UncheckedIOException("첨부파일을 삭제하지 못했습니다: " + hash, e);
+        }
+    }
+
+    // 원본 옆에 두는 파생 파일 경로 (<root>/ab/cd/<hash>.<suffix>)
+    public Path variantPath(String hash, String suffix) {
+        Path original = path(hash);
+        return original.resolveSibling(original.getFileName() + "." + suffix);
+    }
+
+    // 저장소 루트 기준 상대 경로 (DB 기록용)
+    public String relativePath(Path file) {
+        return root.relativize(file.toAbsolutePath().normalize()).toString();
+    }
+
+    // relativePath()로 기록한 경로를 다시 파일 경로로 (저장소 밖을 가리키면 거절)
+    public Path resolve(String relativePath) {
+        Path file = root.resolve(relativePath).normalize();
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("저장소 밖의 경로입니다.");
+        }
+        return file;
+    }
+
+    // 중단된 업로드가 남긴 오래된 임시 파일 삭제 (삭제한 개수 반환)
+    public int deleteTempFilesOlderThan(Instant cutoff) {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return (int) files
+                    .filter(file -> lastModified(file).isBefore(cutoff))
+                    .filter(BlobStore::deleteQuietly)
+                    .count();
+        } catch (IOException e) {
+            throw new UncheckedIOException("임시 파일 목록을 읽지 못했습니다.", e);
+        }
+    }
+
+    public Path path(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("유효하지 않은 내용 해시입니다.");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    Path uploadPath(String uploadId) {
+        if (uploadId == null || !UPLOAD_ID.matcher(uploadId).matches()) {
+            throw new IllegalArgumentException("유효하지 않은 업로드 ID입니다.");
+        }
+        return uploadDir.resolve(uploadId);
+    }
+
+    // source를 끝까지 out의 현재 위치에 복사하면서 digest에 반영 (maxBytes를 넘으면 limitMessage로 중단)
+    private static long copy(ReadableByteChannel source, FileChannel out, long maxBytes, MessageDigest digest,
+                             String limitMessage) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long size = 0;
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+            size += buffer.remaining();
+            if (size > maxBytes) {
+                throw new IllegalArgumentException(limitMessage);
+            }
+            digest.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+        return size;
+    }
+
+    private Path createTempFile() {
+        try {
+            return Files.createTempFile(tempDir, "upload-", ".tmp");
+        } catch (IOException e) {
+            throw new UncheckedIOException("임시 파일을 만들 수 없습니다.", e);
+        }
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.MAX;                         // 이미 삭제된 파일
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // 해시 계산까지 끝났지만 아직 제자리로 옮기지 않은 업로드
+    public record PendingBlob(Path tempFile, StoredBlob blob) {
+    }
+}
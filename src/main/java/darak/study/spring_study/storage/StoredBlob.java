@@ -0,0 +1,5 @@
+package darak.study.spring_study.storage;
+
+// 저장소에 쓰인 내용 (SHA-256 16진수, 바이트 수)
+public record StoredBlob(String hash, long size) {
+}
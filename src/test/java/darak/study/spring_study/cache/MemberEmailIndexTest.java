@@ -0,0 +1,58 @@
+package darak.study.spring_study.cache;
+
+import darak.study.spring_study.repository.MemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class MemberEmailIndexTest {
+
+    private MemberRepository memberRepository;
+    private MemberEmailIndex memberEmailIndex;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository = mock(MemberRepository.class);
+        memberEmailIndex = new MemberEmailIndex(memberRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 1_000L, 100L);
+    }
+
+    @Test
+    @DisplayName("재구성 전에 추가됐지만 아직 저장 중인 이메일도 새 필터에 남음")
+    void rebuildKeepsInFlightEmails() {
+        // given: 기존 필터 구성 후 가입 시작 (저장은 아직 커밋되지 않음)
+        given(memberRepository.findAllEmails()).willReturn(List.of());
+        memberEmailIndex.rebuild();
+        memberEmailIndex.add("new@test.com");
+
+        // when: 커밋 전에 전체 조회가 실행되어 새 이메일이 보이지 않음
+        memberEmailIndex.rebuild();
+
+        // then
+        assertThat(memberEmailIndex.mightExist("new@test.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("저장이 끝난 이메일은 재구성 시 DB 조회 결과만 반영")
+    void rebuildDropsFinishedEmails() {
+        // given: 가입 저장이 롤백되어 DB에 없음
+        given(memberRepository.findAllEmails()).willReturn(List.of());
+        memberEmailIndex.rebuild();
+        memberEmailIndex.add("rolledback@test.com");
+        memberEmailIndex.finishAdd("rolledback@test.com");
+
+        // when
+        memberEmailIndex.rebuild();
+
+        // then
+        assertThat(memberEmailIndex.mightExist("rolledback@test.com")).isFalse();
+    }
+}
@@ -0,0 +1,93 @@
+package darak.study.spring_study.cache;
+
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.dto.PostDetailResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostDetailCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostDetailCache postDetailCache;
+    private PostDetailResponse detail;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        postDetailCache = new PostDetailCache(meterRegistry, 1_000_000L, 300L);
+        Post post = Post.builder()
+                .id(1L)
+                .name("테스트 게시글")
+                .content("테스트 내용입니다.")
+                .member(Member.builder().id(1L).username("작성자").build())
+                .build();
+        detail = PostDetailResponse.from(post, List.of());
+    }
+
+    @Test
+    @DisplayName("두 번째 조회부터는 캐시에서 반환하고 적중/미스 통계를 기록")
+    void cachesAndRecordsStats() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        postDetailCache.get(1L, id -> { loads.incrementAndGet(); return detail; });
+        PostDetailResponse cached = postDetailCache.get(1L, id -> { loads.incrementAndGet(); return detail; });
+
+        // then
+        assertThat(cached).isSameAs(detail);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(postDetailCache.stats().hitCount()).isEqualTo(1L);
+        assertThat(postDetailCache.stats().missCount()).isEqualTo(1L);
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "postDetail").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("무효화된 게시글은 다시 로딩")
+    void invalidateForcesReload() {
+        // given
+        postDetailCache.get(1L, id -> detail);
+
+        // when
+        postDetailCache.invalidate(1L);
+        AtomicInteger loads = new AtomicInteger();
+        postDetailCache.get(1L, id -> { loads.incrementAndGet(); return detail; });
+
+        // then
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 게시글은 캐시하지 않음")
+    void missingPostIsNotCached() {
+        // when
+        PostDetailResponse result = postDetailCache.get(2L, id -> null);
+
+        // then
+        assertThat(result).isNull();
+        assertThat(postDetailCache.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("스냅샷 크기는 문자열 길이에 비례해 추정")
+    void estimateBytesGrowsWithContent() {
+        Post longPost = Post.builder()
+                .id(2L)
+                .name("테스트 게시글")
+                .content("가".repeat(4000))
+                .member(Member.builder().id(1L).username("작성자").build())
+                .build();
+
+        assertThat(PostDetailCache.estimateBytes(PostDetailResponse.from(longPost, List.of())))
+                .isGreaterThan(PostDetailCache.estimateBytes(detail) + 7_000);
+    }
+}
@@ -0,0 +1,158 @@
+package darak.study.spring_study.cache;
+
+import darak.study.spring_study.exception.ReadTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ReadCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PlatformTransactionManager transactionManager;
+    private ReadCoalescer readCoalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transactionManager = mock(PlatformTransactionManager.class);
+        readCoalescer = new ReadCoalescer(meterRegistry, transactionManager, 5_000L);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 조회는 한 번만 실행하고 결과를 공유")
+    void concurrentCallsShareOneLoad() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Future<String> leader = executor.submit(() -> readCoalescer.read("post", 1L, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "게시글";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        Thread follower = new Thread(() -> readCoalescer.read("post", 1L, () -> {
+            loads.incrementAndGet();
+            return "다른 결과";
+        }));
+        follower.start();
+        waitUntilCoalescing(follower);
+        release.countDown();
+        follower.join(5_000);
+
+        // then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("게시글");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("read.coalescing.calls", "name", "post", "result", "coalesced").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("호출한 쪽 트랜잭션이 있으면 합치지 않고 그 트랜잭션 안에서 바로 조회")
+    void readsInsideCallerTransaction() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> readCoalescer.read("post", 1L, () -> {
+            loading.countDown();
+            await(release);
+            return "커밋된 게시글";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        String result;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            result = readCoalescer.read("post", 1L, () -> "수정 중인 게시글");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            release.countDown();
+        }
+
+        // then
+        assertThat(result).isEqualTo("수정 중인 게시글");
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("커밋된 게시글");
+        verify(transactionManager, times(1)).getTransaction(any());   // leader의 조회만 새 트랜잭션 시작
+    }
+
+    @Test
+    @DisplayName("다른 키는 각각 실행")
+    void differentKeysLoadSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+
+        readCoalescer.read("post", 1L, loads::incrementAndGet);
+        readCoalescer.read("post", 2L, loads::incrementAndGet);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("대기 시간을 넘기면 예외 발생")
+    void waitingTimesOut() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> readCoalescer.read("post", 1L, () -> {
+            loading.countDown();
+            await(release);
+            return "게시글";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when & then
+        try {
+            assertThatThrownBy(() -> readCoalescer.read("post", 1L, Duration.ofMillis(50), () -> "다른 결과"))
+                    .isInstanceOf(ReadTimeoutException.class);
+            assertThat(meterRegistry.counter("read.coalescing.timeouts", "name", "post").count()).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 후속 호출이 leader의 결과를 기다리는 상태가 될 때까지 대기
+    private static void waitUntilCoalescing(Thread follower) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (follower.getState() != Thread.State.WAITING && follower.getState() != Thread.State.TIMED_WAITING
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package darak.study.spring_study.controller;
+
+import darak.study.spring_study.domain.AttachmentVariantType;
+import darak.study.spring_study.dto.AttachmentContent;
+import darak.study.spring_study.exception.AttachmentNotFoundException;
+import darak.study.spring_study.service.AttachmentService;
+import darak.study.spring_study.storage.BlobStore;
+import darak.study.spring_study.storage.StoredBlob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentControllerTest {
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private AttachmentService attachmentService;
+
+    private MockMvc mockMvc;
+    private byte[] bytes;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BlobStore blobStore = new BlobStore(root.toString());
+        mockMvc = MockMvcBuilders.standaloneSetup(new AttachmentController(attachmentService, blobStore)).build();
+
+        bytes = new byte[10_000];
+        new Random(1).nextBytes(bytes);
+        StoredBlob blob = blobStore.commit(blobStore.write(
+                Channels.newChannel(new ByteArrayInputStream(bytes)), Long.MAX_VALUE));
+        etag = "\"" + blob.hash() + "\"";
+        // 404 테스트는 다른 ID를 조회하므로 lenient
+        lenient().when(attachmentService.findContent(1L, null)).thenReturn(new AttachmentContent(
+                blobStore.path(blob.hash()), blob.size(), "application/pdf", "보고서.pdf", blob.hash()));
+    }
+
+    @Test
+    @DisplayName("전체 내용을 캐시 헤더와 함께 전송")
+    void downloadsWholeContent() throws Exception {
+        mockMvc.perform(get("/attachments/1/content"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, bytes.length))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        containsString("filename*=UTF-8''%EB%B3%B4%EA%B3%A0%EC%84%9C.pdf")))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    @DisplayName("한 구간 Range 요청은 206으로 해당 구간만 전송")
+    void downloadsRange() throws Exception {
+        mockMvc.perform(get("/attachments/1/content").header(HttpHeaders.RANGE, "bytes=100-199"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/10000"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 100, 200)));
+    }
+
+    @Test
+    @DisplayName("끝에서부터의 구간과 끝이 파일 크기를 넘는 구간")
+    void downloadsSuffixAndOpenRanges() throws Exception {
+        mockMvc.perform(get("/attachments/1/content").header(HttpHeaders.RANGE, "bytes=-500"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9500-9999/10000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 9_500, 10_000)));
+
+        mockMvc.perform(get("/attachments/1/content").header(HttpHeaders.RANGE, "bytes=9000-20000"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9000-9999/10000"));
+    }
+
+    @Test
+    @DisplayName("파일 크기를 벗어난 구간은 416")
+    void rejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/attachments/1/content").header(HttpHeaders.RANGE, "bytes=10000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10000"))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("여러 구간이나 형식이 잘못된 Range는 전체를 전송")
+    void ignoresMultipleOrInvalidRanges() throws Exception {
+        mockMvc.perform(get("/attachments/1/content").header(HttpHeaders.RANGE, "bytes=0-9,20-29"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes));
+
+        mockMvc.perform(get("/attachments/1/content").header(HttpHeaders.RANGE, "items=0-9"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    @DisplayName("If-None-Match가 ETag와 같으면 304")
+    void returnsNotModified() throws Exception {
+        mockMvc.perform(get("/attachments/1/content").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("If-Range가 현재 ETag와 다르면 Range를 무시하고 전체를 전송")
+    void ignoresRangeWhenIfRangeDoesNotMatch() throws Exception {
+        mockMvc.perform(get("/attachments/1/content")
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes));
+
+        mockMvc.perform(get("/attachments/1/content")
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent());
+    }
+
+    @Test
+    @DisplayName("HEAD 요청은 헤더만 응답")
+    void headHasNoBody() throws Exception {
+        mockMvc.perform(head("/attachments/1/content"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, bytes.length))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("커넥터가 sendfile을 지원하면 본문 대신 파일 위치를 넘김")
+    void delegatesToSendfile() throws Exception {
+        MvcResult result = mockMvc.perform(get("/attachments/1/content")
+                        .header(HttpHeaders.RANGE, "bytes=100-199")
+                        .requestAttr(AttachmentController.SENDFILE_SUPPORTED, Boolean.TRUE))
+                .andExpect(status().isPartialContent())
+                .andExpect(request().attribute(AttachmentController.SENDFILE_START, 100L))
+                .andExpect(request().attribute(AttachmentController.SENDFILE_END, 200L))
+                .andExpect(content().bytes(new byte[0]))
+                .andReturn();
+
+        String file = (String) result.getRequest().getAttribute(AttachmentController.SENDFILE_FILENAME);
+        assertThat(Path.of(file)).isAbsolute().hasBinaryContent(bytes);
+    }
+
+    @Test
+    @DisplayName("없는 첨부파일이나 아직 만들어지지 않은 축소본은 404")
+    void returnsNotFound() throws Exception {
+        given(attachmentService.findContent(2L, AttachmentVariantType.SMALL))
+                .willThrow(new AttachmentNotFoundException(2L));
+
+        mockMvc.perform(get("/attachments/2/content").param("variant", "SMALL"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,131 @@
+package darak.study.spring_study.datasource;
+
+import darak.study.spring_study.domain.Grade;
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.fixture.BoardFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 읽기/쓰기 DataSource 분리 (주 DB와 복제본 H2 두 개, 복제는 테스트에서 직접 실행)
+@SpringBootTest(properties = {
+        "board.datasource.replication.enabled=true",
+        "board.datasource.replication.replica-urls=jdbc:h2:mem:replica-test;DB_CLOSE_DELAY=-1",
+        "board.datasource.replication.max-lag-ms=60000",
+        "board.datasource.replication.heartbeat-interval-ms=3600000",
+        "board.datasource.replication.stand-in.interval-ms=3600000"})
+class ReplicationDataSourceTest {
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private ReplicationStandIn standIn;
+
+    @Autowired
+    private ReplicaDataSources replicaDataSources;
+
+    @Autowired
+    private ReadYourWritesTracker tracker;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private TransactionTemplate readOnlyTransaction;
+    private JdbcTemplate replica;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        replica = new JdbcTemplate(replicaDataSources.asMap().get("replica-1"));
+
+        // 다른 스레드에서 회원을 만들어 테스트 스레드에는 쓰기 기록이 남지 않게 함
+        memberId = inOtherThread(() -> transaction.execute(status -> BoardFixtures.member(em, "primary").getId()));
+        replicate();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 복제본에서, 쓰기 트랜잭션은 주 DB에서 읽음")
+    void routesByReadOnly() {
+        assertThat(readUsername(readOnlyTransaction)).isEqualTo("replica");
+        assertThat(readUsername(transaction)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("쓴 직후에는 주 DB에서 읽고, 쓰기가 복제된 뒤에는 다시 복제본에서 읽음")
+    void readsOwnWrites() {
+        // given
+        transaction.executeWithoutResult(status ->
+                em.find(Member.class, memberId).update("written", null, 20, Grade.MEMBER));
+
+        // when, then
+        assertThat(readUsername(readOnlyTransaction)).isEqualTo("written");
+
+        replicate();
+        assertThat(readUsername(readOnlyTransaction)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("회원이 다른 스레드에서 쓴 내용도 그 회원에게는 주 DB에서 읽어 줌")
+    void readsMemberWrites() {
+        // given
+        inOtherThread(() -> {
+            ReadYourWritesTracker.Scope scope = tracker.bind(memberId);
+            try {
+                transaction.executeWithoutResult(status ->
+                        em.find(Member.class, memberId).update("written", null, 20, Grade.MEMBER));
+            } finally {
+                scope.close();
+            }
+            return null;
+        });
+
+        // when, then
+        ReadYourWritesTracker.Scope member = tracker.bind(memberId);
+        try {
+            assertThat(readUsername(readOnlyTransaction)).isEqualTo("written");
+        } finally {
+            member.close();
+        }
+        ReadYourWritesTracker.Scope otherMember = tracker.bind(-1L);
+        try {
+            assertThat(readUsername(readOnlyTransaction)).isEqualTo("replica");
+        } finally {
+            otherMember.close();
+        }
+    }
+
+    // 주 DB를 복제본에 복사한 뒤 복제본에만 표시를 남겨 어느 쪽에서 읽었는지 구분
+    private void replicate() {
+        lagMonitor.writeHeartbeat();
+        standIn.replicate();
+        lagMonitor.refresh();
+        replica.update("update member set username = 'replica' where id = ?", memberId);
+    }
+
+    private String readUsername(TransactionTemplate template) {
+        return template.execute(status -> em.find(Member.class, memberId).getUsername());
+    }
+
+    private static <T> T inOtherThread(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task).join();
+    }
+}
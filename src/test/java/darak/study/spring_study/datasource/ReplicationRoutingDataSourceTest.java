@@ -0,0 +1,184 @@
+package darak.study.spring_study.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicationRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private ReadYourWritesTracker tracker;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicationRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ReplicationRoutingDataSource(primary, replicas, lagMonitor, tracker,
+                Duration.ofSeconds(5), meterRegistry);
+        dataSource.afterPropertiesSet();
+        lenient().when(lagMonitor.replicatedUntil("replica-1")).thenReturn(System.currentTimeMillis());
+        lenient().when(lagMonitor.replicatedUntil("replica-2")).thenReturn(System.currentTimeMillis());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 복제본을 차례로 사용")
+    void readOnlyGoesToReplicasInTurn() {
+        begin(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(meterRegistry.get("datasource.readonly.transactions").tag("target", "replica-1").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖이나 쓰기 트랜잭션은 주 DB를 사용")
+    void otherwiseGoesToPrimary() {
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+
+        begin(false);
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("공유 캐시를 채우는 읽기 전용 트랜잭션은 주 DB를 사용")
+    void readFromPrimaryBypassesReplicas() {
+        begin(true);
+
+        assertThat(ReplicationRoutingDataSource.readFromPrimary(() -> dataSource.determineCurrentLookupKey()))
+                .isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+        assertThat(ReplicationRoutingDataSource.readFromPrimary(() -> ReplicationRoutingDataSource.readFromPrimary(
+                () -> dataSource.determineCurrentLookupKey()))).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    @DisplayName("지연이 허용치를 넘은 복제본은 건너뛰고, 모두 넘으면 주 DB를 사용")
+    void skipsLaggingReplicas() {
+        given(lagMonitor.replicatedUntil("replica-1")).willReturn(System.currentTimeMillis() - 10_000);
+        begin(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+
+        given(lagMonitor.replicatedUntil("replica-2")).willReturn(Long.MIN_VALUE);
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+        assertThat(meterRegistry.get("datasource.readonly.transactions").tag("target", "primary").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("쓰기 트랜잭션이 커밋되면 그 쓰기가 복제되기 전까지 주 DB에서 읽음")
+    void readsOwnWritesFromPrimary() throws Exception {
+        // given: 쓰기 트랜잭션 커밋
+        long beforeWrite = System.currentTimeMillis();
+        begin(false);
+        dataSource.determineCurrentLookupKey();
+        commit();
+        Thread.sleep(2);
+
+        // when, then: 쓰기 이전 시점까지만 복제된 복제본은 쓰지 않음
+        given(lagMonitor.replicatedUntil("replica-1")).willReturn(beforeWrite);
+        given(lagMonitor.replicatedUntil("replica-2")).willReturn(beforeWrite);
+        begin(true);
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+
+        // when, then: 쓰기 이후까지 복제되면 다시 복제본 사용
+        given(lagMonitor.replicatedUntil("replica-2")).willReturn(System.currentTimeMillis());
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+    }
+
+    @Test
+    @DisplayName("같은 회원의 다른 요청도 그 회원의 쓰기가 복제되기 전까지 주 DB에서 읽음")
+    void readsMemberWritesFromPrimary() throws Exception {
+        // given: 다른 스레드에서 회원 1이 쓰기
+        long beforeWrite = System.currentTimeMillis();
+        Thread writer = new Thread(() -> {
+            ReadYourWritesTracker.Scope scope = tracker.bind(1L);
+            try {
+                tracker.recordWrite();
+            } finally {
+                scope.close();
+            }
+        });
+        writer.start();
+        writer.join();
+        Thread.sleep(2);
+        given(lagMonitor.replicatedUntil("replica-1")).willReturn(beforeWrite);
+        given(lagMonitor.replicatedUntil("replica-2")).willReturn(beforeWrite);
+        begin(true);
+
+        // when, then
+        ReadYourWritesTracker.Scope member1 = tracker.bind(1L);
+        try {
+            assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+        } finally {
+            member1.close();
+        }
+        ReadYourWritesTracker.Scope member2 = tracker.bind(2L);
+        try {
+            assertThat(dataSource.determineCurrentLookupKey()).isNotEqualTo(ReplicationRoutingDataSource.PRIMARY);
+        } finally {
+            member2.close();
+        }
+    }
+
+    private static void begin(boolean readOnly) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+}
@@ -0,0 +1,132 @@
+package darak.study.spring_study.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepositoryMetricsPostProcessorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RepositoryMetricsPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        postProcessor = new RepositoryMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    @DisplayName("조회 메서드의 호출 수와 반환 행 수를 기록")
+    void recordsCallsAndRows() {
+        // given
+        SampleRepository repository = instrument(new H2SampleRepository());
+
+        // when
+        repository.findAll(3);
+        repository.findAll(5);
+        repository.findById(1L);
+
+        // then
+        Timer calls = meterRegistry.get("repository.calls")
+                .tags("repository", "H2SampleRepository", "method", "findAll", "exception", "none")
+                .timer();
+        assertThat(calls.count()).isEqualTo(2);
+
+        DistributionSummary rows = meterRegistry.get("repository.rows").tag("method", "findAll").summary();
+        assertThat(rows.totalAmount()).isEqualTo(8);
+        assertThat(rows.max()).isEqualTo(5);
+        assertThat(meterRegistry.get("repository.rows").tag("method", "findById").summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("예외는 예외 타입별로 기록하고 그대로 던짐")
+    void recordsExceptions() {
+        // given
+        SampleRepository repository = instrument(new H2SampleRepository());
+
+        // when & then
+        assertThatThrownBy(() -> repository.deleteById(-1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(meterRegistry.get("repository.calls")
+                .tags("method", "deleteById", "exception", "IllegalArgumentException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("행 수를 셀 수 없는 메서드는 행 수를 기록하지 않음")
+    void skipsRowsForCounts() {
+        // given
+        SampleRepository repository = instrument(new H2SampleRepository());
+
+        // when
+        repository.count();
+
+        // then
+        assertThat(meterRegistry.find("repository.rows").tag("method", "count").summary()).isNull();
+        assertThat(meterRegistry.get("repository.calls").tag("method", "count").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("@Repository가 아닌 빈은 감싸지 않음")
+    void ignoresOtherBeans() {
+        Object bean = new Object();
+
+        assertThat(postProcessor.postProcessAfterInitialization(bean, "other")).isSameAs(bean);
+    }
+
+    private SampleRepository instrument(SampleRepository repository) {
+        Object proxy = postProcessor.postProcessAfterInitialization(repository, "sampleRepository");
+        assertThat(AopUtils.isAopProxy(proxy)).isTrue();
+        return (SampleRepository) proxy;
+    }
+
+    interface SampleRepository {
+        List<Long> findAll(int size);
+
+        Optional<Long> findById(Long id);
+
+        void deleteById(Long id);
+
+        long count();
+    }
+
+    @Repository
+    static class H2SampleRepository implements SampleRepository {
+
+        @Override
+        public List<Long> findAll(int size) {
+            return LongStream.range(0, size).boxed().toList();
+        }
+
+        @Override
+        public Optional<Long> findById(Long id) {
+            return Optional.of(id);
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            throw new IllegalArgumentException("해당 id는 존재하지 않습니다");
+        }
+
+        @Override
+        public long count() {
+            return 0;
+        }
+    }
+}
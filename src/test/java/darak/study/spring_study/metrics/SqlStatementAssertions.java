@@ -0,0 +1,30 @@
+package darak.study.spring_study.metrics;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 테스트용 SQL 실행 횟수 검증
+// 예: expectAtMost(monitor, 2, () -> postService.findPostWithComments(id))
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T expectAtMost(SqlStatementMonitor monitor, int maxStatements, Supplier<T> work) {
+        try (SqlStatementMonitor.Scope scope = monitor.open("test")) {
+            T result = work.get();
+            assertThat(scope.statementCount())
+                    .as("실행된 SQL (모양별 횟수): %s", scope.statementsByShape())
+                    .isLessThanOrEqualTo(maxStatements);
+            return result;
+        }
+    }
+
+    public static void expectAtMost(SqlStatementMonitor monitor, int maxStatements, Runnable work) {
+        expectAtMost(monitor, maxStatements, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
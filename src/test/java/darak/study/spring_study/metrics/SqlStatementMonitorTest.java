@@ -0,0 +1,98 @@
+package darak.study.spring_study.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class SqlStatementMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new SqlStatementMonitor(meterRegistry, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("IN 목록 길이가 달라도 같은 SQL 모양으로 집계")
+    void shapeIgnoresInListLength() {
+        try (SqlStatementMonitor.Scope scope = monitor.open("test")) {
+            monitor.inspect("select * from post where id in (?, ?)");
+            monitor.inspect("select * from post   where id in (?,?,?,?)");
+
+            assertThat(scope.statementCount()).isEqualTo(2);
+            assertThat(scope.statementsByShape()).containsExactly(
+                    entry("select * from post where id in (?)", 2));
+        }
+    }
+
+    @Test
+    @DisplayName("같은 SQL이 기준 횟수를 넘으면 범위를 닫을 때 N+1 의심으로 집계")
+    void flagsRepeatedStatements() {
+        SqlStatementMonitor.Scope scope = monitor.open("test");
+        try {
+            for (int i = 0; i < 3; i++) {
+                monitor.inspect("select * from member where id=?");
+            }
+            monitor.inspect("select * from post where id=?");
+        } finally {
+            scope.close();
+        }
+
+        assertThat(meterRegistry.get("sql.repeated.statements").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("중첩 범위를 닫으면 바깥 범위로 돌아감")
+    void nestedScopes() {
+        try (SqlStatementMonitor.Scope outer = monitor.open("outer")) {
+            try (SqlStatementMonitor.Scope inner = monitor.open("inner")) {
+                monitor.inspect("select 1");
+                assertThat(inner.statementCount()).isEqualTo(1);
+            }
+            monitor.inspect("select 2");
+            assertThat(outer.statementCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("열린 범위가 없으면 트랜잭션 단위로 집계하고 완료 시 정리")
+    void transactionScope() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        for (int i = 0; i < 3; i++) {
+            monitor.inspect("select * from comment where parent_id=?");
+        }
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // then
+        assertThat(TransactionSynchronizationManager.hasResource(monitor)).isFalse();
+        assertThat(meterRegistry.get("sql.repeated.statements").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("범위도 트랜잭션도 없으면 집계하지 않음")
+    void ignoresOutsideScope() {
+        assertThat(monitor.inspect("select 1")).isEqualTo("select 1");
+        assertThat(meterRegistry.get("sql.repeated.statements").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,99 @@
+package darak.study.spring_study.search;
+
+import darak.study.spring_study.domain.Comment;
+import darak.study.spring_study.domain.CommentStatus;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.repository.CommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class CommentSearchIndexTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CommentSearchIndex commentSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        commentSearchIndex = new CommentSearchIndex(commentRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("게시글로 검색 범위를 한정")
+    void searchFilteredByPost() {
+        // given
+        commentSearchIndex.index(comment(1L, 10L, "좋은 정보 감사합니다"));
+        commentSearchIndex.index(comment(2L, 20L, "정보 공유 감사해요"));
+
+        // when
+        SearchHits all = commentSearchIndex.search("정보", null, 0, 10);
+        SearchHits filtered = commentSearchIndex.search("정보", 20L, 0, 10);
+
+        // then
+        assertThat(all.totalHits()).isEqualTo(2L);
+        assertThat(filtered.ids()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("삭제 상태로 바뀐 댓글은 검색되지 않음")
+    void deletedCommentNotSearchable() {
+        // given
+        Comment comment = comment(1L, 10L, "좋은 정보 감사합니다");
+        commentSearchIndex.index(comment);
+
+        // when
+        comment.changeStatus(CommentStatus.DELETED);
+        commentSearchIndex.index(comment);
+
+        // then
+        assertThat(commentSearchIndex.search("정보", null, 0, 10).totalHits()).isZero();
+        assertThat(commentSearchIndex.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("게시글 단위로 댓글을 색인에서 제거")
+    void removePost() {
+        // given
+        commentSearchIndex.index(comment(1L, 10L, "좋은 정보 감사합니다"));
+        commentSearchIndex.index(comment(2L, 10L, "정보 공유 감사해요"));
+        commentSearchIndex.index(comment(3L, 20L, "다른 게시글의 정보"));
+
+        // when
+        commentSearchIndex.removePost(10L);
+
+        // then
+        assertThat(commentSearchIndex.search("정보", null, 0, 10).ids()).containsExactly(3L);
+        assertThat(commentSearchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("아주 깊은 위치를 요청해도 시작 위치만큼 메모리를 잡지 않음")
+    void searchWithHugeOffset() {
+        commentSearchIndex.index(comment(1L, 10L, "좋은 정보 감사합니다"));
+
+        SearchHits hits = commentSearchIndex.search("정보", null, Integer.MAX_VALUE - 10, 100);
+
+        assertThat(hits.ids()).isEmpty();
+        assertThat(hits.totalHits()).isEqualTo(1L);
+    }
+
+    private Comment comment(Long id, Long postId, String content) {
+        return Comment.builder()
+                .id(id)
+                .post(Post.builder().id(postId).build())
+                .content(content)
+                .build();
+    }
+}
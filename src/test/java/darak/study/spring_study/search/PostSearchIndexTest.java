@@ -0,0 +1,120 @@
+package darak.study.spring_study.search;
+
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class PostSearchIndexTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postSearchIndex = new PostSearchIndex(postRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("한글은 2-gram, 그 외는 단어 단위로 토큰화")
+    void tokenize() {
+        assertThat(Tokenizer.tokenize("Spring 게시판에서, 글!"))
+                .containsExactly("spring", "게시", "시판", "판에", "에서", "글");
+    }
+
+    @Test
+    @DisplayName("조사가 붙은 한글 단어도 검색")
+    void searchKoreanWithParticle() {
+        // given
+        postSearchIndex.index(post(1L, "공지사항", "게시판에서 지켜야 할 규칙입니다."));
+        postSearchIndex.index(post(2L, "자유글", "오늘 점심 메뉴 추천"));
+
+        // when
+        SearchHits hits = postSearchIndex.search("게시판", 0, 10);
+
+        // then
+        assertThat(hits.ids()).containsExactly(1L);
+        assertThat(hits.totalHits()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("제목에 나온 검색어가 내용에 나온 것보다 높은 순위")
+    void titleRanksHigher() {
+        // given
+        postSearchIndex.index(post(1L, "잡담", "spring 이야기"));
+        postSearchIndex.index(post(2L, "Spring 질문", "설정 방법이 궁금합니다"));
+
+        // when
+        SearchHits hits = postSearchIndex.search("SPRING", 0, 10);
+
+        // then
+        assertThat(hits.ids()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("수정하면 이전 내용으로는 검색되지 않음")
+    void reindexReplacesTerms() {
+        // given
+        postSearchIndex.index(post(1L, "java", "stream"));
+
+        // when
+        postSearchIndex.index(post(1L, "kotlin", "coroutine"));
+
+        // then
+        assertThat(postSearchIndex.search("java", 0, 10).ids()).isEmpty();
+        assertThat(postSearchIndex.search("kotlin", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("삭제된 게시글은 색인에서 제거")
+    void deletedPostRemoved() {
+        // given
+        postSearchIndex.index(post(1L, "java", "stream"));
+
+        // when
+        postSearchIndex.index(post(1L, "java", "stream").toBuilder().status(PostStatus.DELETED).build());
+
+        // then
+        assertThat(postSearchIndex.search("java", 0, 10).totalHits()).isZero();
+        assertThat(postSearchIndex.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("페이징 - 전체 건수는 유지하고 요청한 범위만 반환")
+    void searchPaging() {
+        // given
+        for (long id = 1; id <= 5; id++) {
+            postSearchIndex.index(post(id, "공지 " + id, "내용"));
+        }
+
+        // when
+        SearchHits hits = postSearchIndex.search("공지", 2, 2);
+
+        // then
+        assertThat(hits.totalHits()).isEqualTo(5L);
+        assertThat(hits.ids()).containsExactly(3L, 2L);
+    }
+
+    private Post post(Long id, String name, String content) {
+        return Post.builder()
+                .id(id)
+                .name(name)
+                .content(content)
+                .status(PostStatus.PUBLIC)
+                .build();
+    }
+}
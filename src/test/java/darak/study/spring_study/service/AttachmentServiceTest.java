@@ -1,26 +1,49 @@
 package darak.study.spring_study.service;
 
+import darak.study.spring_study.cache.PostDetailCache;
 import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.AttachmentVariant;
+import darak.study.spring_study.domain.AttachmentVariantType;
 import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.dto.AttachmentContent;
+import darak.study.spring_study.exception.AttachmentNotFoundException;
+import darak.study.spring_study.repository.AttachmentBlobRepository;
 import darak.study.spring_study.repository.AttachmentRepository;
+import darak.study.spring_study.repository.AttachmentUploadRepository;
+import darak.study.spring_study.repository.AttachmentVariantRepository;
+import darak.study.spring_study.repository.PostRepository;
+import darak.study.spring_study.storage.BlobStore;
+import darak.study.spring_study.storage.StoredBlob;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
-import java.util.Arrays;
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class AttachmentServiceTest {
@@ -28,6 +51,30 @@ class AttachmentServiceTest {
     @Mock
     private AttachmentRepository attachmentRepository;
 
+    @Mock
+    private AttachmentBlobRepository attachmentBlobRepository;
+
+    @Mock
+    private AttachmentUploadRepository attachmentUploadRepository;
+
+    @Mock
+    private AttachmentVariantRepository attachmentVariantRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    @Mock
+    private ThumbnailService thumbnailService;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     @InjectMocks
     private AttachmentService attachmentService;
 
@@ -61,7 +108,7 @@ class AttachmentServiceTest {
         void success() {
             // given
             given(attachmentRepository.save(any(Attachment.class))).willReturn(testAttachment);
-            given(attachmentRepository.findByPostId(testPost.getId())).willReturn(List.of());
+            given(postRepository.incrementAttachmentCountIfBelow(testPost.getId(), 5)).willReturn(1);
 
             // when
             Attachment savedAttachment = attachmentService.addAttachment(testAttachment);
@@ -70,6 +117,24 @@ class AttachmentServiceTest {
             assertThat(savedAttachment).isNotNull();
             assertThat(savedAttachment.getFileName()).isEqualTo("test.jpg");
             verify(attachmentRepository).save(any(Attachment.class));
+            verify(attachmentRepository, never()).findByPostId(anyLong());    // 첨부파일 목록을 읽지 않음
+        }
+
+        @Test
+        @DisplayName("일괄 저장도 첨부파일마다 자리를 잡고 한 번에 저장")
+        void addAllReservesSlots() {
+            // given
+            List<Attachment> attachments = List.of(testAttachment, testAttachment.toBuilder().id(2L).build());
+            given(postRepository.incrementAttachmentCountIfBelow(testPost.getId(), 5)).willReturn(1);
+            given(attachmentRepository.saveAll(attachments)).willReturn(attachments);
+
+            // when
+            List<Attachment> saved = attachmentService.addAttachments(attachments);
+
+            // then
+            assertThat(saved).hasSize(2);
+            verify(postRepository, times(2)).incrementAttachmentCountIfBelow(testPost.getId(), 5);
+            verify(attachmentRepository, never()).save(any(Attachment.class));
         }
 
         @Test
@@ -87,13 +152,22 @@ class AttachmentServiceTest {
         @Test
         @DisplayName("파일 개수 초과")
         void failExceedMaxCount() {
-            // given
-            List<Attachment> existingAttachments = Arrays.asList(
-                    testAttachment, testAttachment, testAttachment, 
-                    testAttachment, testAttachment
-            );
-            given(attachmentRepository.findByPostId(testPost.getId()))
-                    .willReturn(existingAttachments);
+            // given: 이미 5개 (조건부 증가가 반영되지 않음)
+            given(postRepository.incrementAttachmentCountIfBelow(testPost.getId(), 5)).willReturn(0);
+
+            // when & then
+            assertThatThrownBy(() -> attachmentService.addAttachment(testAttachment))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("하나의 게시글당 최대 5개의 첨부파일만 허용됩니다.");
+            verify(attachmentRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("진행 중인 분할 업로드도 개수 제한에 포함")
+        void failExceedMaxCountWithOpenUploads() {
+            // given: 첨부파일 2개 + 진행 중인 업로드 3개
+            given(attachmentUploadRepository.countByPostId(testPost.getId())).willReturn(3L);
+            given(postRepository.incrementAttachmentCountIfBelow(testPost.getId(), 2)).willReturn(0);
 
             // when & then
             assertThatThrownBy(() -> attachmentService.addAttachment(testAttachment))
@@ -102,6 +176,107 @@ class AttachmentServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("첨부파일 내용 저장 테스트")
+    class AddAttachmentContentTest {
+        private static final String HASH = "a".repeat(64);
+
+        @Test
+        @DisplayName("내용을 등록한 뒤 제자리로 옮기고, 해시와 실제 크기로 저장하며 참조 수 증가")
+        void success() {
+            // given
+            ReadableByteChannel content = channel("hello");
+            BlobStore.PendingBlob pending = new BlobStore.PendingBlob(Path.of("upload.tmp"), new StoredBlob(HASH, 5L));
+            given(blobStore.write(any(), anyLong())).willReturn(pending);
+            given(blobStore.commit(pending)).willReturn(pending.blob());
+            given(postRepository.incrementAttachmentCountIfBelow(testPost.getId(), 5)).willReturn(1);
+            given(attachmentBlobRepository.incrementRefCount(HASH)).willReturn(1);
+            given(attachmentRepository.save(any(Attachment.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+            // when
+            Attachment saved = attachmentService.addAttachment(testAttachment.toBuilder().fileSize(null).build(), content);
+
+            // then
+            assertThat(saved.getContentHash()).isEqualTo(HASH);
+            assertThat(saved.getFileSize()).isEqualTo(5L);
+            InOrder order = inOrder(attachmentBlobRepository, blobStore, attachmentRepository);
+            order.verify(attachmentBlobRepository).touch(HASH, 5L);
+            order.verify(blobStore).commit(pending);
+            order.verify(attachmentBlobRepository).incrementRefCount(HASH);
+            order.verify(attachmentRepository).save(any(Attachment.class));
+        }
+
+        @Test
+        @DisplayName("지원하지 않는 파일 형식이면 내용을 쓰지 않음")
+        void failInvalidTypeBeforeWrite() {
+            // given
+            Attachment invalidTypeAttachment = testAttachment.toBuilder()
+                    .fileType("application/exe")
+                    .build();
+
+            // when & then
+            assertThatThrownBy(() -> attachmentService.addAttachment(invalidTypeAttachment, channel("hello")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("지원하지 않는 파일 형식입니다.");
+            verifyNoInteractions(blobStore, attachmentBlobRepository);
+        }
+
+        @Test
+        @DisplayName("등록되지 않은 내용을 가리키면 저장하지 않음")
+        void failUnknownContent() {
+            // given
+            Attachment attachment = testAttachment.toBuilder().contentHash(HASH).build();
+            given(postRepository.incrementAttachmentCountIfBelow(testPost.getId(), 5)).willReturn(1);
+            given(attachmentBlobRepository.incrementRefCount(HASH)).willReturn(0);
+
+            // when & then
+            assertThatThrownBy(() -> attachmentService.addAttachment(attachment))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("저장되지 않은 첨부파일 내용입니다.");
+            verify(attachmentRepository, never()).save(any());
+        }
+
+        private ReadableByteChannel channel(String content) {
+            return Channels.newChannel(new ByteArrayInputStream(content.getBytes()));
+        }
+    }
+
+    @Nested
+    @DisplayName("첨부파일 삭제 테스트")
+    class DeleteAttachmentTest {
+        @Test
+        @DisplayName("내용이 있는 첨부파일을 삭제하면 참조 수만 감소 (파일은 정리 작업이 삭제)")
+        void releasesContent() {
+            // given
+            String hash = "b".repeat(64);
+            given(attachmentRepository.findById(1L))
+                    .willReturn(Optional.of(testAttachment.toBuilder().contentHash(hash).build()));
+
+            // when
+            attachmentService.deleteAttachment(1L);
+
+            // then
+            verify(attachmentRepository).deleteById(1L);
+            verify(postRepository).decrementAttachmentCount(testPost.getId());
+            verify(attachmentBlobRepository).decrementRefCount(hash);
+            verifyNoInteractions(blobStore);
+        }
+
+        @Test
+        @DisplayName("내용 없이 등록된 첨부파일은 참조 수를 건드리지 않음")
+        void withoutContent() {
+            // given
+            given(attachmentRepository.findById(1L)).willReturn(Optional.of(testAttachment));
+
+            // when
+            attachmentService.deleteAttachment(1L);
+
+            // then
+            verify(attachmentRepository).deleteById(1L);
+            verifyNoInteractions(attachmentBlobRepository);
+        }
+    }
+
     @Nested
     @DisplayName("첨부파일 유효성 검증 테스트")
     class ValidationTest {
@@ -180,6 +355,90 @@ class AttachmentServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("첨부파일 다운로드 내용 조회 테스트")
+    class FindContentTest {
+        private final String hash = "a".repeat(64);
+
+        @Test
+        @DisplayName("원본은 내용 파일과 해시 ETag")
+        void original() {
+            // given
+            given(attachmentRepository.findById(1L)).willReturn(Optional.of(testAttachment.toBuilder().contentHash(hash).build()));
+            given(blobStore.path(hash)).willReturn(Path.of("aa", "aa", hash));
+            given(blobStore.size(hash)).willReturn(1024L);
+
+            // when
+            AttachmentContent content = attachmentService.findContent(1L, null);
+
+            // then
+            assertThat(content.path()).isEqualTo(Path.of("aa", "aa", hash));
+            assertThat(content.size()).isEqualTo(1024L);
+            assertThat(content.fileType()).isEqualTo("image/jpeg");
+            assertThat(content.etag()).startsWith(hash + "-");
+        }
+
+        @Test
+        @DisplayName("파일 정보가 바뀌면 ETag도 바뀜")
+        void etagChangesWithFileInfo() {
+            // given
+            given(attachmentRepository.findById(1L)).willReturn(Optional.of(testAttachment.toBuilder().contentHash(hash).build()));
+            given(attachmentRepository.findById(2L)).willReturn(Optional.of(testAttachment.toBuilder()
+                    .contentHash(hash).fileName("renamed.jpg").build()));
+
+            // when & then
+            assertThat(attachmentService.findContent(1L, null).etag())
+                    .isNotEqualTo(attachmentService.findContent(2L, null).etag());
+        }
+
+        @Test
+        @DisplayName("삭제된 게시글의 첨부파일은 AttachmentNotFoundException")
+        void deletedPost() {
+            Post deletedPost = testPost.toBuilder().status(PostStatus.DELETED).build();
+            given(attachmentRepository.findById(1L)).willReturn(Optional.of(testAttachment.toBuilder()
+                    .contentHash(hash).post(deletedPost).build()));
+
+            assertThatThrownBy(() -> attachmentService.findContent(1L, null))
+                    .isInstanceOf(AttachmentNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("축소본은 축소본 파일과 별도 ETag")
+        void variant() {
+            // given
+            given(attachmentRepository.findById(1L)).willReturn(Optional.of(testAttachment.toBuilder().contentHash(hash).build()));
+            given(attachmentVariantRepository.findByContentHash(hash)).willReturn(List.of(AttachmentVariant.builder()
+                    .contentHash(hash)
+                    .type(AttachmentVariantType.SMALL)
+                    .fileType("image/jpeg")
+                    .fileSize(100L)
+                    .path("aa/aa/" + hash + ".small.jpg")
+                    .build()));
+            given(blobStore.resolve("aa/aa/" + hash + ".small.jpg")).willReturn(Path.of("aa", "aa", hash + ".small.jpg"));
+
+            // when
+            AttachmentContent content = attachmentService.findContent(1L, AttachmentVariantType.SMALL);
+
+            // then
+            assertThat(content.size()).isEqualTo(100L);
+            assertThat(content.etag()).startsWith(hash + "-small-");
+            assertThat(content.fileName()).isEqualTo("test.jpg");
+        }
+
+        @Test
+        @DisplayName("내용이 없거나 축소본이 아직 없으면 AttachmentNotFoundException")
+        void notFound() {
+            given(attachmentRepository.findById(1L)).willReturn(Optional.of(testAttachment));
+            given(attachmentRepository.findById(2L)).willReturn(Optional.of(testAttachment.toBuilder().contentHash(hash).build()));
+            given(attachmentVariantRepository.findByContentHash(hash)).willReturn(List.of());
+
+            assertThatThrownBy(() -> attachmentService.findContent(1L, null))
+                    .isInstanceOf(AttachmentNotFoundException.class);
+            assertThatThrownBy(() -> attachmentService.findContent(2L, AttachmentVariantType.MEDIUM))
+                    .isInstanceOf(AttachmentNotFoundException.class);
+        }
+    }
+
     @Nested
     @DisplayName("첨부파일 수정 테스트")
     class UpdateAttachmentTest {
@@ -0,0 +1,324 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.AttachmentUpload;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.fixture.BoardFixtures;
+import darak.study.spring_study.repository.AttachmentUploadRepository;
+import darak.study.spring_study.repository.PostRepository;
+import darak.study.spring_study.storage.BlobStore;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// 분할 업로드 흐름 (실제 디스크 저장소와 DB 사용)
+@SpringBootTest
+class AttachmentUploadServiceTest {
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @TempDir
+    static Path storageDir;
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("board.attachment.storage-dir", storageDir::toString);
+    }
+
+    @Autowired
+    private AttachmentUploadService uploadService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private AttachmentUploadRepository attachmentUploadRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transaction;
+
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        postId = transaction.execute(status -> {
+            Post post = Post.builder()
+                    .name("업로드 테스트")
+                    .content("내용")
+                    .member(BoardFixtures.member(em, "uploader"))
+                    .postCategory(BoardFixtures.category(em))
+                    .status(PostStatus.PUBLIC)
+                    .build();
+            em.persist(post);
+            return post.getId();
+        });
+    }
+
+    @Test
+    @DisplayName("청크를 이어 받아 완료하면 체크섬을 확인하고 첨부파일로 저장")
+    void uploadInChunks() throws Exception {
+        // given
+        byte[] content = png(300_000);
+        AttachmentUpload upload = uploadService.beginUpload(postId, "photo.png", "image/png", content.length);
+
+        // when
+        long offset = 0;
+        while (offset < content.length) {
+            int length = (int) Math.min(64_000, content.length - offset);
+            offset = uploadService.appendChunk(upload.getId(), offset, channel(content, (int) offset, length));
+        }
+        Attachment attachment = uploadService.completeUpload(upload.getId(), sha256(content));
+
+        // then
+        assertThat(attachment.getFileSize()).isEqualTo(content.length);
+        assertThat(attachment.getContentHash()).isEqualTo(sha256(content));
+        assertThat(uploadService.findUpload(upload.getId())).isEmpty();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        attachmentService.transferContent(attachment.getId(), 0, Long.MAX_VALUE, Channels.newChannel(out));
+        assertThat(out.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("청크 도중 연결이 끊기면 마지막으로 확인된 위치부터 이어서 받음")
+    void resumeAfterInterruptedChunk() throws Exception {
+        // given
+        byte[] content = png(200_000);
+        AttachmentUpload upload = uploadService.beginUpload(postId, "photo.png", "image/png", content.length);
+        long offset = uploadService.appendChunk(upload.getId(), 0, channel(content, 0, 50_000));
+
+        // when: 두 번째 청크가 중간에 끊김
+        ReadableByteChannel broken = Channels.newChannel(new BrokenInputStream(content, 50_000, 30_000));
+        assertThatThrownBy(() -> uploadService.appendChunk(upload.getId(), 50_000, broken))
+                .isInstanceOf(RuntimeException.class);
+
+        long resumeAt = uploadService.findUpload(upload.getId()).orElseThrow().getReceivedBytes();
+        uploadService.appendChunk(upload.getId(), resumeAt, channel(content, (int) resumeAt, content.length - (int) resumeAt));
+        Attachment attachment = uploadService.completeUpload(upload.getId(), sha256(content));
+
+        // then
+        assertThat(offset).isEqualTo(50_000);
+        assertThat(resumeAt).isEqualTo(50_000);
+        assertThat(attachment.getContentHash()).isEqualTo(sha256(content));
+    }
+
+    @Test
+    @DisplayName("위치 갱신이 실패한 청크를 다시 보내도 해시에 두 번 반영하지 않음")
+    void retryAfterFailedPositionUpdate() throws Exception {
+        // given: 두 번째 청크의 위치 갱신이 한 번 실패
+        AtomicBoolean failed = new AtomicBoolean();
+        AttachmentUploadRepository failingRepository = mock(AttachmentUploadRepository.class,
+                AdditionalAnswers.delegatesTo(attachmentUploadRepository));
+        doAnswer(invocation -> {
+            if ((long) invocation.getArgument(1) > 0 && failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("위치 갱신 실패");
+            }
+            return attachmentUploadRepository.updateReceivedBytes(
+                    invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+        }).when(failingRepository).updateReceivedBytes(anyString(), anyLong(), anyLong());
+        AttachmentUploadService failingService = new AttachmentUploadService(failingRepository, attachmentService,
+                postRepository, blobStore, transaction, 86400);
+        byte[] content = png(100_000);
+        AttachmentUpload upload = uploadService.beginUpload(postId, "photo.png", "image/png", content.length);
+        failingService.appendChunk(upload.getId(), 0, channel(content, 0, 50_000));
+
+        // when
+        assertThatThrownBy(() -> failingService.appendChunk(upload.getId(), 50_000, channel(content, 50_000, 50_000)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("위치 갱신 실패");
+        long resumeAt = uploadService.findUpload(upload.getId()).orElseThrow().getReceivedBytes();
+        failingService.appendChunk(upload.getId(), resumeAt, channel(content, (int) resumeAt, content.length - (int) resumeAt));
+        Attachment attachment = failingService.completeUpload(upload.getId(), null);
+
+        // then
+        assertThat(resumeAt).isEqualTo(50_000);
+        assertThat(attachment.getContentHash()).isEqualTo(sha256(content));
+    }
+
+    @Test
+    @DisplayName("확인된 위치가 아닌 offset의 청크는 거절")
+    void rejectsWrongOffset() throws Exception {
+        byte[] content = png(100_000);
+        AttachmentUpload upload = uploadService.beginUpload(postId, "photo.png", "image/png", content.length);
+        uploadService.appendChunk(upload.getId(), 0, channel(content, 0, 10_000));
+
+        assertThatThrownBy(() -> uploadService.appendChunk(upload.getId(), 20_000, channel(content, 20_000, 10_000)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("업로드 위치가 맞지 않습니다. 현재 위치: 10000");
+    }
+
+    @Test
+    @DisplayName("선언한 크기를 넘는 청크는 받는 도중 중단")
+    void rejectsOversizeChunk() throws Exception {
+        byte[] content = png(100_000);
+        AttachmentUpload upload = uploadService.beginUpload(postId, "photo.png", "image/png", 50_000);
+
+        assertThatThrownBy(() -> uploadService.appendChunk(upload.getId(), 0, channel(content, 0, content.length)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("업로드 크기가 선언한 파일 크기를 초과했습니다.");
+        assertThat(uploadService.findUpload(upload.getId()).orElseThrow().getReceivedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("첫 청크가 선언한 형식과 다르면 업로드 취소")
+    void rejectsMismatchedSignature() {
+        byte[] content = new byte[1_000];
+        AttachmentUpload upload = uploadService.beginUpload(postId, "photo.png", "image/png", content.length);
+
+        assertThatThrownBy(() -> uploadService.appendChunk(upload.getId(), 0, channel(content, 0, content.length)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("파일 내용이 선언한 파일 형식과 다릅니다.");
+        assertThat(uploadService.findUpload(upload.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("체크섬이 다르면 첨부파일을 만들지 않음")
+    void rejectsChecksumMismatch() throws Exception {
+        byte[] content = png(10_000);
+        AttachmentUpload upload = uploadService.beginUpload(postId, "photo.png", "image/png", content.length);
+        uploadService.appendChunk(upload.getId(), 0, channel(content, 0, content.length));
+
+        assertThatThrownBy(() -> uploadService.completeUpload(upload.getId(), "0".repeat(64)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("업로드된 파일의 체크섬이 일치하지 않습니다.");
+        assertThat(attachmentService.findAttachmentsByPostId(postId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("진행 중인 업로드가 게시글의 첨부파일 자리를 잡아 둠")
+    void reservesAttachmentSlots() {
+        for (int i = 0; i < 5; i++) {
+            uploadService.beginUpload(postId, "photo" + i + ".png", "image/png", 1_000);
+        }
+
+        assertThatThrownBy(() -> uploadService.beginUpload(postId, "photo5.png", "image/png", 1_000))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("하나의 게시글당 최대 5개의 첨부파일만 허용됩니다.");
+    }
+
+    @Test
+    @DisplayName("동시에 시작한 업로드도 게시글의 첨부파일 제한을 넘지 않음")
+    void concurrentBeginsRespectLimit() throws Exception {
+        // given
+        int threads = 8;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // when
+        try {
+            for (int i = 0; i < threads; i++) {
+                String fileName = "photo" + i + ".png";
+                results.add(executor.submit(() -> {
+                    barrier.await(5, TimeUnit.SECONDS);
+                    try {
+                        uploadService.beginUpload(postId, fileName, "image/png", 1_000);
+                        return true;
+                    } catch (IllegalStateException e) {
+                        return false;
+                    }
+                }));
+            }
+            int started = 0;
+            for (Future<Boolean> result : results) {
+                started += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+
+            // then
+            assertThat(started).isEqualTo(5);
+        } finally {
+            executor.shutdownNow();
+        }
+        Long sessions = transaction.execute(status -> em.createQuery(
+                "select count(u) from AttachmentUpload u where u.postId = :postId", Long.class)
+                .setParameter("postId", postId)
+                .getSingleResult());
+        assertThat(sessions).isEqualTo(5L);
+    }
+
+    private static byte[] png(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        System.arraycopy(PNG_SIGNATURE, 0, content, 0, PNG_SIGNATURE.length);
+        return content;
+    }
+
+    private static ReadableByteChannel channel(byte[] content, int offset, int length) {
+        return Channels.newChannel(new ByteArrayInputStream(content, offset, length));
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    // failAfter 바이트를 보낸 뒤 연결이 끊긴 것처럼 예외를 던지는 입력
+    private static final class BrokenInputStream extends InputStream {
+        private final InputStream delegate;
+        private int remaining;
+
+        private BrokenInputStream(byte[] content, int offset, int failAfter) {
+            this.delegate = new ByteArrayInputStream(Arrays.copyOfRange(content, offset, content.length));
+            this.remaining = failAfter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                throw new IOException("연결 끊김");
+            }
+            int n = delegate.read(b, off, Math.min(len, remaining));
+            remaining -= n;
+            return n;
+        }
+    }
+}
@@ -1,27 +1,47 @@
 package darak.study.spring_study.service;
 
+import darak.study.spring_study.cache.PostDetailCache;
+import darak.study.spring_study.cache.ReadCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import darak.study.spring_study.domain.Comment;
 import darak.study.spring_study.domain.CommentStatus;
 import darak.study.spring_study.domain.Post;
 import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.dto.CommentCursorPageResponse;
+import darak.study.spring_study.dto.CommentPageResponse;
+import darak.study.spring_study.dto.CommentResponse;
+import darak.study.spring_study.dto.SeekCursor;
+import darak.study.spring_study.exception.InvalidInputException;
 import darak.study.spring_study.repository.CommentRepository;
+import darak.study.spring_study.repository.PostRepository;
+import darak.study.spring_study.search.CommentSearchIndex;
+import darak.study.spring_study.search.SearchHits;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class CommentServiceTest {
@@ -29,6 +49,19 @@ class CommentServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentSearchIndex commentSearchIndex;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    @Spy
+    private ReadCoalescer readCoalescer =
+            new ReadCoalescer(new SimpleMeterRegistry(), mock(PlatformTransactionManager.class), 1000L);
+
     @InjectMocks
     private CommentService commentService;
 
@@ -56,6 +89,41 @@ class CommentServiceTest {
         assertThat(savedComment).isNotNull();
         assertThat(savedComment.getContent()).isEqualTo("테스트 댓글입니다.");
         verify(commentRepository).save(any(Comment.class));
+        verify(postRepository).incrementCommentCount(1L, 1);
+        verify(commentSearchIndex).index(testComment);
+        verify(postDetailCache).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("삭제 상태로 저장한 댓글은 게시글의 댓글 수에 반영하지 않음")
+    void addDeletedCommentKeepsCount() {
+        // given
+        Comment deleted = testComment.toBuilder().status(CommentStatus.DELETED).build();
+        given(commentRepository.save(deleted)).willReturn(deleted);
+
+        // when
+        commentService.addComment(deleted);
+
+        // then
+        verify(postRepository, never()).incrementCommentCount(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("댓글 삭제 시 함께 지워지는 답글까지 게시글의 댓글 수에서 차감하고 색인에서 제거")
+    void deleteCommentDecrementsCount() {
+        // given
+        Comment comment = testComment.toBuilder().id(10L).path("000000000000a").build();
+        given(commentRepository.findById(10L)).willReturn(Optional.of(comment));
+        given(commentRepository.findActiveSubtreeIds(1L, "000000000000a")).willReturn(List.of(10L, 11L, 12L));
+
+        // when
+        commentService.deleteComment(10L);
+
+        // then
+        verify(commentRepository).deleteById(10L);
+        verify(postRepository).incrementCommentCount(1L, -3);
+        verify(commentSearchIndex).removeAll(List.of(10L, 11L, 12L));
+        verify(postDetailCache).invalidate(1L);
     }
 
     @Test
@@ -257,4 +325,165 @@ class CommentServiceTest {
         assertThat(comments).hasSize(1)
             .allMatch(c -> c.getStatus() != CommentStatus.DELETED);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("댓글 검색 결과는 색인의 관련도 순서를 유지")
+    void searchCommentsKeepsRanking() {
+        // given
+        Comment first = testComment.toBuilder().id(2L).build();
+        Comment second = testComment.toBuilder().id(1L).build();
+        given(commentSearchIndex.search("테스트", 1L, 0, 10)).willReturn(new SearchHits(List.of(2L, 1L), 2L));
+        given(commentRepository.findAllById(List.of(2L, 1L))).willReturn(List.of(second, first));
+
+        // when
+        CommentPageResponse response = commentService.searchComments("테스트", 1L, 1, 10);
+
+        // then
+        assertThat(response.getComments()).extracting(CommentResponse::getId).containsExactly(2L, 1L);
+        assertThat(response.getTotalCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("검색 결과의 깊은 페이지는 조회 불가")
+    void searchCommentsRejectsDeepPage() {
+        assertThatThrownBy(() -> commentService.searchComments("테스트", null, Integer.MAX_VALUE, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(commentSearchIndex);
+    }
+
+    @Test
+    @DisplayName("댓글 상태 변경 시 검색 색인 갱신")
+    void changeCommentStatusReindexes() {
+        // given
+        given(commentRepository.findById(1L)).willReturn(Optional.of(testComment));
+
+        // when
+        commentService.changeCommentStatus(1L, CommentStatus.DELETED);
+
+        // then
+        assertThat(testComment.isDeleted()).isTrue();
+        verify(commentSearchIndex).index(testComment);
+    }
+
+    @Test
+    @DisplayName("삭제 상태로 바뀌면 게시글의 댓글 수 감소, 복구되면 증가, 같은 상태면 그대로")
+    void changeCommentStatusUpdatesCount() {
+        // given
+        given(commentRepository.findById(1L)).willReturn(Optional.of(testComment));
+
+        // when
+        commentService.changeCommentStatus(1L, CommentStatus.DELETED);
+        commentService.changeCommentStatus(1L, CommentStatus.DELETED);
+        commentService.changeCommentStatus(1L, CommentStatus.ACTIVE);
+
+        // then
+        verify(postRepository).incrementCommentCount(1L, -1);
+        verify(postRepository).incrementCommentCount(1L, 1);
+    }
+
+    @Test
+    @DisplayName("댓글 일괄 저장 시 게시글별로 활성 댓글 수만큼 댓글 수 증가")
+    void addCommentsIncrementsCountPerPost() {
+        // given
+        Post otherPost = Post.builder().id(2L).build();
+        List<Comment> comments = List.of(
+                testComment.toBuilder().id(1L).build(),
+                testComment.toBuilder().id(2L).build(),
+                testComment.toBuilder().id(3L).status(CommentStatus.DELETED).build(),
+                testComment.toBuilder().id(4L).post(otherPost).build());
+        given(commentRepository.saveAll(comments)).willReturn(comments);
+
+        // when
+        commentService.addComments(comments);
+
+        // then
+        verify(postRepository).incrementCommentCount(1L, 2);
+        verify(postRepository).incrementCommentCount(2L, 1);
+        verify(commentSearchIndex).index(comments.get(0));
+        verify(postDetailCache).invalidate(1L);
+        verify(postDetailCache).invalidate(2L);
+    }
+
+    @Test
+    @DisplayName("경로 순으로 조회한 댓글을 깊이 제한 없이 트리로 조립")
+    void findCommentThreadBuildsTree() {
+        // given
+        Comment root = testComment.toBuilder().id(1L).build();
+        Comment reply = testComment.toBuilder().id(2L).build();
+        Comment nested = testComment.toBuilder().id(3L).status(CommentStatus.DELETED).build();
+        Comment otherRoot = testComment.toBuilder().id(4L).build();
+        root.addChildComment(reply);
+        reply.addChildComment(nested);
+        given(commentRepository.findThreadByPostId(1L)).willReturn(List.of(root, reply, nested, otherRoot));
+
+        // when
+        List<CommentResponse> thread = commentService.findCommentThread(1L);
+
+        // then
+        assertThat(thread).extracting(CommentResponse::getId).containsExactly(1L, 4L);
+        CommentResponse replyNode = thread.get(0).getChildren().get(0);
+        assertThat(replyNode.getId()).isEqualTo(2L);
+        assertThat(replyNode.getDepth()).isEqualTo(1);
+        CommentResponse nestedNode = replyNode.getChildren().get(0);
+        assertThat(nestedNode.getDepth()).isEqualTo(2);
+        assertThat(nestedNode.isDeleted()).isTrue();
+        assertThat(nestedNode.getContent()).isNull();
+        // 합쳐진 호출들이 공유하는 결과이므로 수정 불가
+        assertThatThrownBy(() -> replyNode.getChildren().add(nestedNode)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("루트 댓글 페이지는 답글 수와 첫 답글 미리보기를 함께 반환")
+    void findRootCommentsWithReplyPreview() {
+        // given
+        Comment root = testComment.toBuilder().id(1L).build();
+        Comment next = testComment.toBuilder().id(5L).build();
+        Comment reply = testComment.toBuilder().id(2L).build();
+        root.addChildComment(reply);
+        given(commentRepository.findRootsByPostId(1L, null, null, 2)).willReturn(List.of(root, next));
+        given(commentRepository.findFirstRepliesByParentIds(List.of(1L), CommentService.REPLY_PREVIEW_SIZE))
+                .willReturn(List.of(reply));
+        given(commentRepository.countRepliesByParentIds(List.of(1L, 2L))).willReturn(Map.of(1L, 10L));
+
+        // when
+        CommentCursorPageResponse page = commentService.findRootComments(1L, null, 1);
+
+        // then
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isNotNull();
+        CommentResponse rootNode = page.getComments().get(0);
+        assertThat(rootNode.getReplyCount()).isEqualTo(10L);
+        assertThat(rootNode.getChildren()).extracting(CommentResponse::getId).containsExactly(2L);
+        assertThat(rootNode.isHasMoreReplies()).isTrue();
+        assertThat(rootNode.getRepliesCursor()).isNotNull();
+        assertThatThrownBy(() -> page.getComments().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("답글 더보기는 커서 이후의 답글만 조회")
+    void findRepliesAfterCursor() {
+        // given
+        LocalDateTime createDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        String cursor = SeekCursor.next(createDate, 2L).encode();
+        Comment reply = testComment.toBuilder().id(3L).build();
+        given(commentRepository.findRepliesByParentId(1L, createDate, 2L, 3)).willReturn(List.of(reply));
+        given(commentRepository.countRepliesByParentIds(List.of(3L))).willReturn(Map.of());
+
+        // when
+        CommentCursorPageResponse page = commentService.findReplies(1L, cursor, 2);
+
+        // then
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getComments()).extracting(CommentResponse::getId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("댓글 목록에 이전 방향 커서는 사용 불가")
+    void findRootCommentsRejectsPrevCursor() {
+        String cursor = SeekCursor.prev(LocalDateTime.of(2024, 1, 1, 0, 0), 2L).encode();
+
+        assertThatThrownBy(() -> commentService.findRootComments(1L, cursor, 10))
+                .isInstanceOf(InvalidInputException.class);
+    }
+}
@@ -0,0 +1,279 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.AttachmentBlob;
+import darak.study.spring_study.domain.Comment;
+import darak.study.spring_study.domain.CommentStatus;
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostCategory;
+import darak.study.spring_study.domain.PostLike;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.cache.PostDetailCache;
+import darak.study.spring_study.fixture.BoardFixtures;
+import darak.study.spring_study.repository.AttachmentBlobRepository;
+import darak.study.spring_study.repository.AttachmentRepository;
+import darak.study.spring_study.repository.CommentRepository;
+import darak.study.spring_study.repository.PostLikeRepository;
+import darak.study.spring_study.repository.PostRepository;
+import darak.study.spring_study.search.CommentSearchIndex;
+import darak.study.spring_study.search.PostSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// 삭제 상태 게시글/댓글 정리 (실제 DB 사용, 묶음 경계를 지나도록 묶음 크기를 작게 설정)
+@SpringBootTest(properties = {"board.purge.batch-size=2", "board.purge.pause-ms=0"})
+class DeletedContentPurgerTest {
+
+    @Autowired
+    private DeletedContentPurger purger;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PostCountService postCountService;
+
+    @Autowired
+    private AttachmentBlobRepository attachmentBlobRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private CommentSearchIndex commentSearchIndex;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transaction;
+
+    private Long categoryId;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        transaction.executeWithoutResult(status -> {
+            categoryId = BoardFixtures.category(em).getId();
+            memberId = BoardFixtures.member(em, "purger").getId();
+        });
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 삭제 게시글을 댓글/첨부파일/좋아요와 함께 묶음 단위로 삭제")
+    void purgesDeletedPosts() {
+        // given: 삭제된 게시글 3개(답글 포함 댓글 5개, 첨부파일, 좋아요)와 공개 게시글 1개
+        String hash = UUID.randomUUID().toString().replace("-", "").repeat(2);
+        Long[] deleted = new Long[3];
+        for (int i = 0; i < deleted.length; i++) {
+            deleted[i] = createPost(PostStatus.PUBLIC);
+            addThread(deleted[i]);
+            addAttachment(deleted[i], hash);
+            like(deleted[i]);
+        }
+        Long kept = createPost(PostStatus.PUBLIC);
+        addThread(kept);
+        for (Long postId : deleted) {
+            postService.changePostStatus(postId, PostStatus.DELETED);
+        }
+        long deletedCountBefore = postCountService.countByStatus(PostStatus.DELETED);
+
+        // when
+        int purged = purger.purgePosts(LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertThat(purged).isGreaterThanOrEqualTo(3);   // 같은 DB를 쓰는 다른 테스트의 삭제 게시글도 정리될 수 있음
+        transaction.executeWithoutResult(status -> {
+            for (Long postId : deleted) {
+                assertThat(em.find(Post.class, postId)).isNull();
+                assertThat(count("select count(c) from Comment c where c.post.id = :postId", postId)).isZero();
+                assertThat(count("select count(a) from Attachment a where a.post.id = :postId", postId)).isZero();
+                assertThat(count("select count(l) from PostLike l where l.post.id = :postId", postId)).isZero();
+                assertThat(count("select count(s) from PostLikeCounter s where s.post.id = :postId", postId)).isZero();
+            }
+            assertThat(count("select count(c) from Comment c where c.post.id = :postId", kept)).isEqualTo(5);
+            assertThat(em.find(AttachmentBlob.class, hash).getRefCount()).isZero();
+        });
+        assertThat(postCountService.countByStatus(PostStatus.DELETED)).isEqualTo(deletedCountBefore - purged);
+    }
+
+    @Test
+    @DisplayName("정리 대상으로 고른 뒤 복구된 게시글은 댓글과 함께 남기고 삭제 집계에서도 빼지 않음")
+    void keepsPostRestoredDuringPurge() {
+        // given: 삭제된 게시글을 정리 대상으로 고른 직후 복구
+        Long postId = createPost(PostStatus.PUBLIC);
+        addThread(postId);
+        postService.changePostStatus(postId, PostStatus.DELETED);
+        AtomicBoolean restored = new AtomicBoolean();
+        PostRepository restoringRepository = mock(PostRepository.class, AdditionalAnswers.delegatesTo(postRepository));
+        doAnswer(invocation -> {
+            List<Long> ids = postRepository.findDeletedIdsBefore(invocation.getArgument(0), invocation.getArgument(1));
+            if (ids.contains(postId) && restored.compareAndSet(false, true)) {
+                postService.changePostStatus(postId, PostStatus.PUBLIC);
+            }
+            return ids;
+        }).when(restoringRepository).findDeletedIdsBefore(any(), anyInt());
+        DeletedContentPurger restoringPurger = new DeletedContentPurger(restoringRepository, commentRepository,
+                attachmentRepository, attachmentBlobRepository, postLikeRepository, postCountService,
+                postSearchIndex, commentSearchIndex, postDetailCache, transactionManager, 30, 2, 0);
+        long deletedCountBefore = postCountService.countByStatus(PostStatus.DELETED);
+
+        // when
+        int purged = restoringPurger.purgePosts(LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertThat(restored).isTrue();
+        transaction.executeWithoutResult(status -> {
+            assertThat(em.find(Post.class, postId).getStatus()).isEqualTo(PostStatus.PUBLIC);
+            assertThat(count("select count(c) from Comment c where c.post.id = :postId", postId)).isEqualTo(5);
+        });
+        assertThat(postCountService.countByStatus(PostStatus.DELETED)).isEqualTo(deletedCountBefore - 1 - purged);
+        assertThat(commentSearchIndex.search("댓글", postId, 0, 10).ids()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지나지 않은 삭제 게시글은 남겨 둠")
+    void keepsRecentlyDeletedPosts() {
+        Long postId = createPost(PostStatus.PUBLIC);
+        postService.changePostStatus(postId, PostStatus.DELETED);
+
+        purger.purgePosts(LocalDateTime.now().minusDays(1));
+
+        Post post = transaction.execute(status -> em.find(Post.class, postId));
+        assertThat(post).isNotNull();
+    }
+
+    @Test
+    @DisplayName("답글이 없는 삭제 댓글만 정리하고, 답글이 모두 정리되면 부모도 함께 정리")
+    void purgesDeletedLeafComments() {
+        // given: 삭제(루트) -> 삭제(답글) -> 삭제(답글의 답글), 삭제(루트) -> 활성(답글)
+        Long postId = createPost(PostStatus.PUBLIC);
+        Long[] chain = addChain(postId, 3);
+        Long[] guarded = addChain(postId, 2);
+        for (Long commentId : chain) {
+            commentService.changeCommentStatus(commentId, CommentStatus.DELETED);
+        }
+        commentService.changeCommentStatus(guarded[0], CommentStatus.DELETED);
+
+        // when
+        int purged = purger.purgeComments(LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertThat(purged).isGreaterThanOrEqualTo(3);
+        transaction.executeWithoutResult(status -> {
+            for (Long commentId : chain) {
+                assertThat(em.find(Comment.class, commentId)).isNull();
+            }
+            assertThat(em.find(Comment.class, guarded[0])).isNotNull();   // 활성 답글이 있어 스레드에 남김
+            assertThat(em.find(Post.class, postId).getCommentCount()).isEqualTo(1);  // 삭제 상태 댓글은 세지 않음
+        });
+    }
+
+    private Long createPost(PostStatus status) {
+        return transaction.execute(s -> postService.createPost(Post.builder()
+                .name("정리 테스트")
+                .content("내용")
+                .member(em.getReference(Member.class, memberId))
+                .postCategory(em.getReference(PostCategory.class, categoryId))
+                .status(status)
+                .build()));
+    }
+
+    // 루트 댓글 2개, 첫 루트에 답글 2개, 답글에 답글 1개
+    private void addThread(Long postId) {
+        Long[] chain = addChain(postId, 3);
+        addReply(postId, chain[0]);
+        addChain(postId, 1);
+    }
+
+    // 루트부터 depth개가 한 줄로 이어진 스레드 (루트 -> 답글 -> 답글의 답글 ...)
+    private Long[] addChain(Long postId, int depth) {
+        Long[] ids = new Long[depth];
+        ids[0] = transaction.execute(s -> commentService.addComment(comment(postId)).getId());
+        for (int i = 1; i < depth; i++) {
+            ids[i] = addReply(postId, ids[i - 1]);
+        }
+        return ids;
+    }
+
+    private Long addReply(Long postId, Long parentId) {
+        return transaction.execute(s -> {
+            Comment reply = comment(postId);
+            em.find(Comment.class, parentId).addChildComment(reply);
+            return commentService.addComment(reply).getId();
+        });
+    }
+
+    private Comment comment(Long postId) {
+        return Comment.builder()
+                .post(em.getReference(Post.class, postId))
+                .member(em.getReference(Member.class, memberId))
+                .content("댓글")
+                .build();
+    }
+
+    private void addAttachment(Long postId, String hash) {
+        transaction.executeWithoutResult(s -> {
+            attachmentBlobRepository.touch(hash, 10L);
+            attachmentBlobRepository.incrementRefCount(hash);
+            em.persist(Attachment.builder()
+                    .post(em.getReference(Post.class, postId))
+                    .fileName("a.png")
+                    .fileType("image/png")
+                    .fileSize(10L)
+                    .contentHash(hash)
+                    .build());
+        });
+    }
+
+    private void like(Long postId) {
+        transaction.executeWithoutResult(s -> em.persist(PostLike.builder()
+                .post(em.getReference(Post.class, postId))
+                .member(em.getReference(Member.class, memberId))
+                .build()));
+    }
+
+    private long count(String jpql, Long postId) {
+        return em.createQuery(jpql, Long.class).setParameter("postId", postId).getSingleResult();
+    }
+}
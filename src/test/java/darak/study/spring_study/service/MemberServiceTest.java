@@ -1,10 +1,12 @@
 package darak.study.spring_study.service;
 
+import darak.study.spring_study.cache.MemberEmailIndex;
 import darak.study.spring_study.domain.Grade;
 import darak.study.spring_study.domain.Member;
 import darak.study.spring_study.domain.MemberStatus;
 import darak.study.spring_study.exception.DuplicateEmailException;
 import darak.study.spring_study.exception.InvalidInputException;
+import darak.study.spring_study.exception.MemberNotFoundException;
 import darak.study.spring_study.repository.MemberRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,8 +15,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.Optional;
 
@@ -22,6 +26,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.ArgumentMatchers.argThat;
 
@@ -31,6 +36,15 @@ class MemberServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private MemberEmailIndex memberEmailIndex;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     @InjectMocks
     private MemberService memberService;
 
@@ -57,7 +71,9 @@ class MemberServiceTest {
         @DisplayName("성공")
         void success() {
             // given
+            given(memberEmailIndex.mightExist("test@test.com")).willReturn(true);
             given(memberRepository.findByEmail(any())).willReturn(Optional.empty());
+            given(passwordHasher.hash("password123")).willReturn(BCrypt.hashpw("password123", BCrypt.gensalt(4)));
             given(memberRepository.save(any(Member.class))).willReturn(testMember);
 
             // when
@@ -68,12 +84,30 @@ class MemberServiceTest {
             verify(memberRepository).save(argThat(savedMember -> 
                 BCrypt.checkpw("password123", savedMember.getPassword())
             ));
+            verify(memberEmailIndex).add("test@test.com");
+            verify(memberEmailIndex).finishAdd("test@test.com");
+        }
+
+        @Test
+        @DisplayName("성공 - 필터가 없다고 판단한 이메일은 중복 조회 생략")
+        void successSkipsLookupForDefiniteMiss() {
+            // given
+            given(memberEmailIndex.mightExist("test@test.com")).willReturn(false);
+            given(passwordHasher.hash("password123")).willReturn("hashed");
+
+            // when
+            memberService.join(testMember);
+
+            // then
+            verify(memberRepository, never()).findByEmail(any());
+            verify(memberRepository).save(any(Member.class));
         }
 
         @Test
         @DisplayName("실패 - 중복 이메일")
         void failDuplicateEmail() {
             // given
+            given(memberEmailIndex.mightExist("test@test.com")).willReturn(true);
             given(memberRepository.findByEmail(any())).willReturn(Optional.of(testMember));
 
             // when & then
@@ -95,6 +129,51 @@ class MemberServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("이메일 조회 테스트")
+    class FindByEmailTest {
+        @Test
+        @DisplayName("캐시된 ID가 있으면 기본 키로 조회")
+        void cachedId() {
+            // given
+            given(memberEmailIndex.cachedId("test@test.com")).willReturn(1L);
+            given(memberRepository.findById(1L)).willReturn(Optional.of(testMember));
+
+            // when
+            Member found = memberService.findByEmail("test@test.com");
+
+            // then
+            assertThat(found).isSameAs(testMember);
+            verify(memberRepository, never()).findByEmail(any());
+        }
+
+        @Test
+        @DisplayName("DB에서 찾은 회원의 ID를 캐시")
+        void cachesIdAfterLookup() {
+            // given
+            given(memberEmailIndex.mightExist("test@test.com")).willReturn(true);
+            given(memberRepository.findByEmail("test@test.com")).willReturn(Optional.of(testMember));
+
+            // when
+            memberService.findByEmail("test@test.com");
+
+            // then
+            verify(memberEmailIndex).cacheId("test@test.com", 1L);
+        }
+
+        @Test
+        @DisplayName("실패 - 필터가 없다고 판단하면 조회 없이 예외")
+        void definiteMiss() {
+            // given
+            given(memberEmailIndex.mightExist("none@test.com")).willReturn(false);
+
+            // when & then
+            assertThatThrownBy(() -> memberService.findByEmail("none@test.com"))
+                    .isInstanceOf(MemberNotFoundException.class);
+            verify(memberRepository, never()).findByEmail(any());
+        }
+    }
+
     @Nested
     @DisplayName("회원 정보 수정 테스트")
     class UpdateTest {
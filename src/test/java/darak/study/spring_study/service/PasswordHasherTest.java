@@ -0,0 +1,86 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.exception.ServerBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        passwordHasher = new PasswordHasher(4, 0, 10, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("설정한 cost로 검증 가능한 해시 생성")
+    void hashWithConfiguredCost() {
+        String hashed = passwordHasher.hash("password123");
+
+        assertThat(hashed).startsWith("$2a$04$").hasSize(60);
+        assertThat(BCrypt.checkpw("password123", hashed)).isTrue();
+    }
+
+    @Test
+    @DisplayName("빈 비밀번호는 예외 발생")
+    void blankPassword() {
+        assertThatThrownBy(() -> passwordHasher.hash(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("비밀번호는 필수입니다.");
+    }
+
+    @Test
+    @DisplayName("허용 범위를 벗어난 cost는 예외 발생")
+    void invalidCost() {
+        assertThatThrownBy(() -> new PasswordHasher(3, 0, 10, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("모든 스레드가 해시 중이고 대기열도 가득 차면 호출한 스레드에서 해시하지 않고 거절")
+    void rejectsWhenSaturated() throws Exception {
+        // given: 스레드 수 + 대기열 1개만큼 오래 걸리는 해시를 채움
+        PasswordHasher saturated = new PasswordHasher(14, 0, 1, 10);
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService callers = Executors.newFixedThreadPool(threads + 1);
+        try {
+            for (int i = 0; i <= threads; i++) {
+                callers.submit(() -> saturated.hash("password123"));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (saturated.remainingQueueCapacity() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+
+            // when, then
+            assertThatThrownBy(() -> saturated.hash("password123"))
+                    .isInstanceOf(ServerBusyException.class);
+        } finally {
+            callers.shutdown();
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("목표 시간이 짧으면 최소 cost 선택")
+    void calibrateToShortTarget() {
+        assertThat(PasswordHasher.calibrate(Duration.ofMillis(1))).isBetween(PasswordHasher.MIN_COST, 6);
+    }
+}
@@ -0,0 +1,85 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostCategory;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.fixture.BoardFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 게시글 수 집계 행 생성 경합 (유니크 제약이 실제로 걸리는지 실제 DB로 확인)
+@SpringBootTest
+class PostCountRaceTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostCountService postCountService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transaction;
+
+    private PostCategory category;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        transaction.executeWithoutResult(status -> {
+            category = BoardFixtures.category(em);
+            member = BoardFixtures.member(em, "writer");
+        });
+    }
+
+    @Test
+    @DisplayName("새 카테고리의 첫 게시글이 동시에 만들어져도 모두 저장되고 집계에 반영")
+    void concurrentFirstPosts() {
+        // given
+        int threads = 8;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<CompletableFuture<Long>> creates = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            String name = "첫 게시글 " + i;
+            creates.add(CompletableFuture.supplyAsync(() -> {
+                await(barrier);
+                return postService.createPost(Post.builder()
+                        .name(name)
+                        .content("내용")
+                        .member(member)
+                        .postCategory(category)
+                        .status(PostStatus.PUBLIC)
+                        .build());
+            }));
+        }
+
+        // then
+        assertThat(creates.stream().map(CompletableFuture::join)).hasSize(threads).doesNotContainNull();
+        assertThat(postCountService.countVisiblePostsByCategory(category.getId())).isEqualTo(threads);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
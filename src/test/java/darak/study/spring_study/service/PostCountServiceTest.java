@@ -0,0 +1,144 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostCategory;
+import darak.study.spring_study.domain.PostCount;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.repository.PostCountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PostCountServiceTest {
+
+    @Mock
+    private PostCountRepository postCountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PostCountService postCountService;
+
+    private Post testPost;
+
+    @BeforeEach
+    void setUp() {
+        PostCategory category = BeanUtils.instantiateClass(PostCategory.class);
+        category.setId(10L);
+        testPost = Post.builder()
+                .id(1L)
+                .name("테스트 게시글")
+                .content("테스트 내용입니다.")
+                .postCategory(category)
+                .status(PostStatus.PUBLIC)
+                .build();
+    }
+
+    @Test
+    @DisplayName("집계 행이 없으면 새로 생성")
+    void incrementCreatesRow() {
+        // given
+        given(postCountRepository.addToCount(10L, PostStatus.PUBLIC, 1L)).willReturn(0);
+
+        // when
+        postCountService.increment(testPost);
+
+        // then
+        verify(postCountRepository).save(any(PostCount.class));
+        verify(postCountRepository, times(2)).addToCount(10L, PostStatus.PUBLIC, 1L);
+    }
+
+    @Test
+    @DisplayName("다른 요청이 먼저 집계 행을 만들었으면 그 행에 반영")
+    void incrementAfterConcurrentCreate() {
+        // given
+        given(postCountRepository.addToCount(10L, PostStatus.PUBLIC, 1L)).willReturn(0, 1);
+        given(postCountRepository.save(any(PostCount.class)))
+                .willThrow(new DataIntegrityViolationException("uk_post_count_category_status"));
+
+        // when
+        postCountService.increment(testPost);
+
+        // then
+        verify(postCountRepository, times(2)).addToCount(10L, PostStatus.PUBLIC, 1L);
+    }
+
+    @Test
+    @DisplayName("일괄 생성 시 카테고리/상태별로 한 번씩만 갱신")
+    void incrementAllGroupsByKey() {
+        // given
+        Post draft = testPost.toBuilder().id(2L).status(PostStatus.DRAFT).build();
+        given(postCountRepository.addToCount(10L, PostStatus.PUBLIC, 2L)).willReturn(1);
+        given(postCountRepository.addToCount(10L, PostStatus.DRAFT, 1L)).willReturn(1);
+
+        // when
+        postCountService.incrementAll(List.of(testPost, testPost.toBuilder().id(3L).build(), draft));
+
+        // then
+        verify(postCountRepository).addToCount(10L, PostStatus.PUBLIC, 2L);
+        verify(postCountRepository).addToCount(10L, PostStatus.DRAFT, 1L);
+    }
+
+    @Test
+    @DisplayName("상태 변경 시 이전 상태는 감소, 새 상태는 증가")
+    void changeStatusMovesCount() {
+        // given
+        given(postCountRepository.addToCount(10L, PostStatus.PUBLIC, -1L)).willReturn(1);
+        given(postCountRepository.addToCount(10L, PostStatus.DELETED, 1L)).willReturn(1);
+
+        // when
+        postCountService.changeStatus(testPost, PostStatus.PUBLIC, PostStatus.DELETED);
+
+        // then
+        verify(postCountRepository).addToCount(10L, PostStatus.PUBLIC, -1L);
+        verify(postCountRepository).addToCount(10L, PostStatus.DELETED, 1L);
+        verify(postCountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("재검증 - 같은 차이가 두 번 연속 발견될 때만 보정")
+    void reconcileFixesPersistentDrift() {
+        // given
+        given(postCountRepository.findAll()).willReturn(List.of(count(10L, PostStatus.PUBLIC, 5L)));
+        given(postCountRepository.countActual()).willReturn(List.of(count(10L, PostStatus.PUBLIC, 7L)));
+        given(postCountRepository.addToCount(10L, PostStatus.PUBLIC, 2L)).willReturn(1);
+
+        // when
+        postCountService.reconcile();
+
+        // then
+        verify(postCountRepository, never()).addToCount(any(), any(), anyLong());
+
+        // when
+        postCountService.reconcile();
+
+        // then
+        verify(postCountRepository).addToCount(10L, PostStatus.PUBLIC, 2L);
+    }
+
+    private PostCount count(Long categoryId, PostStatus status, long count) {
+        return PostCount.builder()
+                .categoryId(categoryId)
+                .status(status)
+                .count(count)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.fixture.BoardFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 게시글 물리 삭제 (좋아요/좋아요 수 샤드가 외래 키로 게시글을 참조하므로 실제 DB로 확인)
+@SpringBootTest
+class PostDeleteTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostLikeService postLikeService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transaction;
+
+    @Test
+    @DisplayName("좋아요와 좋아요 수 샤드가 있는 게시글도 삭제")
+    void deletesPostWithLikes() {
+        // given
+        Long[] ids = transaction.execute(status -> {
+            Member member = BoardFixtures.member(em, "deleter");
+            Long postId = postService.createPost(Post.builder()
+                    .name("삭제 테스트")
+                    .content("내용")
+                    .member(member)
+                    .postCategory(BoardFixtures.category(em))
+                    .build());
+            return new Long[]{postId, member.getId()};
+        });
+        Long postId = ids[0];
+        transaction.executeWithoutResult(status -> postLikeService.like(postId, ids[1]));
+
+        // when
+        transaction.executeWithoutResult(status -> postService.deletePost(postId));
+
+        // then
+        transaction.executeWithoutResult(status -> {
+            assertThat(em.find(Post.class, postId)).isNull();
+            assertThat(count("select count(l) from PostLike l where l.post.id = :postId", postId)).isZero();
+            assertThat(count("select count(s) from PostLikeCounter s where s.post.id = :postId", postId)).isZero();
+        });
+    }
+
+    private long count(String jpql, Long postId) {
+        return em.createQuery(jpql, Long.class).setParameter("postId", postId).getSingleResult();
+    }
+}
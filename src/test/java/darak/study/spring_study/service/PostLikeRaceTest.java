@@ -0,0 +1,113 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.fixture.BoardFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 좋아요/샤드 생성 경합 (유니크 제약이 실제로 걸리는지 실제 DB로 확인)
+@SpringBootTest
+class PostLikeRaceTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostLikeService postLikeService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transaction;
+
+    private Long postId;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        transaction.executeWithoutResult(status -> {
+            Member member = BoardFixtures.member(em, "liker");
+            memberId = member.getId();
+            postId = postService.createPost(Post.builder()
+                    .name("좋아요 테스트")
+                    .content("내용")
+                    .member(member)
+                    .postCategory(BoardFixtures.category(em))
+                    .build());
+        });
+    }
+
+    @Test
+    @DisplayName("같은 회원의 좋아요가 동시에 들어와도 한 번만 반영되고 예외가 나지 않음")
+    void concurrentDoubleLike() {
+        // given
+        int threads = 4;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<CompletableFuture<Boolean>> likes = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            likes.add(CompletableFuture.supplyAsync(() -> {
+                await(barrier);
+                return postLikeService.like(postId, memberId);
+            }));
+        }
+
+        // then
+        assertThat(likes.stream().map(CompletableFuture::join).filter(liked -> liked).count()).isEqualTo(1);
+        assertThat(postLikeService.getLikeCount(postId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("샤드가 이미 있으면 샤드 생성은 아무것도 하지 않음")
+    void createMissingShardsIsIdempotent() {
+        postLikeService.createMissingShards(postId);
+
+        assertThat(shardCount()).isEqualTo(PostLikeService.COUNTER_SHARDS);
+    }
+
+    @Test
+    @DisplayName("샤드가 없는 기존 게시글은 좋아요 시 샤드를 만듦")
+    void createsShardsForLegacyPost() {
+        // given
+        transaction.executeWithoutResult(status -> em.createQuery("delete from PostLikeCounter s where s.post.id = :postId")
+                .setParameter("postId", postId)
+                .executeUpdate());
+
+        // when
+        postLikeService.like(postId, memberId);
+
+        // then
+        assertThat(shardCount()).isEqualTo(PostLikeService.COUNTER_SHARDS);
+        assertThat(postLikeService.getLikeCount(postId)).isEqualTo(1);
+    }
+
+    private long shardCount() {
+        return transaction.execute(status -> em.createQuery(
+                        "select count(s) from PostLikeCounter s where s.post.id = :postId", Long.class)
+                .setParameter("postId", postId)
+                .getSingleResult());
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
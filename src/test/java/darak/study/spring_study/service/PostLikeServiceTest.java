@@ -0,0 +1,189 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostLike;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.exception.PostNotFoundException;
+import darak.study.spring_study.repository.MemberRepository;
+import darak.study.spring_study.repository.PostLikeRepository;
+import darak.study.spring_study.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PostLikeServiceTest {
+
+    @Mock
+    private PostLikeRepository postLikeRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PostLikeService postLikeService;
+
+    private Post testPost;
+    private Member testMember;
+
+    @BeforeEach
+    void setUp() {
+        testPost = Post.builder()
+                .id(1L)
+                .name("테스트 게시글")
+                .content("테스트 내용입니다.")
+                .status(PostStatus.PUBLIC)
+                .build();
+        testMember = Member.builder().id(2L).build();
+    }
+
+    @Test
+    @DisplayName("좋아요 성공 시 샤드 하나에만 1 증가")
+    void likeSuccess() {
+        // given
+        given(postLikeRepository.existsByPostIdAndMemberId(1L, 2L)).willReturn(false);
+        given(postRepository.findById(1L)).willReturn(Optional.of(testPost));
+        given(memberRepository.findById(2L)).willReturn(Optional.of(testMember));
+        given(postLikeRepository.addToCounterShard(eq(1L), anyInt(), eq(1L))).willReturn(1);
+
+        // when
+        boolean liked = postLikeService.like(1L, 2L);
+
+        // then
+        assertThat(liked).isTrue();
+        verify(postLikeRepository).save(any(PostLike.class));
+        verify(postLikeRepository).addToCounterShard(eq(1L), anyInt(), eq(1L));
+    }
+
+    @Test
+    @DisplayName("이미 좋아요를 누른 회원은 다시 집계되지 않음")
+    void likeIsIdempotent() {
+        // given
+        given(postLikeRepository.existsByPostIdAndMemberId(1L, 2L)).willReturn(true);
+
+        // when
+        boolean liked = postLikeService.like(1L, 2L);
+
+        // then
+        assertThat(liked).isFalse();
+        verify(postLikeRepository, never()).save(any());
+        verify(postLikeRepository, never()).addToCounterShard(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("같은 좋아요가 동시에 들어와 유니크 제약에 걸리면 이미 누른 것으로 처리")
+    void concurrentLikeIsNoOp() {
+        // given
+        given(postLikeRepository.existsByPostIdAndMemberId(1L, 2L)).willReturn(false, true);
+        given(postRepository.findById(1L)).willReturn(Optional.of(testPost));
+        given(memberRepository.findById(2L)).willReturn(Optional.of(testMember));
+        given(postLikeRepository.save(any(PostLike.class))).willThrow(new DataIntegrityViolationException("uk_post_like"));
+
+        // when
+        boolean liked = postLikeService.like(1L, 2L);
+
+        // then
+        assertThat(liked).isFalse();
+        verify(postLikeRepository, never()).addToCounterShard(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("삭제된 게시글에는 좋아요 불가")
+    void likeDeletedPostFail() {
+        // given
+        Post deletedPost = testPost.toBuilder().status(PostStatus.DELETED).build();
+        given(postLikeRepository.existsByPostIdAndMemberId(1L, 2L)).willReturn(false);
+        given(postRepository.findById(1L)).willReturn(Optional.of(deletedPost));
+
+        // when & then
+        assertThatThrownBy(() -> postLikeService.like(1L, 2L))
+                .isInstanceOf(PostNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("좋아요 취소 시 샤드에 -1 반영")
+    void unlikeSuccess() {
+        // given
+        given(postLikeRepository.deleteByPostIdAndMemberId(1L, 2L)).willReturn(1);
+        given(postLikeRepository.addToCounterShard(eq(1L), anyInt(), eq(-1L))).willReturn(1);
+
+        // when
+        boolean unliked = postLikeService.unlike(1L, 2L);
+
+        // then
+        assertThat(unliked).isTrue();
+        verify(postLikeRepository).addToCounterShard(eq(1L), anyInt(), eq(-1L));
+    }
+
+    @Test
+    @DisplayName("누르지 않은 좋아요 취소는 무시")
+    void unlikeWithoutLike() {
+        // given
+        given(postLikeRepository.deleteByPostIdAndMemberId(1L, 2L)).willReturn(0);
+
+        // when
+        boolean unliked = postLikeService.unlike(1L, 2L);
+
+        // then
+        assertThat(unliked).isFalse();
+        verify(postLikeRepository, never()).addToCounterShard(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("샤드가 없는 기존 게시글은 샤드를 만든 뒤 반영")
+    void likeCreatesMissingShards() {
+        // given
+        given(postLikeRepository.existsByPostIdAndMemberId(1L, 2L)).willReturn(false);
+        given(postRepository.findById(1L)).willReturn(Optional.of(testPost));
+        given(memberRepository.findById(2L)).willReturn(Optional.of(testMember));
+        given(postLikeRepository.addToCounterShard(eq(1L), anyInt(), eq(1L))).willReturn(0, 1);
+
+        // when
+        postLikeService.like(1L, 2L);
+
+        // then
+        verify(postLikeRepository).createCounterShards(1L, PostLikeService.COUNTER_SHARDS);
+    }
+
+    @Test
+    @DisplayName("변경된 게시글만 likeCount 동기화")
+    void syncLikeCounts() {
+        // given
+        given(postLikeRepository.deleteByPostIdAndMemberId(1L, 2L)).willReturn(1);
+        given(postLikeRepository.addToCounterShard(eq(1L), anyInt(), eq(-1L))).willReturn(1);
+        postLikeService.unlike(1L, 2L);
+
+        // when
+        postLikeService.syncLikeCounts();
+        postLikeService.syncLikeCounts();
+
+        // then
+        verify(postLikeRepository).refreshLikeCounts(List.of(1L));
+    }
+}
@@ -1,27 +1,53 @@
 package darak.study.spring_study.service;
 
+import darak.study.spring_study.cache.PostDetailCache;
+import darak.study.spring_study.cache.ReadCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import darak.study.spring_study.domain.Post;
 import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.dto.PostPageResponse;
+import darak.study.spring_study.dto.PostCursorPageResponse;
+import darak.study.spring_study.dto.PostDetailResponse;
+import darak.study.spring_study.dto.PostUpdateRequest;
+import darak.study.spring_study.dto.PostSummary;
+import darak.study.spring_study.dto.SeekCursor;
+import darak.study.spring_study.exception.InvalidInputException;
+import darak.study.spring_study.repository.AttachmentBlobRepository;
+import darak.study.spring_study.repository.AttachmentRepository;
+import darak.study.spring_study.repository.AttachmentVariantRepository;
 import darak.study.spring_study.repository.PostRepository;
-import jakarta.persistence.OptimisticLockException;
+import darak.study.spring_study.search.CommentSearchIndex;
+import darak.study.spring_study.search.PostSearchIndex;
+import darak.study.spring_study.search.SearchHits;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.ConcurrentModificationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 class PostServiceTest {
@@ -29,6 +55,37 @@ class PostServiceTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private ViewCountBuffer viewCountBuffer;
+
+    @Mock
+    private PostLikeService postLikeService;
+
+    @Mock
+    private PostCountService postCountService;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private CommentSearchIndex commentSearchIndex;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private AttachmentBlobRepository attachmentBlobRepository;
+
+    @Mock
+    private AttachmentVariantRepository attachmentVariantRepository;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    @Spy
+    private ReadCoalescer readCoalescer =
+            new ReadCoalescer(new SimpleMeterRegistry(), mock(PlatformTransactionManager.class), 1000L);
+
     @InjectMocks
     private PostService postService;
 
@@ -65,6 +122,8 @@ class PostServiceTest {
         // then
         assertThat(postId).isEqualTo(1L);
         verify(postRepository).save(any(Post.class));
+        verify(postLikeService).initCounter(1L);
+        verify(postCountService).increment(post);
     }
 
     @Test
@@ -113,30 +172,241 @@ class PostServiceTest {
     }
 
     @Test
-    @DisplayName("동시성 처리 - 조회수 증가 실패 시 재시도")
-    void incrementViewCountWithRetry() {
+    @DisplayName("조회수 증가는 DB를 거치지 않고 버퍼에 누적")
+    void incrementViewCountBuffered() {
+        // when
+        postService.incrementViewCount(1L);
+        postService.incrementViewCount(1L);
+
+        // then
+        verify(viewCountBuffer, times(2)).increment(1L);
+        verify(postRepository, never()).incrementViewCount(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("조회수 조회 시 반영 대기 중인 증분 포함")
+    void getViewCountIncludesPending() {
         // given
-        doThrow(OptimisticLockException.class)
-            .doNothing()
-            .when(postRepository).incrementViewCount(1L);
+        Post post = testPost.toBuilder().id(1L).viewCount(10).build();
+        given(postRepository.findById(1L)).willReturn(Optional.of(post));
+        given(viewCountBuffer.pendingCount(1L)).willReturn(5L);
 
         // when
-        postService.incrementViewCount(1L);
+        long viewCount = postService.getViewCount(1L);
+
+        // then
+        assertThat(viewCount).isEqualTo(15L);
+    }
+
+    @Test
+    @DisplayName("커서 기반 조회 - 첫 페이지는 다음 커서만 반환")
+    void findPostsByCursorFirstPage() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<PostSummary> rows = List.of(summary(3L, now), summary(2L, now), summary(1L, now));
+        given(postRepository.findSummaries(0, 3)).willReturn(rows);
+
+        // when
+        PostCursorPageResponse response = postService.findPostsByCursor(null, 2);
+
+        // then
+        assertThat(response.getPosts()).extracting(PostSummary::getId).containsExactly(3L, 2L);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(response.isHasPrev()).isFalse();
+        assertThat(response.getPrevCursor()).isNull();
+
+        SeekCursor next = SeekCursor.decode(response.getNextCursor());
+        assertThat(next.isNext()).isTrue();
+        assertThat(next.getId()).isEqualTo(2L);
+        assertThat(next.getCreateDate()).isEqualTo(now);
+    }
+
+    @Test
+    @DisplayName("커서 기반 조회 - 다음 커서로 오래된 게시글을 이어서 조회")
+    void findPostsByCursorNextPage() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        given(postRepository.findSummariesOlderThan(now, 2L, 3)).willReturn(List.of(summary(1L, now.minusMinutes(1))));
+
+        // when
+        PostCursorPageResponse response =
+                postService.findPostsByCursor(SeekCursor.next(now, 2L).encode(), 2);
+
+        // then
+        assertThat(response.getPosts()).extracting(PostSummary::getId).containsExactly(1L);
+        assertThat(response.isHasNext()).isFalse();
+        assertThat(response.isHasPrev()).isTrue();
+        assertThat(SeekCursor.decode(response.getPrevCursor()).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 예외 발생")
+    void findPostsByCursorInvalid() {
+        assertThatThrownBy(() -> postService.findPostsByCursor("not-a-cursor", 10))
+                .isInstanceOf(InvalidInputException.class);
+    }
+
+    @Test
+    @DisplayName("페이지 번호 방식은 얕은 페이지까지만 허용")
+    void findPostsWithPagingTooDeep() {
+        assertThatThrownBy(() -> postService.findPostsWithPaging(1000, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("깊은 페이지는 커서 기반 조회를 이용해주세요.");
+    }
+
+    @Test
+    @DisplayName("페이지 번호 방식 조회 시 전체 개수는 집계 테이블에서 조회")
+    void findPostsWithPagingUsesMaintainedCount() {
+        // given
+        given(postRepository.findSummaries(0, 10)).willReturn(List.of(summary(1L, LocalDateTime.now())));
+        given(postCountService.countVisiblePosts()).willReturn(21L);
+
+        // when
+        PostPageResponse response = postService.findPostsWithPaging(1, 10);
 
         // then
-        verify(postRepository, times(2)).incrementViewCount(1L);
+        assertThat(response.getTotalCount()).isEqualTo(21L);
+        assertThat(response.getTotalPages()).isEqualTo(3L);
+        verify(postRepository, never()).count();
     }
 
     @Test
-    @DisplayName("동시성 처리 - 좋아요 수 증가 실패 시 재시도 횟수 초과")
-    void incrementLikeCountFailAfterRetries() {
+    @DisplayName("게시글 상태 변경 시 집계 반영")
+    void changePostStatusUpdatesCount() {
         // given
-        doThrow(OptimisticLockException.class)
-            .when(postRepository).incrementLikeCount(1L);
+        Post post = testPost.toBuilder().id(1L).status(PostStatus.DRAFT).build();
+        given(postRepository.findById(1L)).willReturn(Optional.of(post));
+
+        // when
+        postService.changePostStatus(1L, PostStatus.PUBLIC);
+
+        // then
+        assertThat(post.getStatus()).isEqualTo(PostStatus.PUBLIC);
+        verify(postCountService).changeStatus(post, PostStatus.DRAFT, PostStatus.PUBLIC);
+        verifyNoInteractions(commentSearchIndex);
+    }
+
+    @Test
+    @DisplayName("삭제 상태가 되면 댓글을 검색 색인에서 빼고, 복구되면 다시 색인")
+    void changePostStatusUpdatesCommentIndex() {
+        // given
+        Post post = testPost.toBuilder().id(1L).status(PostStatus.PUBLIC).build();
+        given(postRepository.findById(1L)).willReturn(Optional.of(post));
+
+        // when, then
+        postService.changePostStatus(1L, PostStatus.DELETED);
+        verify(commentSearchIndex).removePost(1L);
+
+        postService.changePostStatus(1L, PostStatus.PUBLIC);
+        verify(commentSearchIndex).reindexPost(1L);
+    }
+
+    @Test
+    @DisplayName("검색 결과는 색인의 관련도 순서를 유지")
+    void searchPostsKeepsRanking() {
+        // given
+        given(postSearchIndex.search("게시판", 0, 10)).willReturn(new SearchHits(List.of(2L, 1L), 2L));
+        LocalDateTime now = LocalDateTime.now();
+        given(postRepository.findSummariesByIds(List.of(2L, 1L))).willReturn(List.of(summary(1L, now), summary(2L, now)));
+
+        // when
+        PostPageResponse response = postService.searchPosts("게시판", 1, 10);
+
+        // then
+        assertThat(response.getPosts()).extracting(PostSummary::getId).containsExactly(2L, 1L);
+        assertThat(response.getTotalCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("빈 검색어는 예외 발생")
+    void searchPostsBlankKeyword() {
+        assertThatThrownBy(() -> postService.searchPosts(" ", 1, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("검색어는 필수입니다.");
+    }
+
+    @Test
+    @DisplayName("상세 조회 캐시 미스 시 DB에서 스냅샷을 만들고 대기 중인 조회수를 더함")
+    @SuppressWarnings("unchecked")
+    void findPostWithCommentsLoadsSnapshot() {
+        // given
+        Post post = testPost.toBuilder().id(1L).viewCount(10).build();
+        given(postDetailCache.get(eq(1L), any())).willAnswer(invocation ->
+                invocation.getArgument(1, Function.class).apply(1L));
+        given(postRepository.findByIdWithMemberAndComments(1L)).willReturn(Optional.of(post));
+        given(attachmentRepository.findByPostId(1L)).willReturn(List.of());
+        given(viewCountBuffer.pendingCount(1L)).willReturn(5L);
+
+        // when
+        Optional<PostDetailResponse> detail = postService.findPostWithComments(1L);
+
+        // then
+        assertThat(detail).isPresent();
+        assertThat(detail.get().getViewCount()).isEqualTo(15L);
+        assertThat(detail.get().getAuthor().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("게시글 수정 시 상세 캐시 무효화")
+    void updatePostInvalidatesDetailCache() {
+        // given
+        Post post = testPost.toBuilder().id(1L).build();
+        given(postRepository.findById(1L)).willReturn(Optional.of(post));
+        PostUpdateRequest request = new PostUpdateRequest("수정된 제목", "수정된 내용");
+
+        // when
+        postService.updatePost(1L, request);
+
+        // then
+        verify(postDetailCache).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("게시글 일괄 생성 시 한 번에 저장하고 집계와 검색 색인 반영")
+    void createPostsSavesInBatch() {
+        // given
+        List<Post> posts = List.of(testPost, testPost.toBuilder().name("두 번째 게시글").build());
+        List<Post> saved = List.of(testPost.toBuilder().id(1L).build(), testPost.toBuilder().id(2L).build());
+        given(postRepository.saveAll(posts)).willReturn(saved);
+
+        // when
+        List<Long> ids = postService.createPosts(posts);
+
+        // then
+        assertThat(ids).containsExactly(1L, 2L);
+        verify(postRepository, never()).save(any());
+        verify(postCountService).incrementAll(saved);
+        verify(postSearchIndex, times(2)).index(any(Post.class));
+    }
+
+    @Test
+    @DisplayName("일괄 생성 시 하나라도 유효하지 않으면 저장하지 않음")
+    void createPostsValidatesAll() {
+        // given
+        List<Post> posts = List.of(testPost, testPost.toBuilder().name(" ").build());
 
         // when & then
-        assertThatThrownBy(() -> postService.incrementLikeCount(1L))
-            .isInstanceOf(ConcurrentModificationException.class)
-            .hasMessage("다시 시도해주세요.");
+        assertThatThrownBy(() -> postService.createPosts(posts))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(postRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("목록 조회 시 요약에 반영 대기 중인 조회수 포함")
+    void findPostsWithPagingIncludesPendingViews() {
+        // given
+        given(postRepository.findSummaries(0, 10)).willReturn(List.of(summary(1L, LocalDateTime.now())));
+        given(viewCountBuffer.pendingCount(1L)).willReturn(3L);
+
+        // when
+        PostPageResponse response = postService.findPostsWithPaging(1, 10);
+
+        // then
+        assertThat(response.getPosts()).extracting(PostSummary::getViewCount).containsExactly(13L);
+        verify(postRepository, never()).findAllWithPaging(anyInt(), anyInt());
+    }
+
+    private PostSummary summary(Long id, LocalDateTime createDate) {
+        return new PostSummary(id, "테스트 게시글", "테스트 내용입니다.", "작성자", 10L, 0, 0, 0, createDate);
     }
-}
\ No newline at end of file
+}
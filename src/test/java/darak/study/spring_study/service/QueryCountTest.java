@@ -0,0 +1,134 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.Comment;
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.Post;
+import darak.study.spring_study.domain.PostStatus;
+import darak.study.spring_study.fixture.BoardFixtures;
+import darak.study.spring_study.metrics.SqlStatementMonitor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static darak.study.spring_study.metrics.SqlStatementAssertions.expectAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 목록/상세 조회의 SQL 실행 횟수 회귀 테스트 (댓글 수와 관계없이 일정해야 함)
+@SpringBootTest
+class QueryCountTest {
+    private static final int ROOT_COMMENTS = 20;
+
+    @Autowired
+    private SqlStatementMonitor monitor;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transaction;
+
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        postId = transaction.execute(status -> {
+            List<Member> members = BoardFixtures.members(em, "member", 3);
+            Post post = Post.builder()
+                    .name("쿼리 수 테스트")
+                    .content("내용")
+                    .member(members.get(0))
+                    .postCategory(BoardFixtures.category(em))
+                    .status(PostStatus.PUBLIC)
+                    .build();
+            em.persist(post);
+
+            List<Comment> comments = new ArrayList<>();
+            for (int i = 0; i < ROOT_COMMENTS; i++) {
+                Comment root = Comment.builder().post(post).member(members.get(i % 3)).content("댓글 " + i).build();
+                Comment reply = Comment.builder().post(post).member(members.get((i + 1) % 3)).content("답글 " + i).build();
+                root.addChildComment(reply);
+                comments.add(root);
+                comments.add(reply);
+            }
+            commentService.addComments(comments);
+
+            List<Attachment> attachments = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                attachments.add(Attachment.builder()
+                        .post(post)
+                        .fileName("file" + i + ".png")
+                        .fileType("image/png")
+                        .fileSize(100L)
+                        .build());
+            }
+            attachmentService.addAttachments(attachments);
+            return post.getId();
+        });
+    }
+
+    @Test
+    @DisplayName("게시글 상세는 게시글+작성자+댓글 한 번, 첨부파일 한 번으로 조회")
+    void postDetail() {
+        var detail = expectAtMost(monitor, 2, () -> postService.findPostWithComments(postId));
+
+        assertThat(detail).isPresent();
+        assertThat(detail.get().getComments()).hasSize(ROOT_COMMENTS * 2);
+        assertThat(detail.get().getAttachments()).hasSize(2);
+
+        // 두 번째 조회는 캐시에서
+        expectAtMost(monitor, 0, () -> postService.findPostWithComments(postId));
+
+        // 일괄 저장한 댓글/첨부파일도 게시글의 집계 값에 반영됨
+        Post post = transaction.execute(status -> em.find(Post.class, postId));
+        assertThat(post.getCommentCount()).isEqualTo(ROOT_COMMENTS * 2);
+        assertThat(post.getAttachmentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("게시글 목록은 요약 조회와 집계 조회만 실행")
+    void postList() {
+        expectAtMost(monitor, 2, () -> postService.findPostsWithPaging(1, 10));
+        expectAtMost(monitor, 1, () -> postService.findPostsByCursor(null, 10));
+    }
+
+    @Test
+    @DisplayName("댓글 스레드와 루트 댓글 페이지는 댓글 수와 관계없이 일정한 횟수로 조회")
+    void commentThread() {
+        var thread = expectAtMost(monitor, 1, () -> commentService.findCommentThread(postId));
+        assertThat(thread).hasSize(ROOT_COMMENTS);
+
+        expectAtMost(monitor, 3, () -> commentService.findRootComments(postId, null, 10));
+    }
+
+    @Test
+    @DisplayName("지연 로딩으로 같은 SQL이 반복되면 범위 집계에 드러남")
+    void detectsLazyLoadingLoop() {
+        try (SqlStatementMonitor.Scope scope = monitor.open("lazy")) {
+            // 답글 컬렉션을 페치 조인 없이 댓글마다 지연 로딩
+            transaction.executeWithoutResult(status -> em
+                    .createQuery("select c from Comment c where c.post.id = :postId", Comment.class)
+                    .setParameter("postId", postId)
+                    .getResultList()
+                    .forEach(comment -> comment.getChildComments().size()));
+
+            assertThat(scope.statementsByShape().values()).contains(ROOT_COMMENTS * 2);
+        }
+    }
+}
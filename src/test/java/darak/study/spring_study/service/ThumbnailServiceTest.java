@@ -0,0 +1,180 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.cache.PostDetailCache;
+import darak.study.spring_study.domain.Attachment;
+import darak.study.spring_study.domain.AttachmentVariant;
+import darak.study.spring_study.domain.AttachmentVariantType;
+import darak.study.spring_study.repository.AttachmentVariantRepository;
+import darak.study.spring_study.storage.BlobStore;
+import darak.study.spring_study.storage.StoredBlob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private AttachmentVariantRepository attachmentVariantRepository;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    private BlobStore blobStore;
+    private SimpleMeterRegistry meterRegistry;
+    private ThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore(root.toString());
+        meterRegistry = new SimpleMeterRegistry();
+        thumbnailService = new ThumbnailService(attachmentVariantRepository, blobStore, postDetailCache,
+                TransactionOperations.withoutTransaction(), meterRegistry, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    @DisplayName("비율을 유지한 축소본을 원본 옆에 만들고 기록")
+    @SuppressWarnings("unchecked")
+    void generatesVariants() throws Exception {
+        // given
+        String hash = store(image(2000, 1000, BufferedImage.TYPE_INT_RGB), "jpg");
+        given(attachmentVariantRepository.findByContentHash(hash)).willReturn(List.of());
+
+        // when
+        thumbnailService.generate(hash, 1L);
+
+        // then
+        ArgumentCaptor<Collection<AttachmentVariant>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(attachmentVariantRepository).saveAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(AttachmentVariant::getType, AttachmentVariant::getWidth, AttachmentVariant::getHeight,
+                        AttachmentVariant::getFileType)
+                .containsExactlyInAnyOrder(
+                        tuple(AttachmentVariantType.MEDIUM, 640, 320, "image/jpeg"),
+                        tuple(AttachmentVariantType.SMALL, 160, 80, "image/jpeg"));
+        for (AttachmentVariant variant : captor.getValue()) {
+            Path file = root.resolve(variant.getPath());
+            assertThat(file.getParent()).isEqualTo(blobStore.path(hash).getParent());
+            assertThat(Files.size(file)).isEqualTo(variant.getFileSize());
+            assertThat(ImageIO.read(file.toFile()).getWidth()).isEqualTo(variant.getWidth());
+        }
+        verify(postDetailCache).invalidate(1L);
+        assertThat(meterRegistry.get("attachment.thumbnails.duration").tag("result", "success").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("투명도가 있으면 PNG로, 원본보다 크게 늘리지 않음")
+    @SuppressWarnings("unchecked")
+    void keepsAlphaAndDoesNotUpscale() throws Exception {
+        // given
+        String hash = store(image(300, 200, BufferedImage.TYPE_INT_ARGB), "png");
+        given(attachmentVariantRepository.findByContentHash(hash)).willReturn(List.of());
+
+        // when
+        thumbnailService.generate(hash, null);
+
+        // then
+        ArgumentCaptor<Collection<AttachmentVariant>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(attachmentVariantRepository).saveAll(captor.capture());
+        AttachmentVariant medium = captor.getValue().stream()
+                .filter(variant -> variant.getType() == AttachmentVariantType.MEDIUM)
+                .findFirst().orElseThrow();
+        assertThat(medium.getWidth()).isEqualTo(300);
+        assertThat(medium.getFileType()).isEqualTo("image/png");
+    }
+
+    @Test
+    @DisplayName("이미 축소본이 있는 내용은 다시 만들지 않음")
+    void skipsExistingVariants() throws Exception {
+        // given
+        String hash = store(image(100, 100, BufferedImage.TYPE_INT_RGB), "jpg");
+        given(attachmentVariantRepository.findByContentHash(hash))
+                .willReturn(List.of(AttachmentVariant.builder().contentHash(hash).build()));
+
+        // when
+        thumbnailService.generate(hash, 1L);
+
+        // then
+        verify(attachmentVariantRepository, never()).saveAll(any());
+        verifyNoInteractions(postDetailCache);
+    }
+
+    @Test
+    @DisplayName("이미지 첨부파일은 백그라운드에서 처리하고 대기 시간을 기록")
+    void processesInBackground() throws Exception {
+        // given
+        String hash = store(image(400, 400, BufferedImage.TYPE_INT_RGB), "jpg");
+        given(attachmentVariantRepository.findByContentHash(hash)).willReturn(List.of());
+
+        // when
+        thumbnailService.requestThumbnails(Attachment.builder().fileType("image/jpeg").contentHash(hash).build());
+
+        // then
+        verify(attachmentVariantRepository, timeout(5_000)).saveAll(any());
+        assertThat(meterRegistry.get("attachment.thumbnails.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("attachment.thumbnails.queue").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("이미지가 아니거나 내용이 없는 첨부파일은 무시")
+    void ignoresNonImages() {
+        thumbnailService.requestThumbnails(Attachment.builder().fileType("application/pdf").contentHash("a".repeat(64)).build());
+        thumbnailService.requestThumbnails(Attachment.builder().fileType("image/png").build());
+
+        verifyNoInteractions(attachmentVariantRepository);
+    }
+
+    private String store(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        StoredBlob blob = blobStore.commit(blobStore.write(
+                Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), Long.MAX_VALUE));
+        return blob.hash();
+    }
+
+    private static BufferedImage image(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, 0x80000000 | (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,133 @@
+package darak.study.spring_study.service;
+
+import darak.study.spring_study.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountBufferTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private ViewCountBuffer viewCountBuffer;
+
+    @BeforeEach
+    void setUp() {
+        viewCountBuffer = new ViewCountBuffer(postRepository, transactionManager, taskScheduler, 2);
+    }
+
+    @Test
+    @DisplayName("누적된 조회수는 게시글당 한 번의 UPDATE로 반영")
+    void flushAggregatesPerPost() {
+        // given
+        viewCountBuffer.increment(1L);
+        viewCountBuffer.increment(1L);
+        viewCountBuffer.increment(1L);
+
+        // when
+        viewCountBuffer.flush();
+
+        // then
+        verify(postRepository, times(1)).incrementViewCount(1L, 3L);
+        assertThat(viewCountBuffer.pendingCount(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("반영 전에는 대기 중인 증분을 조회 가능")
+    void pendingCountBeforeFlush() {
+        // when
+        viewCountBuffer.increment(1L);
+        viewCountBuffer.increment(1L);
+
+        // then
+        assertThat(viewCountBuffer.pendingCount(1L)).isEqualTo(2L);
+        assertThat(viewCountBuffer.pendingCount(2L)).isZero();
+        verify(postRepository, never()).incrementViewCount(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("반영 실패 시 증분을 보존하고 다음 주기에 재시도")
+    void flushFailureRestoresDeltas() {
+        // given
+        viewCountBuffer.increment(1L);
+        doThrow(new IllegalStateException("DB 오류"))
+            .when(postRepository).incrementViewCount(1L, 1L);
+
+        // when
+        viewCountBuffer.flush();
+
+        // then
+        assertThat(viewCountBuffer.pendingCount(1L)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("누적된 게시글 수가 임계치를 넘으면 즉시 반영을 예약")
+    void thresholdSchedulesFlush() {
+        // when
+        viewCountBuffer.increment(1L);
+        viewCountBuffer.increment(2L);
+        viewCountBuffer.increment(3L);
+
+        // then
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("반영과 동시에 들어온 조회수도 유실되지 않음")
+    void concurrentIncrementsAreNotLost() throws Exception {
+        // given
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(invocation -> flushed.addAndGet(invocation.getArgument(1)))
+                .when(postRepository).incrementViewCount(anyLong(), anyLong());
+        int threads = 4;
+        int perThread = 50_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Thread(() -> {
+                for (int n = 0; n < perThread; n++) {
+                    viewCountBuffer.increment(1L);
+                }
+            }));
+        }
+
+        // when: 증분이 들어오는 동안 계속 반영 (조회가 잠시 끊기면 adder가 맵에서 제거됨)
+        workers.forEach(Thread::start);
+        while (workers.stream().anyMatch(Thread::isAlive)) {
+            viewCountBuffer.flush();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        viewCountBuffer.flush();
+
+        // then
+        assertThat(flushed.get()).isEqualTo((long) threads * perThread);
+    }
+}
@@ -0,0 +1,139 @@
+package darak.study.spring_study.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlobStoreTest {
+    // "hello"의 SHA-256
+    private static final String HELLO_HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path root;
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore(root.toString());
+    }
+
+    @Test
+    @DisplayName("내용의 SHA-256 경로에 저장")
+    void storesByContentHash() throws Exception {
+        // when
+        StoredBlob blob = blobStore.commit(blobStore.write(channel("hello".getBytes()), 100));
+
+        // then
+        assertThat(blob).isEqualTo(new StoredBlob(HELLO_HASH, 5));
+        assertThat(blobStore.path(HELLO_HASH)).isEqualTo(root.resolve("2c/f2/" + HELLO_HASH));
+        assertThat(Files.readString(blobStore.path(HELLO_HASH))).isEqualTo("hello");
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 내용은 한 번만 저장")
+    void deduplicates() throws Exception {
+        // given
+        blobStore.commit(blobStore.write(channel("hello".getBytes()), 100));
+
+        // when
+        BlobStore.PendingBlob pending = blobStore.write(channel("hello".getBytes()), 100);
+        StoredBlob blob = blobStore.commit(pending);
+
+        // then
+        assertThat(blob.hash()).isEqualTo(HELLO_HASH);
+        assertThat(Files.exists(pending.tempFile())).isFalse();
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 중단하고 임시 파일 삭제")
+    void rejectsOversize() throws Exception {
+        assertThatThrownBy(() -> blobStore.write(channel(new byte[200_000]), 100_000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("요청한 구간만 전송")
+    void transfersRange() {
+        // given
+        byte[] content = new byte[300_000];
+        new Random(1).nextBytes(content);
+        StoredBlob blob = blobStore.commit(blobStore.write(channel(content), content.length));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long transferred = blobStore.transferTo(blob.hash(), 100_000, 150_000, Channels.newChannel(out));
+
+        // then
+        assertThat(transferred).isEqualTo(150_000);
+        byte[] expected = new byte[150_000];
+        System.arraycopy(content, 100_000, expected, 0, expected.length);
+        assertThat(out.toByteArray()).isEqualTo(expected);
+
+        // 파일 끝을 넘는 구간은 끝까지만
+        out.reset();
+        assertThat(blobStore.transferTo(blob.hash(), 299_990, 100, Channels.newChannel(out))).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("원본을 삭제하면 원본 옆의 파생 파일도 삭제")
+    void deletesVariantsWithOriginal() throws Exception {
+        // given
+        StoredBlob blob = blobStore.commit(blobStore.write(channel("hello".getBytes()), 100));
+        Path variant = blobStore.variantPath(blob.hash(), "small.jpg");
+        Files.writeString(variant, "thumbnail");
+
+        // when
+        blobStore.delete(blob.hash());
+
+        // then
+        assertThat(blobStore.exists(blob.hash())).isFalse();
+        assertThat(Files.exists(variant)).isFalse();
+        assertThat(blobStore.relativePath(variant)).isEqualTo("2c/f2/" + HELLO_HASH + ".small.jpg");
+    }
+
+    @Test
+    @DisplayName("해시 형식이 아니면 경로를 만들지 않음")
+    void rejectsInvalidHash() {
+        assertThatThrownBy(() -> blobStore.path("../../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("오래된 임시 파일 정리")
+    void deletesStaleTempFiles() throws Exception {
+        // given
+        blobStore.write(channel("hello".getBytes()), 100);
+
+        // when & then
+        assertThat(blobStore.deleteTempFilesOlderThan(Instant.now().minusSeconds(60))).isZero();
+        assertThat(blobStore.deleteTempFilesOlderThan(Instant.now().plusSeconds(60))).isEqualTo(1);
+        assertThat(tempFiles()).isZero();
+    }
+
+    private ReadableByteChannel channel(byte[] content) {
+        return Channels.newChannel(new ByteArrayInputStream(content));
+    }
+
+    private long tempFiles() throws Exception {
+        try (var files = Files.list(root.resolve("tmp"))) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package darak.study.spring_study.fixture;
+
+import darak.study.spring_study.domain.Member;
+import darak.study.spring_study.domain.PostCategory;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 테스트/벤치마크/부하 테스트가 함께 쓰는 기본 데이터 (호출하는 쪽의 트랜잭션 안에서 저장)
+// 같은 DB를 여러 테스트가 함께 쓰므로 이름/이메일에는 매번 다른 접미사를 붙임
+public final class BoardFixtures {
+
+    private BoardFixtures() {
+    }
+
+    // 카테고리 저장 (기본 생성자가 protected라 BeanUtils로 생성)
+    public static PostCategory category(EntityManager em) {
+        PostCategory category = BeanUtils.instantiateClass(PostCategory.class);
+        category.setName("category-" + suffix());
+        em.persist(category);
+        return category;
+    }
+
+    // 회원 저장 (이메일: name-접미사@test.com)
+    public static Member member(EntityManager em, String name) {
+        Member member = Member.builder()
+                .email(name + "-" + suffix() + "@test.com")
+                .password("password")
+                .username(name)
+                .age(20)
+                .build();
+        em.persist(member);
+        return member;
+    }
+
+    // 회원 count명 저장 (이름: name0, name1, ...)
+    public static List<Member> members(EntityManager em, String name, int count) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(member(em, name + i));
+        }
+        return members;
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+}